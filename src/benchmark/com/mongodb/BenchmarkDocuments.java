@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb;
+
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * The documents shared by the benchmarks, so that their results can be compared with each other.
+ */
+public final class BenchmarkDocuments {
+
+    /**
+     * @return a small flat document of the kind most applications store
+     */
+    public static BasicDBObject small() {
+        return new BasicDBObject("_id", new ObjectId("4d83ab3ea39562db9c1ae2ae"))
+                .append("name", "Alice Example")
+                .append("age", 42)
+                .append("active", true)
+                .append("score", 1234.5);
+    }
+
+    /**
+     * @return a document with a field of every common type, including nested documents, lists, maps and a
+     *         ReflectionDBObject, so that every kind of value writer is exercised
+     */
+    public static BasicDBObject mixed() {
+        Map<String, Object> map = new HashMap<String, Object>();
+        map.put("x", 1);
+        map.put("y", "two");
+
+        Address address = new Address();
+        address.setStreet("1 Main Street");
+        address.setZip(12345);
+
+        return new BasicDBObject("_id", new ObjectId("4d83ab3ea39562db9c1ae2ae"))
+                .append("int", 1)
+                .append("long", 123123123123L)
+                .append("double", 0.4)
+                .append("string", "a string of moderate length, with some punctuation!")
+                .append("unicode", "café 中文")
+                .append("bool", false)
+                .append("null", null)
+                .append("date", new Date(1300474885000L))
+                .append("pattern", Pattern.compile("^abc.*", Pattern.CASE_INSENSITIVE))
+                .append("binary", new Binary((byte) 0, new byte[64]))
+                .append("uuid", UUID.fromString("60f65152-6d4a-4f11-9c9b-590b575da7b5"))
+                .append("nested", new BasicDBObject("a", 1).append("b", new BasicDBObject("c", "d")))
+                .append("list", Arrays.asList(1, 2, 3, "four", 5.0))
+                .append("array", new int[]{1, 2, 3})
+                .append("map", map)
+                .append("address", address);
+    }
+
+    /**
+     * @return a document with a thousand fields, which mostly measures the per-field cost
+     */
+    public static BasicDBObject large() {
+        BasicDBObject document = new BasicDBObject("_id", new ObjectId("4d83ab3ea39562db9c1ae2ae"));
+        for (int i = 0; i < 1000; i++) {
+            document.append("field" + i, i % 3 == 0 ? "value" + i : i % 3 == 1 ? i : (Object) (i * 0.5));
+        }
+        return document;
+    }
+
+    /**
+     * A document mapped with reflection.
+     */
+    public static class Address extends ReflectionDBObject {
+        public String getStreet() {
+            return street;
+        }
+
+        public void setStreet(final String street) {
+            this.street = street;
+        }
+
+        public int getZip() {
+            return zip;
+        }
+
+        public void setZip(final int zip) {
+            this.zip = zip;
+        }
+
+        private String street;
+        private int zip;
+    }
+
+    private BenchmarkDocuments() {
+    }
+}
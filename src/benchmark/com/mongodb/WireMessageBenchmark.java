@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb;
+
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the messages sent to the server and parsing the replies it sends back, from canned documents
+ * and bytes.  The client is never connected, so this needs no server.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireMessageBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    private MongoClient client;
+    private DBCollection collection;
+    private ServerAddress address;
+    private List<DBObject> batch;
+    private DBObject query;
+    private byte[] reply;
+
+    @Setup
+    public void setUp() throws UnknownHostException {
+        client = new MongoClient();
+        collection = client.getDB("benchmark").getCollection("wire");
+        address = new ServerAddress();
+
+        batch = new ArrayList<DBObject>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(BenchmarkDocuments.small().append("_id", new ObjectId()).append("i", i));
+        }
+        query = new BasicDBObject("age", new BasicDBObject("$gt", 21)).append("active", true);
+        reply = reply(batch);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public int insertMessage() {
+        OutMessage message = OutMessage.insert(collection, DefaultDBEncoder.FACTORY.create(), WriteConcern.ACKNOWLEDGED);
+        try {
+            for (DBObject document : batch) {
+                message.putObject(document);
+            }
+            message.prepare();
+            return message.size();
+        } finally {
+            message.doneWithMessage();
+        }
+    }
+
+    @Benchmark
+    public int queryMessage() {
+        OutMessage message = OutMessage.query(collection, 0, 0, 0, query, null, ReadPreference.primary());
+        try {
+            message.prepare();
+            return message.size();
+        } finally {
+            message.doneWithMessage();
+        }
+    }
+
+    @Benchmark
+    public int parseReply() throws IOException {
+        return new Response(address, collection, new ByteArrayInputStream(reply), DefaultDBDecoder.FACTORY.create()).size();
+    }
+
+    @Benchmark
+    public int parseReplyLazily() throws IOException {
+        return new Response(address, collection, new ByteArrayInputStream(reply), LazyDBDecoder.FACTORY.create()).size();
+    }
+
+    // an OP_REPLY holding the given documents
+    private static byte[] reply(final List<DBObject> documents) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        buffer.writeInt(0);            // length, set below
+        buffer.writeInt(1);            // request id
+        buffer.writeInt(0);            // response to
+        buffer.writeInt(1);            // OP_REPLY
+        buffer.writeInt(0);            // flags
+        buffer.writeLong(0);           // cursor id
+        buffer.writeInt(0);            // starting from
+        buffer.writeInt(documents.size());
+        DefaultDBEncoder encoder = new DefaultDBEncoder();
+        for (DBObject document : documents) {
+            encoder.writeObject(buffer, document);
+        }
+        buffer.writeInt(0, buffer.size());
+        return buffer.toByteArray();
+    }
+}
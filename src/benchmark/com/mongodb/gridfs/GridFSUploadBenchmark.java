@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.gridfs;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.MongoClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.net.UnknownHostException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures uploading a file to GridFS with one chunk per insert, as before batching, and with several chunks per
+ * insert.  Unlike the other benchmarks this one needs a mongod, on the default host and port.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GridFSUploadBenchmark {
+
+    @Param({"1", "8", "64"})
+    public int chunksPerBatch;
+
+    @Param({"16777216"})
+    public int fileSize;
+
+    private MongoClient client;
+    private GridFS gridFS;
+    private byte[] data;
+
+    @Setup
+    public void setUp() throws UnknownHostException {
+        client = new MongoClient();
+        client.getDB("benchmark").dropDatabase();
+        gridFS = new GridFS(client.getDB("benchmark"), "upload");
+        data = new byte[fileSize];
+        new Random(42).nextBytes(data);
+    }
+
+    @Setup(Level.Iteration)
+    public void removeFiles() {
+        gridFS.remove(new BasicDBObject());
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.getDB("benchmark").dropDatabase();
+        client.close();
+    }
+
+    @Benchmark
+    public Object upload() {
+        GridFSInputFile file = gridFS.createFile(data);
+        file.setChunksPerBatch(chunksPerBatch);
+        file.save();
+        return file.getId();
+    }
+}
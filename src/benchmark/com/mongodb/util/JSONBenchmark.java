@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.util;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.mongodb.DefaultDBEncoder;
+import org.bson.BSONObject;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing and serializing JSON, one document at a time and as a stream of documents, and turning JSON into
+ * BSON with and without building the documents first.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JSONBenchmark {
+
+    private static final int DOCUMENTS = 100;
+
+    private String json;
+    private String stream;
+    private DBObject document;
+    private List<DBObject> documents;
+    private final DefaultDBEncoder encoder = new DefaultDBEncoder();
+    private final BasicOutputBuffer buffer = new BasicOutputBuffer();
+
+    @Setup
+    public void setUp() {
+        documents = new ArrayList<DBObject>();
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < DOCUMENTS; i++) {
+            DBObject doc = new BasicDBObject("_id", new ObjectId())
+                    .append("name", "user" + i)
+                    .append("age", i)
+                    .append("created", new Date(1300474885000L + i))
+                    .append("tags", Arrays.asList("a", "b", "c"))
+                    .append("address", new BasicDBObject("city", "New York").append("zip", 10000 + i));
+            documents.add(doc);
+            builder.append(JSON.serialize(doc)).append('\n');
+        }
+        document = documents.get(0);
+        json = JSON.serialize(document);
+        stream = builder.toString();
+    }
+
+    @Benchmark
+    public Object parse() {
+        return JSON.parse(json);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return JSON.serialize(document);
+    }
+
+    @Benchmark
+    public int readStream() throws IOException {
+        JSONReader reader = new JSONReader(new StringReader(stream));
+        int count = 0;
+        while (reader.hasNext()) {
+            reader.next();
+            count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int writeStream() throws IOException {
+        StringWriter out = new StringWriter(stream.length());
+        JSONWriter writer = new JSONWriter(out);
+        for (DBObject doc : documents) {
+            writer.write(doc);
+        }
+        return out.getBuffer().length();
+    }
+
+    @Benchmark
+    public int parseThenEncodeStream() throws IOException {
+        JSONReader reader = new JSONReader(new StringReader(stream));
+        int size = 0;
+        while (reader.hasNext()) {
+            buffer.setPosition(0);
+            size += encoder.writeObject(buffer, (BSONObject) reader.next());
+        }
+        return size;
+    }
+
+    @Benchmark
+    public int transcodeStream() throws IOException {
+        JSONTranscoder transcoder = new JSONTranscoder(new StringReader(stream));
+        int size = 0;
+        while (transcoder.hasNext()) {
+            buffer.setPosition(0);
+            size += transcoder.next(buffer);
+        }
+        return size;
+    }
+}
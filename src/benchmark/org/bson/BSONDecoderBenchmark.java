@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bson;
+
+import com.mongodb.BenchmarkDocuments;
+import com.mongodb.DefaultDBEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures decoding canned BSON with each of the decoders.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BSONDecoderBenchmark {
+
+    private byte[] small;
+    private byte[] mixed;
+    private byte[] large;
+    private final BasicBSONDecoder basicDecoder = new BasicBSONDecoder();
+    private final NewBSONDecoder newDecoder = new NewBSONDecoder();
+
+    @Setup
+    public void setUp() {
+        DefaultDBEncoder encoder = new DefaultDBEncoder();
+        small = encoder.encode(BenchmarkDocuments.small());
+        mixed = encoder.encode(BenchmarkDocuments.mixed());
+        large = encoder.encode(BenchmarkDocuments.large());
+    }
+
+    @Benchmark
+    public BSONObject basicSmall() {
+        return basicDecoder.readObject(small);
+    }
+
+    @Benchmark
+    public BSONObject basicMixed() {
+        return basicDecoder.readObject(mixed);
+    }
+
+    @Benchmark
+    public BSONObject basicLarge() {
+        return basicDecoder.readObject(large);
+    }
+
+    @Benchmark
+    public BSONObject newSmall() {
+        return newDecoder.readObject(small);
+    }
+
+    @Benchmark
+    public BSONObject newMixed() {
+        return newDecoder.readObject(mixed);
+    }
+
+    @Benchmark
+    public BSONObject newLarge() {
+        return newDecoder.readObject(large);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bson;
+
+import com.mongodb.BenchmarkDocuments;
+import com.mongodb.DefaultDBEncoder;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.io.PoolOutputBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding documents to BSON, which goes through the cached per-class value writers for every field.  The
+ * {@code WithInstanceofDispatch} benchmarks encode the same documents with the chain of instanceof checks that the
+ * encoder used before, as a baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BSONEncoderBenchmark {
+
+    private BSONObject small;
+    private BSONObject mixed;
+    private BSONObject large;
+    private final BasicBSONEncoder basicEncoder = new BasicBSONEncoder();
+    private final DefaultDBEncoder dbEncoder = new DefaultDBEncoder();
+    private final BasicBSONEncoder instanceofEncoder = new InstanceofBSONEncoder();
+    private final BasicOutputBuffer basicBuffer = new BasicOutputBuffer();
+    private final PoolOutputBuffer poolBuffer = new PoolOutputBuffer();
+
+    @Setup
+    public void setUp() {
+        small = BenchmarkDocuments.small();
+        mixed = BenchmarkDocuments.mixed();
+        large = BenchmarkDocuments.large();
+    }
+
+    @Benchmark
+    public int encodeSmall() {
+        return encode(basicEncoder, small);
+    }
+
+    @Benchmark
+    public int encodeMixed() {
+        return encode(dbEncoder, mixed);
+    }
+
+    @Benchmark
+    public int encodeLarge() {
+        return encode(basicEncoder, large);
+    }
+
+    @Benchmark
+    public int encodeSmallWithInstanceofDispatch() {
+        return encode(instanceofEncoder, small);
+    }
+
+    @Benchmark
+    public int encodeMixedWithInstanceofDispatch() {
+        return encode(instanceofEncoder, mixed);
+    }
+
+    @Benchmark
+    public int encodeLargeWithInstanceofDispatch() {
+        return encode(instanceofEncoder, large);
+    }
+
+    @Benchmark
+    public int encodeLargeToPoolBuffer() {
+        poolBuffer.reset();
+        basicEncoder.set(poolBuffer);
+        try {
+            return basicEncoder.putObject(large);
+        } finally {
+            basicEncoder.done();
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeSmallToNewArray() {
+        return basicEncoder.encode(small);
+    }
+
+    private int encode(final BasicBSONEncoder encoder, final BSONObject document) {
+        basicBuffer.setPosition(0);
+        encoder.set(basicBuffer);
+        try {
+            return encoder.putObject(document);
+        } finally {
+            encoder.done();
+        }
+    }
+}
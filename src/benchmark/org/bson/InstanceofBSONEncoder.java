@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bson;
+
+import com.mongodb.DBRefBase;
+import org.bson.types.BSONTimestamp;
+import org.bson.types.Binary;
+import org.bson.types.Code;
+import org.bson.types.CodeWScope;
+import org.bson.types.MaxKey;
+import org.bson.types.MinKey;
+import org.bson.types.ObjectId;
+import org.bson.types.Symbol;
+
+import java.lang.reflect.Array;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static org.bson.BSON.ARRAY;
+import static org.bson.BSON.CODE;
+import static org.bson.BSON.EOO;
+import static org.bson.BSON.MAXKEY;
+import static org.bson.BSON.MINKEY;
+import static org.bson.BSON.OBJECT;
+import static org.bson.BSON.REGEX;
+import static org.bson.BSON.regexFlags;
+
+/**
+ * An encoder that finds how to write each value with the chain of instanceof checks that BasicBSONEncoder used before
+ * it cached a value writer per class, so that the benchmarks can compare the two in the same build.  The methods that
+ * are private in BasicBSONEncoder are copied as they were.
+ */
+@SuppressWarnings({"deprecation", "unchecked", "rawtypes"})
+class InstanceofBSONEncoder extends BasicBSONEncoder {
+
+    @Override
+    protected void _putObjectField(final String name, final Object value) {
+        if (name.equals("_transientFields")) {
+            return;
+        }
+
+        if (name.contains("\0")) {
+            throw new IllegalArgumentException("Document field names can't have a NULL character. (Bad Key: '" + name + "')");
+        }
+
+        if (name.equals("$where") && value instanceof String) {
+            _put(CODE, name);
+            _putValueString(value.toString());
+            return;
+        }
+
+        Object val = BSON.applyEncodingHooks(value);
+
+        if (val == null) {
+            putNull(name);
+        } else if (val instanceof Date) {
+            putDate(name, (Date) val);
+        } else if (val instanceof Number) {
+            putNumber(name, (Number) val);
+        } else if (val instanceof Character) {
+            putString(name, val.toString());
+        } else if (val instanceof String) {
+            putString(name, val.toString());
+        } else if (val instanceof ObjectId) {
+            putObjectId(name, (ObjectId) val);
+        } else if (val instanceof BSONObject) {
+            putObject(name, (BSONObject) val);
+        } else if (val instanceof Boolean) {
+            putBoolean(name, (Boolean) val);
+        } else if (val instanceof Pattern) {
+            putPattern(name, (Pattern) val);
+        } else if (val instanceof Map) {
+            putMap(name, (Map) val);
+        } else if (val instanceof Iterable) {
+            putIterable(name, (Iterable) val);
+        } else if (val instanceof byte[]) {
+            putBinary(name, (byte[]) val);
+        } else if (val instanceof Binary) {
+            putBinary(name, (Binary) val);
+        } else if (val instanceof UUID) {
+            putUUID(name, (UUID) val);
+        } else if (val.getClass().isArray()) {
+            putArray(name, val);
+        } else if (val instanceof Symbol) {
+            putSymbol(name, (Symbol) val);
+        } else if (val instanceof BSONTimestamp) {
+            putTimestamp(name, (BSONTimestamp) val);
+        } else if (val instanceof CodeWScope) {
+            putCodeWScope(name, (CodeWScope) val);
+        } else if (val instanceof Code) {
+            putCode(name, (Code) val);
+        } else if (val instanceof DBRefBase) {
+            BSONObject temp = new BasicBSONObject();
+            temp.put("$ref", ((DBRefBase) val).getRef());
+            temp.put("$id", ((DBRefBase) val).getId());
+            putObject(name, temp);
+        } else if (val instanceof MinKey) {
+            _put(MINKEY, name);
+        } else if (val instanceof MaxKey) {
+            _put(MAXKEY, name);
+        } else if (!putSpecial(name, val)) {
+            throw new IllegalArgumentException("can't serialize " + val.getClass());
+        }
+    }
+
+    private void putArray(final String name, final Object array) {
+        _put(ARRAY, name);
+        int sizePos = _buf.getPosition();
+        _buf.writeInt(0);
+
+        int size = Array.getLength(array);
+        for (int i = 0; i < size; i++) {
+            _putObjectField(String.valueOf(i), Array.get(array, i));
+        }
+
+        _buf.write(EOO);
+        _buf.writeInt(sizePos, _buf.getPosition() - sizePos);
+    }
+
+    private void putIterable(final String name, final Iterable l) {
+        _put(ARRAY, name);
+        int sizePos = _buf.getPosition();
+        _buf.writeInt(0);
+
+        int i = 0;
+        for (Object obj : l) {
+            _putObjectField(String.valueOf(i), obj);
+            i++;
+        }
+
+        _buf.write(EOO);
+        _buf.writeInt(sizePos, _buf.getPosition() - sizePos);
+    }
+
+    private void putMap(final String name, final Map m) {
+        _put(OBJECT, name);
+        int sizePos = _buf.getPosition();
+        _buf.writeInt(0);
+
+        for (Map.Entry entry : (Iterable<Map.Entry>) m.entrySet()) {
+            _putObjectField(entry.getKey().toString(), entry.getValue());
+        }
+
+        _buf.write(EOO);
+        _buf.writeInt(sizePos, _buf.getPosition() - sizePos);
+    }
+
+    private void putPattern(final String name, final Pattern p) {
+        _put(REGEX, name);
+        _put(p.pattern());
+        _put(regexFlags(p.flags()));
+    }
+}
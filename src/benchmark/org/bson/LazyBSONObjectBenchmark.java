@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bson;
+
+import com.mongodb.BenchmarkDocuments;
+import com.mongodb.DefaultDBEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading fields from a {@link LazyBSONObject}, both from a fresh object, as when a document has just been
+ * received, and repeatedly from the same one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LazyBSONObjectBenchmark {
+
+    private byte[] mixedBytes;
+    private byte[] largeBytes;
+    private LazyBSONObject large;
+    private final LazyBSONCallback callback = new LazyBSONCallback();
+
+    @Setup
+    public void setUp() {
+        DefaultDBEncoder encoder = new DefaultDBEncoder();
+        mixedBytes = encoder.encode(BenchmarkDocuments.mixed());
+        largeBytes = encoder.encode(BenchmarkDocuments.large());
+        large = new LazyBSONObject(largeBytes, callback);
+    }
+
+    @Benchmark
+    public Object getFirstFieldOfNewObject() {
+        return new LazyBSONObject(largeBytes, callback).get("_id");
+    }
+
+    @Benchmark
+    public Object getLastFieldOfNewObject() {
+        return new LazyBSONObject(largeBytes, callback).get("field999");
+    }
+
+    @Benchmark
+    public void getManyFieldsOfSameObject(final Blackhole blackhole) {
+        for (int i = 0; i < 1000; i += 100) {
+            blackhole.consume(large.get("field" + i));
+        }
+    }
+
+    @Benchmark
+    public void iterateKeys(final Blackhole blackhole) {
+        for (String key : new LazyBSONObject(largeBytes, callback).keySet()) {
+            blackhole.consume(key);
+        }
+    }
+
+    @Benchmark
+    public Object getNestedField() {
+        LazyBSONObject mixed = new LazyBSONObject(mixedBytes, callback);
+        return ((BSONObject) ((BSONObject) mixed.get("nested")).get("b")).get("c");
+    }
+}
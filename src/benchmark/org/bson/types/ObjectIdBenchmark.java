@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bson.types;
+
+import org.bson.BSONObject;
+import org.bson.BasicBSONEncoder;
+import org.bson.BasicBSONObject;
+import org.bson.io.PoolOutputBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures creating ObjectIds, alone and from many threads at once, and converting and encoding them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ObjectIdBenchmark {
+
+    private final ObjectId id = new ObjectId("4d83ab3ea39562db9c1ae2ae");
+    private final BSONObject document = new BasicBSONObject("_id", id);
+    private final BasicBSONEncoder encoder = new BasicBSONEncoder();
+    private final PoolOutputBuffer buffer = new PoolOutputBuffer();
+
+    @Benchmark
+    public ObjectId create() {
+        return new ObjectId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public ObjectId createFromManyThreads() {
+        return new ObjectId();
+    }
+
+    @Benchmark
+    public String toHexString() {
+        return id.toHexString();
+    }
+
+    @Benchmark
+    public ObjectId fromHexString() {
+        return new ObjectId("4d83ab3ea39562db9c1ae2ae");
+    }
+
+    @Benchmark
+    public byte[] toByteArray() {
+        return id.toByteArray();
+    }
+
+    @Benchmark
+    public int encode() {
+        buffer.reset();
+        encoder.set(buffer);
+        try {
+            return encoder.putObject(document);
+        } finally {
+            encoder.done();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+/**
+ * Finishes an upsert, started with {@link BulkWriteRequestBuilder#upsert()}.  If no document matches the query, one
+ * is inserted.
+ *
+ * @since 2.12.0
+ */
+public class BulkUpdateRequestBuilder {
+
+    private final BulkWriteOperation operation;
+    private final DBObject query;
+
+    BulkUpdateRequestBuilder(final BulkWriteOperation operation, final DBObject query) {
+        this.operation = operation;
+        this.query = query;
+    }
+
+    /**
+     * Updates all the matching documents.
+     *
+     * @param update the update operations, such as {@code $set}
+     */
+    public void update(final DBObject update) {
+        operation.addRequest(new WriteRequest.Update(query, BulkWriteRequestBuilder.checkUpdate(update), true, true));
+    }
+
+    /**
+     * Updates one of the matching documents.
+     *
+     * @param update the update operations, such as {@code $set}
+     */
+    public void updateOne(final DBObject update) {
+        operation.addRequest(new WriteRequest.Update(query, BulkWriteRequestBuilder.checkUpdate(update), true, false));
+    }
+
+    /**
+     * Replaces one of the matching documents.
+     *
+     * @param document the new document, which can not contain update operations
+     */
+    public void replaceOne(final DBObject document) {
+        operation.addRequest(new WriteRequest.Update(query, BulkWriteRequestBuilder.checkReplacement(document), true, false));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Adds up the results of the batches of a {@link BulkWriteOperation}, which may come in from several threads and in
+ * any order.
+ */
+class BulkWriteCombiner {
+
+    private final boolean acknowledged;
+    private int insertedCount;
+    private int updatedCount;
+    private int removedCount;
+    private final List<BulkWriteUpsert> upserts = new ArrayList<BulkWriteUpsert>();
+    private final List<BulkWriteError> errors = new ArrayList<BulkWriteError>();
+
+    BulkWriteCombiner(final boolean acknowledged) {
+        this.acknowledged = acknowledged;
+    }
+
+    synchronized void addInserted(final int count) {
+        insertedCount += count;
+    }
+
+    /**
+     * @param index the index of the write
+     * @param request the update or remove
+     * @param result the getLastError result, or null if the write was not acknowledged
+     */
+    synchronized void addResult(final int index, final WriteRequest request, final CommandResult result) {
+        if (!acknowledged || result == null) {
+            return;
+        }
+
+        int n = result.getInt("n", 0);
+        if (request.getType() == WriteRequest.Type.REMOVE) {
+            removedCount += n;
+            return;
+        }
+
+        Object upserted = result.get("upserted");
+        if (upserted == null && Boolean.FALSE.equals(result.get("updatedExisting")) && n > 0) {
+            // older servers leave the _id out when it came from the query
+            upserted = ((WriteRequest.Update) request).query.get("_id");
+            upserts.add(new BulkWriteUpsert(index, upserted));
+        } else if (upserted != null) {
+            upserts.add(new BulkWriteUpsert(index, upserted));
+        } else {
+            updatedCount += n;
+        }
+    }
+
+    synchronized void addError(final int index, final CommandResult result) {
+        Object message = result.get("err");
+        if (message == null) {
+            message = result.getErrorMessage();
+        }
+        errors.add(new BulkWriteError(index, result.getCode(), message == null ? result.toString() : message.toString()));
+    }
+
+    synchronized boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    /**
+     * @return the combined result
+     * @throws BulkWriteException if any of the writes failed
+     */
+    synchronized BulkWriteResult getResult() {
+        Collections.sort(upserts, new Comparator<BulkWriteUpsert>() {
+            public int compare(final BulkWriteUpsert first, final BulkWriteUpsert second) {
+                return first.getIndex() - second.getIndex();
+            }
+        });
+        BulkWriteResult result = new BulkWriteResult(acknowledged, insertedCount, updatedCount, removedCount,
+                                                     new ArrayList<BulkWriteUpsert>(upserts));
+        if (!errors.isEmpty()) {
+            Collections.sort(errors, new Comparator<BulkWriteError>() {
+                public int compare(final BulkWriteError first, final BulkWriteError second) {
+                    return first.getIndex() - second.getIndex();
+                }
+            });
+            throw new BulkWriteException(result, new ArrayList<BulkWriteError>(errors));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+/**
+ * A write in a {@link BulkWriteOperation} that failed.
+ *
+ * @since 2.12.0
+ */
+public class BulkWriteError {
+
+    private final int index;
+    private final int code;
+    private final String message;
+
+    BulkWriteError(final int index, final int code, final String message) {
+        this.index = index;
+        this.code = code;
+        this.message = message;
+    }
+
+    /**
+     * Gets the position of the failed write among the writes added to the operation.  Inserts are sent many to a
+     * message and the server only reports that the message failed, so for those this is the position of the first
+     * insert in the message.
+     *
+     * @return the index of the write
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the error code, or -1 if the server gave none
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * @return the error message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkWriteError{index=" + index + ", code=" + code + ", message='" + message + "'}";
+    }
+}
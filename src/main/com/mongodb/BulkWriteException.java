@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown when some of the writes in a {@link BulkWriteOperation} fail.  It holds the failures along with the result
+ * of the writes that succeeded.
+ *
+ * @since 2.12.0
+ */
+public class BulkWriteException extends MongoException {
+
+    private static final long serialVersionUID = -1505950263354313025L;
+
+    private final BulkWriteResult writeResult;
+    private final List<BulkWriteError> writeErrors;
+
+    BulkWriteException(final BulkWriteResult writeResult, final List<BulkWriteError> writeErrors) {
+        super("Bulk write operation failed: " + writeErrors);
+        this.writeResult = writeResult;
+        this.writeErrors = Collections.unmodifiableList(writeErrors);
+    }
+
+    /**
+     * @return the result of the writes that succeeded
+     */
+    public BulkWriteResult getWriteResult() {
+        return writeResult;
+    }
+
+    /**
+     * @return the writes that failed, in the order of the writes
+     */
+    public List<BulkWriteError> getWriteErrors() {
+        return writeErrors;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of inserts, updates and removes against one collection, sent to the server in as few messages and round
+ * trips as the wire protocol allows.  Get one from {@link DBCollection#initializeOrderedBulkOperation()} or
+ * {@link DBCollection#initializeUnorderedBulkOperation()}, add the writes and then execute it, once.
+ *
+ * <p>An ordered operation runs the writes one after the other and stops at the first that fails.  Consecutive
+ * inserts are packed into as few insert messages as the size limits allow.  As the server does not say which
+ * document of an insert message failed, or how many of them it inserted before it stopped, an error in one is reported
+ * at the index of the message's first document and none of its documents are counted as inserted.</p>
+ *
+ * <p>An unordered operation can run the writes in any order, and carries on past failures.  It splits them into
+ * batches of the same kind of write and sends several batches at a time, each over its own connection.  A batch of
+ * updates or removes is written in one go along with all their getLastError commands, rather than one round trip
+ * each.  When the write is acknowledged, inserts are written the same way, a document per message, so that each
+ * failure is reported at its own index.</p>
+ *
+ * <pre>
+ * BulkWriteOperation bulk = collection.initializeUnorderedBulkOperation();
+ * bulk.insert(new BasicDBObject("_id", 1));
+ * bulk.find(new BasicDBObject("_id", 2)).upsert().updateOne(new BasicDBObject("$inc", new BasicDBObject("x", 1)));
+ * bulk.find(new BasicDBObject("expired", true)).remove();
+ * BulkWriteResult result = bulk.execute();
+ * </pre>
+ *
+ * @since 2.12.0
+ */
+public class BulkWriteOperation {
+
+    private final boolean ordered;
+    private final DBCollection collection;
+    private final List<WriteRequest> requests = new ArrayList<WriteRequest>();
+    private boolean executed;
+
+    BulkWriteOperation(final boolean ordered, final DBCollection collection) {
+        this.ordered = ordered;
+        this.collection = collection;
+    }
+
+    /**
+     * @return true if the writes are run in order, stopping at the first failure
+     */
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    /**
+     * Adds an insert.  If the document has no _id, one is added when the operation is executed.
+     *
+     * @param document the document to insert
+     */
+    public void insert(final DBObject document) {
+        if (document == null) {
+            throw new IllegalArgumentException("document can not be null");
+        }
+        addRequest(new WriteRequest.Insert(document));
+    }
+
+    /**
+     * Starts an update, replacement or remove of the documents matching the query.
+     *
+     * @param query the query the documents must match
+     * @return a builder to finish the write with
+     */
+    public BulkWriteRequestBuilder find(final DBObject query) {
+        if (query == null) {
+            throw new IllegalArgumentException("query can not be null");
+        }
+        checkNotExecuted();
+        return new BulkWriteRequestBuilder(this, query);
+    }
+
+    /**
+     * Executes the writes with the collection's write concern.
+     *
+     * @return the combined result of the writes
+     * @throws BulkWriteException if any of the writes failed
+     * @throws MongoException
+     */
+    public BulkWriteResult execute() {
+        return execute(collection.getWriteConcern());
+    }
+
+    /**
+     * Executes the writes.
+     *
+     * @param writeConcern the write concern
+     * @return the combined result of the writes
+     * @throws BulkWriteException if any of the writes failed
+     * @throws MongoException
+     */
+    public BulkWriteResult execute(final WriteConcern writeConcern) {
+        if (writeConcern == null) {
+            throw new IllegalArgumentException("Write concern can not be null");
+        }
+        checkNotExecuted();
+        if (requests.isEmpty()) {
+            throw new IllegalStateException("no writes to execute");
+        }
+        executed = true;
+        return collection.executeBulkWriteOperation(ordered, requests, writeConcern);
+    }
+
+    void addRequest(final WriteRequest request) {
+        checkNotExecuted();
+        requests.add(request);
+    }
+
+    private void checkNotExecuted() {
+        if (executed) {
+            throw new IllegalStateException("already executed");
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+/**
+ * Finishes a write to the documents matching a query, started with {@link BulkWriteOperation#find(DBObject)}.
+ *
+ * @since 2.12.0
+ */
+public class BulkWriteRequestBuilder {
+
+    private final BulkWriteOperation operation;
+    private final DBObject query;
+
+    BulkWriteRequestBuilder(final BulkWriteOperation operation, final DBObject query) {
+        this.operation = operation;
+        this.query = query;
+    }
+
+    /**
+     * Removes all the matching documents.
+     */
+    public void remove() {
+        operation.addRequest(new WriteRequest.Remove(query, true));
+    }
+
+    /**
+     * Removes one of the matching documents.
+     */
+    public void removeOne() {
+        operation.addRequest(new WriteRequest.Remove(query, false));
+    }
+
+    /**
+     * Updates all the matching documents.
+     *
+     * @param update the update operations, such as {@code $set}
+     */
+    public void update(final DBObject update) {
+        operation.addRequest(new WriteRequest.Update(query, checkUpdate(update), false, true));
+    }
+
+    /**
+     * Updates one of the matching documents.
+     *
+     * @param update the update operations, such as {@code $set}
+     */
+    public void updateOne(final DBObject update) {
+        operation.addRequest(new WriteRequest.Update(query, checkUpdate(update), false, false));
+    }
+
+    /**
+     * Replaces one of the matching documents.
+     *
+     * @param document the new document, which can not contain update operations
+     */
+    public void replaceOne(final DBObject document) {
+        operation.addRequest(new WriteRequest.Update(query, checkReplacement(document), false, false));
+    }
+
+    /**
+     * Makes the update or replacement insert a document if none match the query.
+     *
+     * @return a builder to finish the upsert with
+     */
+    public BulkUpdateRequestBuilder upsert() {
+        return new BulkUpdateRequestBuilder(operation, query);
+    }
+
+    static DBObject checkUpdate(final DBObject update) {
+        if (update == null) {
+            throw new IllegalArgumentException("update can not be null");
+        }
+        for (String key : update.keySet()) {
+            if (!key.startsWith("$")) {
+                throw new IllegalArgumentException("update document keys must start with $: " + key);
+            }
+        }
+        return update;
+    }
+
+    static DBObject checkReplacement(final DBObject document) {
+        if (document == null) {
+            throw new IllegalArgumentException("replacement document can not be null");
+        }
+        for (String key : document.keySet()) {
+            if (key.startsWith("$")) {
+                throw new IllegalArgumentException("replacement document keys can not start with $: " + key);
+            }
+        }
+        return document;
+    }
+}
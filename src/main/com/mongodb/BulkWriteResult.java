@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The combined result of the writes in a {@link BulkWriteOperation}.  Nothing is known about unacknowledged writes,
+ * so all but {@link #isAcknowledged()} throw {@code UnsupportedOperationException} for those.
+ *
+ * @since 2.12.0
+ */
+public class BulkWriteResult {
+
+    private final boolean acknowledged;
+    private final int insertedCount;
+    private final int updatedCount;
+    private final int removedCount;
+    private final List<BulkWriteUpsert> upserts;
+
+    BulkWriteResult(final boolean acknowledged, final int insertedCount, final int updatedCount, final int removedCount,
+                    final List<BulkWriteUpsert> upserts) {
+        this.acknowledged = acknowledged;
+        this.insertedCount = insertedCount;
+        this.updatedCount = updatedCount;
+        this.removedCount = removedCount;
+        this.upserts = Collections.unmodifiableList(upserts);
+    }
+
+    /**
+     * @return true if the writes were acknowledged by the server
+     */
+    public boolean isAcknowledged() {
+        return acknowledged;
+    }
+
+    /**
+     * Gets the number of documents inserted.  When an insert message fails, none of its documents are counted, as
+     * the server doesn't say which of them made it in.
+     *
+     * @return the number of documents inserted
+     */
+    public int getInsertedCount() {
+        checkAcknowledged();
+        return insertedCount;
+    }
+
+    /**
+     * @return the number of documents updated or replaced, not counting upserts
+     */
+    public int getUpdatedCount() {
+        checkAcknowledged();
+        return updatedCount;
+    }
+
+    /**
+     * @return the number of documents removed
+     */
+    public int getRemovedCount() {
+        checkAcknowledged();
+        return removedCount;
+    }
+
+    /**
+     * @return the documents inserted by upserts, in the order of the writes
+     */
+    public List<BulkWriteUpsert> getUpserts() {
+        checkAcknowledged();
+        return upserts;
+    }
+
+    private void checkAcknowledged() {
+        if (!acknowledged) {
+            throw new UnsupportedOperationException("the result of an unacknowledged write is not known");
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (!acknowledged) {
+            return "BulkWriteResult{acknowledged=false}";
+        }
+        return "BulkWriteResult{"
+               + "insertedCount=" + insertedCount
+               + ", updatedCount=" + updatedCount
+               + ", removedCount=" + removedCount
+               + ", upserts=" + upserts
+               + '}';
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+/**
+ * A document inserted by an upsert in a {@link BulkWriteOperation}.
+ *
+ * @since 2.12.0
+ */
+public class BulkWriteUpsert {
+
+    private final int index;
+    private final Object id;
+
+    BulkWriteUpsert(final int index, final Object id) {
+        this.index = index;
+        this.id = id;
+    }
+
+    /**
+     * @return the position of the upsert among the writes added to the operation
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the _id of the inserted document
+     */
+    public Object getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkWriteUpsert{index=" + index + ", id=" + id + '}';
+    }
+}
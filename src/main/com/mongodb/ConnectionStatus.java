@@ -44,6 +44,7 @@ abstract class ConnectionStatus {
 
     protected static int updaterIntervalMS;
     protected static int updaterIntervalNoMasterMS;
+    protected static int updaterMemberTimeoutMS;
     @SuppressWarnings("deprecation")
     protected static final MongoOptions mongoOptionsDefaults = new MongoOptions();
     protected static final float latencySmoothFactor;
@@ -98,6 +99,7 @@ abstract class ConnectionStatus {
     static {
         updaterIntervalMS = Integer.parseInt(System.getProperty("com.mongodb.updaterIntervalMS", "5000"));
         updaterIntervalNoMasterMS = Integer.parseInt(System.getProperty("com.mongodb.updaterIntervalNoMasterMS", "10"));
+        updaterMemberTimeoutMS = Integer.parseInt(System.getProperty("com.mongodb.updaterMemberTimeoutMS", "5000"));
         mongoOptionsDefaults.connectTimeout = Integer.parseInt(System.getProperty("com.mongodb.updaterConnectTimeoutMS", "20000"));
         mongoOptionsDefaults.socketTimeout = Integer.parseInt(System.getProperty("com.mongodb.updaterSocketTimeoutMS", "20000"));
         latencySmoothFactor = Float.parseFloat(System.getProperty("com.mongodb.latencySmoothFactor", "4"));
@@ -231,9 +233,10 @@ abstract class ConnectionStatus {
 
         DBPort _port; // we have our own port so we can set different socket options and don't have to worry about the pool
 
-        float _pingTimeMS = 0;
-        int _maxBsonObjectSize;
-        ConnectionState _connectionState = Connecting;
+        // written by the thread checking the node, which may still be running when the node is published
+        volatile float _pingTimeMS = 0;
+        volatile int _maxBsonObjectSize;
+        volatile ConnectionState _connectionState = Connecting;
     }
 
 }
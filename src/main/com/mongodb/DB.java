@@ -31,6 +31,7 @@ import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Future;
 
 /**
  * An abstract class that represents a logical database on a server.
@@ -307,6 +308,33 @@ public abstract class DB {
         return cr;
     }
 
+    /**
+     * Executes a database command without blocking the calling thread until the server replies.
+     *
+     * @param cmd {@code DBObject} representation of the command to be executed
+     * @return a future for the result of the command execution
+     * @throws MongoException
+     * @see MongoClientOptions#getPipelineDepth()
+     * @since 2.12.0
+     */
+    public Future<CommandResult> commandAsync( DBObject cmd ){
+        ReadPreference readPrefs = getCommandReadPreference(cmd, getReadPreference());
+        DBObject wrapped = wrapCommand(cmd, readPrefs);
+
+        DBCollection cmdColl = getCollection("$cmd");
+        OutMessage query = OutMessage.query( cmdColl , 0 , 0 , -1 , wrapped , new BasicDBObject() , readPrefs );
+        return getMongo().getConnector().callAsync( this , cmdColl , query , readPrefs , DefaultDBDecoder.FACTORY.create() ,
+                new DBTCPConnector.ResponseConverter<CommandResult>() {
+                    public CommandResult convert( final Response res ){
+                        if ( res.size() == 0 )
+                            return null;
+                        CommandResult cr = new CommandResult( res.serverUsed() );
+                        cr.putAll( res.get( 0 ) );
+                        return cr;
+                    }
+                } );
+    }
+
     // Only append $readPreference meta-operator if connected to a mongos, read preference is not primary
     // or secondary preferred,
     // and command is an instance of BasicDBObject.  The last condition is unfortunate, but necessary in case
@@ -22,9 +22,17 @@ import com.mongodb.util.JSON;
 import org.bson.BSONObject;
 import org.bson.types.ObjectId;
 
+import java.lang.ref.WeakReference;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -42,6 +50,16 @@ public class DBApiLayer extends DB {
     static final int NUM_CURSORS_BEFORE_KILL = 100;
     static final int NUM_CURSORS_PER_BATCH = 20000;
 
+    /** The most writes of one kind sent together by an unordered bulk write, and how many batches are sent at once */
+    static final int BULK_BATCH_SIZE = 256;
+    static final int BULK_PARALLELISM = 4;
+
+    /**
+     * The most updates or removes of a batch encoded and in flight at once.  Each message holds a pooled buffer, so
+     * this bounds the buffers an unordered bulk write holds to a small part of the pool.
+     */
+    static final int BULK_PIPELINE_DEPTH = 32;
+
     //  --- show
 
     static final Logger TRACE_LOGGER = Logger.getLogger( "com.mongodb.TRACE" );
@@ -183,6 +201,19 @@ public class DBApiLayer extends DB {
         return _connector.authenticate(credentials);
     }
 
+    /**
+     * Consecutive writes of the same kind from a bulk write, and the index of the first of them.
+     */
+    static class BulkBatch {
+        BulkBatch( int firstIndex , List<WriteRequest> requests ){
+            this.firstIndex = firstIndex;
+            this.requests = requests;
+        }
+
+        final int firstIndex;
+        final List<WriteRequest> requests;
+    }
+
     class MyCollection extends DBCollection {
         MyCollection( String name ){
             super( DBApiLayer.this , name );
@@ -212,46 +243,191 @@ public class DBApiLayer extends DB {
             if (encoder == null)
                 encoder = DefaultDBEncoder.FACTORY.create();
 
-            if ( willTrace() ) {
-                for (DBObject o : list) {
-                    trace( "save:  " + _fullNameSpace + " " + JSON.serialize( o ) );
-                }
+            InsertBatches batches = new InsertBatches( list , shouldApply , concern , encoder );
+
+            WriteResult last = null;
+            while ( batches.hasNext() ) {
+                last = _connector.say( _db , batches.next() , concern );
             }
 
-            if ( shouldApply ){
-                for (DBObject o : list) {
-                    apply(o);
-                    _checkObject(o, false, false);
-                    Object id = o.get("_id");
-                    if (id instanceof ObjectId) {
-                        ((ObjectId) id).notNew();
+            return last;
+        }
+
+        @Override
+        public Future<WriteResult> insertAsync(List<DBObject> list, com.mongodb.WriteConcern concern, DBEncoder encoder ){
+
+            if (concern == null) {
+                throw new IllegalArgumentException("Write concern can not be null");
+            }
+
+            if (encoder == null)
+                encoder = DefaultDBEncoder.FACTORY.create();
+
+            InsertBatches batches = new InsertBatches( list , true , concern , encoder );
+            if ( ! batches.hasNext() ){
+                SingleResultFuture<WriteResult> none = new SingleResultFuture<WriteResult>();
+                none.complete( null );
+                return none;
+            }
+
+            SingleResultFuture<WriteResult> first = _mongo.getConnector().sayAsync( _db , batches.next() , concern );
+            if ( ! batches.hasNext() )
+                return first;
+
+            ChainedInsert chain = new ChainedInsert( batches , concern );
+            first.register( chain );
+            return chain._result;
+        }
+
+        /**
+         * Sends the batches of an asynchronous insert one after the other, each once the one before it has been
+         * acknowledged, so that they are applied in order.  Unless the write concern continues on error, the first batch
+         * that fails ends the insert.  The insert yields the result of the last batch, or the first failure.
+         */
+        private class ChainedInsert implements SingleResultFuture.Callback<WriteResult> {
+            ChainedInsert( InsertBatches batches , com.mongodb.WriteConcern concern ){
+                _batches = batches;
+                _concern = concern;
+            }
+
+            public void onResult( WriteResult result , Throwable error ){
+                if ( error == null )
+                    _last = result;
+                else if ( _failure == null )
+                    _failure = error;
+
+                if ( _batches.hasNext() && ( error == null || _concern.getContinueOnError() ) ){
+                    // this runs on the thread that read the reply, which the other replies on its connection wait for,
+                    // and getting a connection for the next batch may block
+                    try {
+                        _mongo.getConnector().getBackgroundExecutor().execute( new Runnable() {
+                            public void run(){
+                                sendNext();
+                            }
+                        } );
+                    }
+                    catch ( RejectedExecutionException e ){
+                        _result.fail( _failure != null ? _failure : new MongoException( "the connector has been closed" , e ) );
                     }
+                    return;
                 }
+
+                if ( _failure != null )
+                    _result.fail( _failure );
+                else
+                    _result.complete( _last );
             }
 
-            WriteResult last = null;
+            private void sendNext(){
+                SingleResultFuture<WriteResult> next;
+                try {
+                    next = _mongo.getConnector().sayAsync( _db , _batches.next() , _concern );
+                }
+                catch ( RuntimeException e ){
+                    onResult( null , e );
+                    return;
+                }
+                next.register( this );
+            }
+
+            final SingleResultFuture<WriteResult> _result = new SingleResultFuture<WriteResult>();
+            private final InsertBatches _batches;
+            private final com.mongodb.WriteConcern _concern;
+            // only touched by one batch's callback at a time, each completion happening before the next send
+            private WriteResult _last;
+            private Throwable _failure;
+        }
 
-            int cur = 0;
-            int maxsize = _mongo.getMaxBsonObjectSize();
-            while ( cur < list.size() ) {
+        /**
+         * Splits the documents to insert into messages, encoding each document once.  The limit for a batch insert is
+         * 4 x maxbson on the server, so a message is closed once it is over 2 x to be safe.  The document that takes a
+         * message over the limit is moved on to the next message as it is, unless it is alone in its message.
+         */
+        private class InsertBatches {
+            InsertBatches( List<DBObject> list , boolean shouldApply , com.mongodb.WriteConcern concern , DBEncoder encoder ){
+                this( list , shouldApply , concern , encoder , Integer.MAX_VALUE );
+            }
 
-               OutMessage om = OutMessage.insert( this , encoder, concern );
+            InsertBatches( List<DBObject> list , boolean shouldApply , com.mongodb.WriteConcern concern , DBEncoder encoder ,
+                           int maxDocuments ){
+                _list = list;
+                _maxDocuments = maxDocuments;
+                _concern = concern;
+                _encoder = encoder;
+                // the default encoder checks the field names as it goes, so there is no need to walk the documents first
+                _checkKeys = shouldApply && encoder instanceof DefaultDBEncoder;
+                _maxMessageSize = 2 * _mongo.getMaxBsonObjectSize();
+
+                prepareInsert( list , shouldApply , ! _checkKeys );
+            }
 
-               for ( ; cur < list.size(); cur++ ){
-                    DBObject o = list.get(cur);
-                    om.putObject( o );
+            boolean hasNext(){
+                return _carried != null || _cur < _list.size();
+            }
 
-                    // limit for batch insert is 4 x maxbson on server, use 2 x to be safe
-                    if ( om.size() > 2 * maxsize ){
-                        cur++;
-                        break;
+            /**
+             * @return the index in the list of the first document that the next message holds
+             */
+            int nextIndex(){
+                return _carried != null ? _cur - 1 : _cur;
+            }
+
+            OutMessage next(){
+                OutMessage om = OutMessage.insert( MyCollection.this , _encoder , _concern );
+                try {
+                    if ( _carried != null ){
+                        om.putEncodedObject( _carried );
+                        _carried = null;
                     }
+
+                    while ( _cur < _list.size() && om.getNumDocuments() < _maxDocuments ){
+                        int start = om.size();
+                        om.putObject( _list.get( _cur++ ) , _checkKeys );
+
+                        if ( om.size() > _maxMessageSize ){
+                            if ( om.getNumDocuments() > 1 )
+                                _carried = om.removeLastObject( start );
+                            break;
+                        }
+                    }
+                    return om;
+                }
+                catch ( RuntimeException e ){
+                    om.doneWithMessage();
+                    throw e;
                 }
+            }
+
+            private final List<DBObject> _list;
+            private final com.mongodb.WriteConcern _concern;
+            private final DBEncoder _encoder;
+            private final boolean _checkKeys;
+            private final int _maxMessageSize;
+            private final int _maxDocuments;
+            private int _cur;
+            private byte[] _carried;
+        }
 
-                last = _connector.say( _db , om , concern );
+        private void prepareInsert(List<DBObject> list, boolean shouldApply, boolean checkKeys) {
+            if ( willTrace() ) {
+                for (DBObject o : list) {
+                    trace( "save:  " + _fullNameSpace + " " + JSON.serialize( o ) );
+                }
             }
 
-            return last;
+            if ( shouldApply ){
+                for (DBObject o : list) {
+                    apply(o);
+                    if ( checkKeys )
+                        _checkObject(o, false, false);
+                    else if ( o.isPartialObject() )
+                        throw new IllegalArgumentException("can't save partial objects");
+                    Object id = o.get("_id");
+                    if (id instanceof ObjectId) {
+                        ((ObjectId) id).notNew();
+                    }
+                }
+            }
         }
 
         public WriteResult remove( DBObject o , com.mongodb.WriteConcern concern, DBEncoder encoder ){
@@ -330,6 +506,231 @@ public class DBApiLayer extends DB {
             return _connector.say( _db , om , concern );
         }
 
+        @Override
+        BulkWriteResult executeBulkWriteOperation( boolean ordered , List<WriteRequest> requests ,
+                                                   final com.mongodb.WriteConcern concern ){
+
+            if (concern == null) {
+                throw new IllegalArgumentException("Write concern can not be null");
+            }
+
+            final DBEncoderFactory encoderFactory = getDBEncoderFactory() != null ? getDBEncoderFactory() : DefaultDBEncoder.FACTORY;
+
+            // whatever can be checked here is, before anything is sent
+            List<DBObject> documents = new ArrayList<DBObject>();
+            for ( WriteRequest request : requests ){
+                if ( request.getType() == WriteRequest.Type.INSERT ){
+                    documents.add( ((WriteRequest.Insert) request).document );
+                }
+                else if ( request.getType() == WriteRequest.Type.UPDATE ){
+                    DBObject o = ((WriteRequest.Update) request).update;
+                    if ( ! o.keySet().isEmpty() && ! o.keySet().iterator().next().startsWith( "$" ) )
+                        _checkObject( o , false , false );
+                }
+            }
+            prepareInsert( documents , true , true );
+
+            // consecutive writes of the same kind, in batches small enough to spread over several connections if
+            // order doesn't matter
+            List<BulkBatch> batches = new ArrayList<BulkBatch>();
+            int maxBatchSize = ordered ? Integer.MAX_VALUE : BULK_BATCH_SIZE;
+            for ( int start = 0; start < requests.size(); ){
+                WriteRequest.Type type = requests.get( start ).getType();
+                int end = start + 1;
+                while ( end < requests.size() && end - start < maxBatchSize && requests.get( end ).getType() == type )
+                    end++;
+                batches.add( new BulkBatch( start , requests.subList( start , end ) ) );
+                start = end;
+            }
+
+            final BulkWriteCombiner combiner = new BulkWriteCombiner( concern.callGetLastError() );
+            if ( ordered ){
+                DBEncoder encoder = encoderFactory.create();
+                for ( BulkBatch batch : batches ){
+                    executeBatch( batch , true , concern , encoder , combiner );
+                    if ( combiner.hasErrors() )
+                        break;
+                }
+                return combiner.getResult();
+            }
+
+            final Queue<BulkBatch> queue = new ConcurrentLinkedQueue<BulkBatch>( batches );
+
+            // the calling thread is one of the workers
+            List<Future<Void>> others = new ArrayList<Future<Void>>();
+            for ( int i = 1; i < Math.min( batches.size() , BULK_PARALLELISM ); i++ ){
+                others.add( _mongo.getConnector().getAsyncExecutor().submit( new Callable<Void>() {
+                    public Void call(){
+                        executeBatches( queue , concern , encoderFactory.create() , combiner );
+                        return null;
+                    }
+                } ) );
+            }
+
+            RuntimeException failure = null;
+            try {
+                executeBatches( queue , concern , encoderFactory.create() , combiner );
+            }
+            catch ( RuntimeException e ){
+                failure = e;
+            }
+            boolean interrupted = false;
+            for ( Future<Void> other : others ){
+                while ( true ){
+                    try {
+                        other.get();
+                        break;
+                    }
+                    catch ( InterruptedException e ){
+                        // the batches have to be accounted for whatever happens
+                        interrupted = true;
+                    }
+                    catch ( ExecutionException e ){
+                        if ( failure == null )
+                            failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+                                                                               : new MongoException( "bulk write failed" , e.getCause() );
+                        break;
+                    }
+                }
+            }
+            if ( interrupted )
+                Thread.currentThread().interrupt();
+            if ( failure != null )
+                throw failure;
+
+            return combiner.getResult();
+        }
+
+        private void executeBatches( Queue<BulkBatch> queue , com.mongodb.WriteConcern concern , DBEncoder encoder ,
+                                     BulkWriteCombiner combiner ){
+            BulkBatch batch;
+            while ( ( batch = queue.poll() ) != null )
+                executeBatch( batch , false , concern , encoder , combiner );
+        }
+
+        private void executeBatch( BulkBatch batch , boolean ordered , com.mongodb.WriteConcern concern , DBEncoder encoder ,
+                                   BulkWriteCombiner combiner ){
+            if ( batch.requests.get( 0 ).getType() == WriteRequest.Type.INSERT )
+                executeInserts( batch , ordered , concern , encoder , combiner );
+            else if ( ordered )
+                executeOneByOne( batch , concern , encoder , combiner );
+            else
+                executeTogether( batch , concern , encoder , combiner );
+        }
+
+        private void executeInserts( BulkBatch batch , boolean ordered , com.mongodb.WriteConcern concern , DBEncoder encoder ,
+                                     BulkWriteCombiner combiner ){
+            List<DBObject> documents = new ArrayList<DBObject>( batch.requests.size() );
+            for ( WriteRequest request : batch.requests )
+                documents.add( ((WriteRequest.Insert) request).document );
+
+            com.mongodb.WriteConcern insertConcern = concern.continueOnError( ! ordered );
+            if ( ! ordered && concern.callGetLastError() ){
+                executeInsertsTogether( batch , documents , insertConcern , encoder , combiner );
+                return;
+            }
+
+            InsertBatches messages = new InsertBatches( documents , false , insertConcern , encoder );
+            while ( messages.hasNext() ){
+                int index = batch.firstIndex + messages.nextIndex();
+                OutMessage om = messages.next();
+                int count = om.getNumDocuments();
+                try {
+                    _connector.say( _db , om , insertConcern );
+                    combiner.addInserted( count );
+                }
+                catch ( WriteConcernException e ){
+                    combiner.addError( index , e.getCommandResult() );
+                    if ( ordered )
+                        return;
+                }
+            }
+        }
+
+        // past an error the server reports only the last failure in a message, and not how many of its documents went in,
+        // so each document goes in a message of its own and those are pipelined like the updates and removes
+        private void executeInsertsTogether( BulkBatch batch , List<DBObject> documents , com.mongodb.WriteConcern concern ,
+                                             DBEncoder encoder , BulkWriteCombiner combiner ){
+            InsertBatches batches = new InsertBatches( documents , false , concern , encoder , 1 );
+            while ( batches.hasNext() ){
+                int start = batches.nextIndex();
+                List<OutMessage> messages = new ArrayList<OutMessage>( BULK_PIPELINE_DEPTH );
+                try {
+                    while ( batches.hasNext() && messages.size() < BULK_PIPELINE_DEPTH )
+                        messages.add( batches.next() );
+
+                    List<WriteResult> results = _mongo.getConnector().sayAll( _db , messages , concern );
+                    for ( int i = 0; i < results.size(); i++ ){
+                        CommandResult res = results.get( i ).getCachedLastError();
+                        if ( res != null && res.getException() != null )
+                            combiner.addError( batch.firstIndex + start + i , res );
+                        else
+                            combiner.addInserted( 1 );
+                    }
+                }
+                finally {
+                    for ( OutMessage om : messages )
+                        om.doneWithMessage();
+                }
+            }
+        }
+
+        // an ordered update or remove can't be sent before the one in front of it is known to have worked
+        private void executeOneByOne( BulkBatch batch , com.mongodb.WriteConcern concern , DBEncoder encoder ,
+                                      BulkWriteCombiner combiner ){
+            for ( int i = 0; i < batch.requests.size(); i++ ){
+                WriteRequest request = batch.requests.get( i );
+                try {
+                    WriteResult result = _connector.say( _db , toMessage( request , encoder ) , concern );
+                    combiner.addResult( batch.firstIndex + i , request , result.getCachedLastError() );
+                }
+                catch ( WriteConcernException e ){
+                    combiner.addError( batch.firstIndex + i , e.getCommandResult() );
+                    return;
+                }
+            }
+        }
+
+        private void executeTogether( BulkBatch batch , com.mongodb.WriteConcern concern , DBEncoder encoder ,
+                                      BulkWriteCombiner combiner ){
+            for ( int start = 0; start < batch.requests.size(); start += BULK_PIPELINE_DEPTH ){
+                int end = Math.min( batch.requests.size() , start + BULK_PIPELINE_DEPTH );
+                List<OutMessage> messages = new ArrayList<OutMessage>( end - start );
+                try {
+                    for ( int i = start; i < end; i++ )
+                        messages.add( toMessage( batch.requests.get( i ) , encoder ) );
+
+                    List<WriteResult> results = _mongo.getConnector().sayAll( _db , messages , concern );
+                    for ( int i = 0; i < results.size(); i++ ){
+                        int index = start + i;
+                        CommandResult res = results.get( i ).getCachedLastError();
+                        if ( res != null && res.getException() != null )
+                            combiner.addError( batch.firstIndex + index , res );
+                        else
+                            combiner.addResult( batch.firstIndex + index , batch.requests.get( index ) , res );
+                    }
+                }
+                finally {
+                    for ( OutMessage om : messages )
+                        om.doneWithMessage();
+                }
+            }
+        }
+
+        private OutMessage toMessage( WriteRequest request , DBEncoder encoder ){
+            if ( request.getType() == WriteRequest.Type.UPDATE ){
+                WriteRequest.Update update = (WriteRequest.Update) request;
+                if ( willTrace() ) {
+                    trace( "update: " + _fullNameSpace + " " + JSON.serialize( update.query ) + " " + JSON.serialize( update.update ) );
+                }
+                return OutMessage.update( this , encoder , update.upsert , update.multi , update.query , update.update );
+            }
+
+            WriteRequest.Remove remove = (WriteRequest.Remove) request;
+            if ( willTrace() ) trace( "remove: " + _fullNameSpace + " " + JSON.serialize( remove.query ) );
+            return OutMessage.remove( this , encoder , remove.query , ! remove.multi );
+        }
+
         public void createIndex( final DBObject keys, final DBObject options, DBEncoder encoder ){
 
             if (encoder == null)
@@ -346,6 +747,126 @@ public class DBApiLayer extends DB {
         final String _fullNameSpace;
     }
 
+    /**
+     * Requests the batches of a cursor one after the other on a background thread, while the application iterates
+     * the batches fetched earlier.  At most {@code maxBatches} batches are buffered; the background thread waits for
+     * the application to catch up before requesting more.  It only holds the {@link Result} it feeds weakly, so an
+     * abandoned cursor can still be finalized, and while it waits it checks every {@link #BUFFER_WAIT_MS} whether it was
+     * stopped or its cursor was collected.  If the cursor was abandoned without being closed, the thread exits and the
+     * server cursor is queued to be killed.
+     */
+    static class Prefetcher implements Runnable {
+        static final long BUFFER_WAIT_MS = 1000;
+
+        Prefetcher( Object owner , DBApiLayer db , DBCollection coll , ServerAddress host , DBDecoder decoder ,
+                    long cursorId , int batchSize , int limit , int options , int numFetched , int maxBatches ){
+            _owner = new WeakReference<Object>( owner );
+            _db = db;
+            _collection = coll;
+            _host = host;
+            _decoder = decoder;
+            _cursorId = cursorId;
+            _batchSize = batchSize;
+            _limit = limit;
+            _options = options;
+            _numFetched = numFetched;
+            _batches = new ArrayBlockingQueue<Object>( maxBatches );
+        }
+
+        public void run(){
+            try {
+                while ( ! _stopped ){
+                    Response res;
+                    try {
+                        OutMessage m = OutMessage.getMore( _collection , _cursorId ,
+                                                           chooseBatchSize( _batchSize , _limit , _numFetched ) );
+                        res = _db._connector.call( _db , _collection , m , _host , _decoder );
+                    }
+                    catch ( RuntimeException e ){
+                        buffer( e );
+                        return;
+                    }
+
+                    _numFetched += res.size();
+                    if ( ! buffer( res ) )
+                        return;
+
+                    if ( ( res._flags & Bytes.RESULTFLAG_CURSORNOTFOUND ) > 0 || ! res.hasGetMore( _options )
+                         || ( _limit > 0 && _limit - _numFetched <= 0 ) )
+                        return;
+                }
+            }
+            catch ( InterruptedException e ){
+                // the executor is shutting down, so is the Mongo instance.  Make sure the application doesn't wait forever
+                _batches.clear();
+                _batches.offer( new MongoInterruptedException( e ) );
+            }
+        }
+
+        /**
+         * Waits for room to buffer a batch.
+         *
+         * @return false if the prefetcher was stopped, or its cursor abandoned, before there was room
+         */
+        boolean buffer( Object batch ) throws InterruptedException {
+            while ( ! _batches.offer( batch , BUFFER_WAIT_MS , TimeUnit.MILLISECONDS ) ){
+                if ( _stopped )
+                    return false;
+                if ( _owner.get() == null ){
+                    // nobody will ever take the buffered batches, nor close the cursor
+                    _stopped = true;
+                    _batches.clear();
+                    if ( batch instanceof Response && ( (Response) batch ).cursor() != 0 )
+                        _db._deadCursorIds.add( new DeadCursor( _cursorId , _host ) );
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Waits for the next batch.
+         */
+        Response next(){
+            Object o;
+            try {
+                o = _batches.take();
+            }
+            catch ( InterruptedException e ){
+                throw new MongoInterruptedException( e );
+            }
+            if ( o instanceof RuntimeException )
+                throw (RuntimeException) o;
+            return (Response) o;
+        }
+
+        void setBatchSize( int batchSize ){
+            _batchSize = batchSize;
+        }
+
+        /**
+         * Stops requesting batches and drops the ones that are buffered.  A request that is in flight completes.
+         */
+        void stop(){
+            _stopped = true;
+            // makes room in case the background thread is waiting to buffer a batch, so that it sees the flag
+            _batches.clear();
+        }
+
+        final WeakReference<Object> _owner;
+        final DBApiLayer _db;
+        final DBCollection _collection;
+        final ServerAddress _host;
+        final DBDecoder _decoder;
+        final long _cursorId;
+        final int _limit;
+        final int _options;
+        final BlockingQueue<Object> _batches;
+        volatile int _batchSize;
+        volatile boolean _stopped;
+        private int _numFetched;
+    }
+
     class Result implements Iterator<DBObject> {
 
         Result( MyCollection coll , Response res , int batchSize, int limit , int options, DBDecoder decoder ){
@@ -376,6 +897,35 @@ public class DBApiLayer extends DB {
                 // fetched all docs within limit, close cursor server-side
                 killCursor();
             }
+            else if ( _prefetcher == null && _maxPrefetchBatches > 0 ){
+                startPrefetching();
+            }
+        }
+
+        /**
+         * Sets the number of batches to request ahead of the application.  Tailable cursors are never prefetched, since
+         * their batches depend on when they are requested.
+         */
+        void setPrefetch( int maxBatches ){
+            _maxPrefetchBatches = maxBatches;
+            if ( _prefetcher == null && _curResult != null && maxBatches > 0 )
+                startPrefetching();
+        }
+
+        private void startPrefetching(){
+            if ( ( _options & Bytes.QUERYOPTION_TAILABLE ) != 0 || ! _curResult.hasGetMore( _options ) )
+                return;
+
+            _prefetcher = new Prefetcher( this , DBApiLayer.this , _collection , _host , _decoder , _curResult.cursor() ,
+                                          _batchSize , _limit , _options , _numFetched , _maxPrefetchBatches );
+            _mongo.getConnector().getBackgroundExecutor().execute( _prefetcher );
+        }
+
+        private void stopPrefetching(){
+            if ( _prefetcher != null ){
+                _prefetcher.stop();
+                _prefetcher = null;
+            }
         }
 
         public DBObject next(){
@@ -424,10 +974,16 @@ public class DBApiLayer extends DB {
             if ( _curResult.cursor() <= 0 )
                 throw new RuntimeException( "can't advance a cursor <= 0" );
 
-            OutMessage m = OutMessage.getMore(_collection, _curResult.cursor(),
-                    chooseBatchSize(_batchSize, _limit, _numFetched));
+            Response res;
+            if ( _prefetcher != null ){
+                res = _prefetcher.next();
+            }
+            else {
+                OutMessage m = OutMessage.getMore(_collection, _curResult.cursor(),
+                        chooseBatchSize(_batchSize, _limit, _numFetched));
 
-            Response res = _connector.call( DBApiLayer.this , _collection , m , _host, _decoder );
+                res = _connector.call( DBApiLayer.this , _collection , m , _host, _decoder );
+            }
             _numGetMores++;
             init( res );
         }
@@ -442,6 +998,8 @@ public class DBApiLayer extends DB {
 
         public void setBatchSize(int size){
             _batchSize = size;
+            if ( _prefetcher != null )
+                _prefetcher.setBatchSize( size );
         }
 
         public String toString(){
@@ -468,6 +1026,7 @@ public class DBApiLayer extends DB {
 
         void close(){
             // not perfectly thread safe here, may need to use an atomicBoolean
+            stopPrefetching();
             if (_curResult != null) {
                 killCursor();
                 _curResult = null;
@@ -515,6 +1074,8 @@ public class DBApiLayer extends DB {
         private int _numGetMores = 0;
         private List<Integer> _sizes = new ArrayList<Integer>();
         private int _numFetched = 0;
+        private int _maxPrefetchBatches = 0;
+        private Prefetcher _prefetcher;
 
         // This allows us to easily enable/disable finalizer for cleaning up un-closed cursors
         private final OptionalFinalizer _optionalFinalizer;
@@ -522,6 +1083,7 @@ public class DBApiLayer extends DB {
         private class OptionalFinalizer {
             @Override
             protected void finalize() {
+                stopPrefetching();
                 if (_curResult != null) {
                     long curId = _curResult.cursor();
                     _curResult = null;
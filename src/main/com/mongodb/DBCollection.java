@@ -30,6 +30,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Future;
 
 /** This class provides a skeleton implementation of a database collection.
  * <p>A typical invocation sequence is thus
@@ -159,6 +160,52 @@ public abstract class DBCollection {
      */
     public abstract WriteResult insert(List<DBObject> list, WriteConcern concern, DBEncoder encoder);
 
+    /**
+     * Saves document(s) to the database without blocking the calling thread until the server replies.
+     * if doc doesn't have an _id, one will be added
+     * you can get the _id that was added from doc after the insert
+     *
+     * @param list list of documents to save
+     * @return a future for the result of the insert
+     * @throws MongoException
+     * @see MongoClientOptions#getPipelineDepth()
+     * @since 2.12.0
+     */
+    public Future<WriteResult> insertAsync(List<DBObject> list ){
+        return insertAsync( list, getWriteConcern() );
+    }
+
+    /**
+     * Saves document(s) to the database without blocking the calling thread until the server replies.
+     * if doc doesn't have an _id, one will be added
+     * you can get the _id that was added from doc after the insert
+     *
+     * @param list list of documents to save
+     * @param concern the write concern
+     * @return a future for the result of the insert
+     * @throws MongoException
+     * @see MongoClientOptions#getPipelineDepth()
+     * @since 2.12.0
+     */
+    public Future<WriteResult> insertAsync(List<DBObject> list, WriteConcern concern ){
+        return insertAsync( list, concern, getDBEncoder() );
+    }
+
+    /**
+     * Saves document(s) to the database without blocking the calling thread until the server replies.
+     * if doc doesn't have an _id, one will be added
+     * you can get the _id that was added from doc after the insert
+     *
+     * @param list list of documents to save
+     * @param concern the write concern
+     * @param encoder the encoder to use
+     * @return a future for the result of the insert
+     * @throws MongoException
+     * @see MongoClientOptions#getPipelineDepth()
+     * @since 2.12.0
+     */
+    public abstract Future<WriteResult> insertAsync(List<DBObject> list, WriteConcern concern, DBEncoder encoder);
+
     /**
      * Performs an update operation.
      * @param q search query for old object to update
@@ -271,6 +318,29 @@ public abstract class DBCollection {
         return remove( o , getWriteConcern() );
     }
 
+    /**
+     * Creates a bulk write operation that runs its writes in the order they are added and stops at the first failure.
+     * @return the operation to add writes to
+     * @since 2.12.0
+     */
+    public BulkWriteOperation initializeOrderedBulkOperation(){
+        return new BulkWriteOperation( true , this );
+    }
+
+    /**
+     * Creates a bulk write operation that runs its writes in any order, several at a time, and carries on past
+     * failures.
+     * @return the operation to add writes to
+     * @since 2.12.0
+     */
+    public BulkWriteOperation initializeUnorderedBulkOperation(){
+        return new BulkWriteOperation( false , this );
+    }
+
+    /**
+     * Runs the writes of a bulk write operation.
+     */
+    abstract BulkWriteResult executeBulkWriteOperation( boolean ordered , List<WriteRequest> requests , WriteConcern concern );
 
     /**
      * Finds objects
@@ -743,6 +813,100 @@ public abstract class DBCollection {
         return obj;
     }
 
+    /**
+     * Returns a single object from this collection matching the query, without blocking the calling thread until the
+     * server replies.
+     * @param o the query object
+     * @return a future for the object found, or for <code>null</code> if no such object exists
+     * @throws MongoException
+     * @see MongoClientOptions#getPipelineDepth()
+     * @since 2.12.0
+     */
+    public Future<DBObject> findOneAsync( DBObject o ){
+        return findOneAsync( o, null );
+    }
+
+    /**
+     * Returns a single object from this collection matching the query, without blocking the calling thread until the
+     * server replies.
+     * @param o the query object
+     * @param fields fields to return
+     * @return a future for the object found, or for <code>null</code> if no such object exists
+     * @throws MongoException
+     * @see MongoClientOptions#getPipelineDepth()
+     * @since 2.12.0
+     */
+    public Future<DBObject> findOneAsync( DBObject o, final DBObject fields ){
+        return sendQueryAsync( o, fields, 1, new DBTCPConnector.ResponseConverter<DBObject>() {
+            public DBObject convert(final Response res) {
+                checkQueryResponse( res );
+                DBObject obj = res.size() > 0 ? res.get( 0 ) : null;
+                if ( obj != null && ( fields != null && fields.keySet().size() > 0 ) ){
+                    obj.markAsPartialObject();
+                }
+                return obj;
+            }
+        } );
+    }
+
+    /**
+     * Returns up to {@code limit} objects from this collection matching the query, without blocking the calling
+     * thread until the server replies.  The objects are returned in a single batch, so the limit should be small
+     * enough for them to fit in one reply; use {@link #find(DBObject)} to iterate over larger results.
+     * @param query the query object
+     * @param fields fields to return
+     * @param limit the maximum number of objects to return, which must be positive
+     * @return a future for the objects found
+     * @throws MongoException
+     * @see MongoClientOptions#getPipelineDepth()
+     * @since 2.12.0
+     */
+    public Future<List<DBObject>> findAsync( DBObject query, final DBObject fields, int limit ){
+        if ( limit <= 0 )
+            throw new IllegalArgumentException( "limit must be positive" );
+
+        return sendQueryAsync( query, fields, limit, new DBTCPConnector.ResponseConverter<List<DBObject>>() {
+            public List<DBObject> convert(final Response res) {
+                checkQueryResponse( res );
+                List<DBObject> objects = new ArrayList<DBObject>( res.size() );
+                for ( Iterator<DBObject> i = res.iterator(); i.hasNext(); ){
+                    DBObject obj = i.next();
+                    if ( fields != null && fields.keySet().size() > 0 ){
+                        obj.markAsPartialObject();
+                    }
+                    objects.add( obj );
+                }
+                return objects;
+            }
+        } );
+    }
+
+    private <T> Future<T> sendQueryAsync( DBObject o, DBObject fields, int limit, DBTCPConnector.ResponseConverter<T> converter ){
+        ReadPreference readPref = getReadPreference();
+        QueryOpBuilder queryOpBuilder = new QueryOpBuilder().addQuery(o == null ? new BasicDBObject() : o);
+
+        if (getDB().getMongo().isMongosConnection()) {
+            queryOpBuilder.addReadPreference(readPref);
+        }
+
+        DBEncoder encoder = getDBEncoder();
+        if ( encoder == null )
+            encoder = DefaultDBEncoder.FACTORY.create();
+
+        // a negative batch size asks the server to return a single batch and close the cursor
+        OutMessage query = OutMessage.query( this, getOptions(), 0, -limit, queryOpBuilder.get(), fields, readPref,
+                                             encoder );
+        return getDB().getMongo().getConnector().callAsync( getDB(), this, query, readPref, getDecoder(), converter );
+    }
+
+    private void checkQueryResponse( Response res ){
+        if ( res.size() == 1 ){
+            MongoException e = MongoException.parse( res.get( 0 ) );
+            if ( e != null )
+                throw e;
+        }
+    }
+
     // Only create a new decoder if there is a decoder factory explicitly set on the collection.  Otherwise return null
     // so that DBPort will use a cached decoder from the default factory.
     private DBDecoder getDecoder() {
@@ -1458,7 +1622,7 @@ public abstract class DBCollection {
      * @param s the string field/key to check
      * @exception IllegalArgumentException if the key is not valid.
      */
-    private void validateKey(String s ) {
+    static void validateKey(String s ) {
         if ( s.contains( "\0" ) )
             throw new IllegalArgumentException( "Document field names can't have a NULL character. (Bad Key: '" + s + "')" );
         if ( s.contains( "." ) )
@@ -97,6 +97,7 @@ public class DBCursor implements Iterator<DBObject> , Iterable<DBObject>, Closea
         c._skip = _skip;
         c._options = _options;
         c._batchSize = _batchSize;
+        c._prefetch = _prefetch;
         c._snapshot = _snapshot;
         c._explain = _explain;
         if ( _specialFields != null )
@@ -264,6 +265,42 @@ public class DBCursor implements Iterator<DBObject> , Iterable<DBObject>, Closea
         return this;
     }
 
+    /**
+     * Requests batches from the server in the background while the application iterates the current one, so that
+     * processing a batch and fetching the next one overlap.  Up to <tt>maxBatches</tt> batches are buffered on top of
+     * the one being iterated, which bounds the memory used to roughly that many times the batch size.
+     *
+     * Tailable cursors are never prefetched.  This can be called after the cursor has been iterated, in which case it
+     * applies to the batches after the current one.  Once prefetching has started it goes on until the cursor is
+     * exhausted or closed.
+     *
+     * @param maxBatches the number of batches to request ahead of the application, or 0 to disable prefetching
+     * @return {@code this}
+     * @throws IllegalArgumentException if <tt>maxBatches</tt> is negative
+     * @since 2.12.0
+     */
+    public DBCursor prefetch( int maxBatches ){
+        if ( maxBatches < 0 )
+            throw new IllegalArgumentException( "maxBatches can't be negative" );
+
+        if ( _it instanceof DBApiLayer.Result )
+            ((DBApiLayer.Result)_it).setPrefetch( maxBatches );
+
+        _prefetch = maxBatches;
+        return this;
+    }
+
+    /**
+     * Gets the number of batches requested ahead of the application.
+     *
+     * @return the number of batches
+     * @see #prefetch(int)
+     * @since 2.12.0
+     */
+    public int getPrefetch(){
+        return _prefetch;
+    }
+
     /**
      * Discards a given number of elements at the beginning of the cursor.
      * @param n the number of elements to skip
@@ -370,6 +407,9 @@ public class DBCursor implements Iterator<DBObject> , Iterable<DBObject>, Closea
 
         _it = _collection.__find(builder.get(), _keysWanted, _skip, _batchSize, _limit,
                 _options, _readPref, getDecoder());
+
+        if ( _prefetch > 0 && _it instanceof DBApiLayer.Result )
+            ((DBApiLayer.Result)_it).setPrefetch( _prefetch );
     }
 
     // Only create a new decoder if there is a decoder factory explicitly set on the collection.  Otherwise return null
@@ -686,6 +726,8 @@ public class DBCursor implements Iterator<DBObject> , Iterable<DBObject>, Closea
             sb.append(", limit=").append(_limit);
         if (_batchSize != 0)
             sb.append(", batchSize=").append(_batchSize);
+        if (_prefetch != 0)
+            sb.append(", prefetch=").append(_prefetch);
 
         ServerAddress addr = getServerAddress();
         if (addr != null)
@@ -714,6 +756,7 @@ public class DBCursor implements Iterator<DBObject> , Iterable<DBObject>, Closea
     private boolean _explain = false;
     private int _limit = 0;
     private int _batchSize = 0;
+    private int _prefetch = 0;
     private int _skip = 0;
     private boolean _snapshot = false;
     private int _options = 0;
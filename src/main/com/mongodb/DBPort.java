@@ -19,6 +19,7 @@
 package com.mongodb;
 
 import com.mongodb.util.ThreadUtil;
+import org.bson.io.PoolOutputBuffer;
 import org.ietf.jgss.GSSCredential;
 import org.ietf.jgss.GSSException;
 import org.ietf.jgss.GSSManager;
@@ -34,16 +35,26 @@ import javax.security.sasl.Sasl;
 import javax.security.sasl.SaslClient;
 import javax.security.sasl.SaslException;
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -66,6 +77,10 @@ public class DBPort {
     
     static final long CONN_RETRY_TIME_MS = 15000;
 
+    // how much is buffered before writing to a socket without a channel, enough for a typical write and its
+    // getLastError in one go
+    static final int WRITE_BUFFER_SIZE = PoolOutputBuffer.BUF_SIZE * 4;
+
     /**
      * creates a new DBPort
      * @param addr the server address
@@ -83,6 +98,7 @@ public class DBPort {
 
         _logger = Logger.getLogger( _rootLogger.getName() + "." + addr.toString() );
         _decoder = _options.dbDecoderFactory.create();
+        _lastUsedAt = System.currentTimeMillis();
     }
 
     Response call( OutMessage msg , DBCollection coll ) throws IOException{
@@ -97,17 +113,82 @@ public class DBPort {
         throws IOException {
         go( msg , null );
     }
-    
-    private synchronized Response go( OutMessage msg , DBCollection coll )
+
+    /**
+     * Sends a write followed by a getLastError command and returns the result of the latter.  Both messages go out in
+     * a single socket write, and when the port is pipelined they are written while holding the write lock, so that no
+     * other request can slip in between them and the getLastError reports on this write.
+     */
+    CommandResult sayAndGetLastError( DB db , OutMessage msg , WriteConcern concern ) throws IOException {
+        DBCollection cmdColl = db.getCollection( "$cmd" );
+        OutMessage gle = OutMessage.query( cmdColl , 0 , 0 , -1 , concern.getCommand() , null );
+        try {
+            Response res = isPipelined() ? goPipelined( msg , gle , cmdColl , _decoder )
+                                         : goExclusive( msg , gle , cmdColl , false , _decoder );
+            return convertToCommandResult( concern.getCommand() , res );
+        } finally {
+            gle.doneWithMessage();
+        }
+    }
+
+    /**
+     * Sends each of the writes followed by a getLastError command, and returns the results of the latter in the same
+     * order.  All the messages go out before any reply is read, so this is only for writes that don't depend on each
+     * other succeeding.
+     */
+    List<CommandResult> sayAndGetLastErrors( DB db , List<OutMessage> msgs , WriteConcern concern ) throws IOException {
+        List<CommandResult> results = new ArrayList<CommandResult>( msgs.size() );
+        DBCollection cmdColl = db.getCollection( "$cmd" );
+        OutMessage[] all = new OutMessage[ msgs.size() * 2 ];
+        try {
+            for ( int i = 0; i < msgs.size(); i++ ){
+                all[ i * 2 ] = msgs.get( i );
+                all[ i * 2 + 1 ] = OutMessage.query( cmdColl , 0 , 0 , -1 , concern.getCommand() , null );
+            }
+            List<Response> responses = isPipelined() ? goPipelinedInPairs( all , cmdColl )
+                                                     : goExclusiveInPairs( all , cmdColl );
+            for ( Response res : responses )
+                results.add( convertToCommandResult( concern.getCommand() , res ) );
+            return results;
+        }
+        finally {
+            for ( int i = 1; i < all.length; i += 2 ){
+                if ( all[i] != null )
+                    all[i].doneWithMessage();
+            }
+        }
+    }
+
+    /**
+     * @return true if this port allows more than one request to be in flight at a time
+     */
+    boolean isPipelined() {
+        return _options.isPipelined();
+    }
+
+    private Response go( OutMessage msg , DBCollection coll )
         throws IOException {
         return go( msg , coll , false, null );
     }
 
-    private synchronized Response go( OutMessage msg , DBCollection coll , DBDecoder decoder ) throws IOException{
+    private Response go( OutMessage msg , DBCollection coll , DBDecoder decoder ) throws IOException{
         return go( msg, coll, false, decoder );
     }
 
-    private synchronized Response go(OutMessage msg, DBCollection coll, boolean forceResponse, DBDecoder decoder)
+    private Response go(OutMessage msg, DBCollection coll, boolean forceResponse, DBDecoder decoder)
+        throws IOException {
+        if ( isPipelined() ){
+            if ( coll == null && ! forceResponse ){
+                goPipelined( null , msg , null , null );
+                return null;
+            }
+            return goPipelined( null , msg , coll , (decoder == null ? _decoder : decoder) );
+        }
+        return goExclusive( null , msg, coll, forceResponse, decoder );
+    }
+
+    private synchronized Response goExclusive(OutMessage write, OutMessage msg, DBCollection coll, boolean forceResponse,
+                                              DBDecoder decoder)
         throws IOException {
 
         if ( _processingResponse ){
@@ -129,9 +210,8 @@ public class DBPort {
             throw new IllegalStateException( "_out shouldn't be null" );
 
         try {
-            msg.prepare();
             _activeState = new ActiveState(msg);
-            msg.pipe( _out );
+            write( write , msg );
 
             if ( _pool != null )
                 _pool._everWorked = true;
@@ -152,12 +232,370 @@ public class DBPort {
         }
     }
 
-    synchronized CommandResult getLastError( DB db , WriteConcern concern ) throws IOException{
+    /**
+     * Writes all the messages at once and then reads the replies to every second one, which the server sends in the
+     * order the requests were written.
+     */
+    private synchronized List<Response> goExclusiveInPairs( OutMessage[] msgs , DBCollection coll ) throws IOException {
+        if ( _processingResponse )
+            throw new IllegalStateException( "DBPort.go called and expecting a response while processing another response" );
+
+        _calls.incrementAndGet();
+
+        if ( _socket == null )
+            _open();
+
+        if ( _out == null )
+            throw new IllegalStateException( "_out shouldn't be null" );
+
+        try {
+            _activeState = new ActiveState( msgs[ msgs.length - 1 ] );
+            write( msgs );
+
+            if ( _pool != null )
+                _pool._everWorked = true;
+
+            _processingResponse = true;
+            List<Response> responses = new ArrayList<Response>( msgs.length / 2 );
+            for ( int i = 1; i < msgs.length; i += 2 ){
+                Response res = new Response( _sa , coll , _in , _decoder );
+                if ( res._responseTo != msgs[i].getId() )
+                    throw new IOException( "expected a reply to request " + msgs[i].getId() + " but got one to " + res._responseTo );
+                responses.add( res );
+            }
+            return responses;
+        }
+        catch ( IOException ioe ){
+            close();
+            throw ioe;
+        }
+        finally {
+            _activeState = null;
+            _processingResponse = false;
+        }
+    }
+
+    /**
+     * Writes {@code write} (if not null) and then {@code msg} without letting any other request in between, and waits
+     * for the reply to {@code msg}.  Replies to other requests that arrive first are decoded and handed over to the
+     * threads waiting for them, so whichever thread is currently the reader does the reading for everyone.
+     *
+     * @param write a message that expects no reply, or null
+     * @param msg the message to send
+     * @param coll the collection to decode the reply for, or null if no reply is expected
+     * @param decoder the decoder for the reply
+     * @return the reply to {@code msg}, or null if {@code coll} is null
+     */
+    private Response goPipelined( OutMessage write , OutMessage msg , DBCollection coll , DBDecoder decoder )
+        throws IOException {
+
+        PendingResponse pending = send( write , msg , coll , decoder , null );
+        if ( pending == null )
+            return null;
+
+        return awaitPipelined( pending , msg );
+    }
+
+    /**
+     * Writes all the messages at once without letting any other request in between, like {@link #goExclusiveInPairs},
+     * and then waits for the replies to every second one in turn.
+     */
+    private List<Response> goPipelinedInPairs( OutMessage[] msgs , DBCollection coll ) throws IOException {
+
+        _calls.incrementAndGet();
+
+        List<PendingResponse> pendings = new ArrayList<PendingResponse>( msgs.length / 2 );
+        synchronized ( _writeLock ){
+            if ( _socket == null )
+                _open();
+
+            if ( _out == null )
+                throw new IllegalStateException( "_out shouldn't be null" );
+
+            for ( int i = 1; i < msgs.length; i += 2 ){
+                PendingResponse pending = new PendingResponse( coll , _decoder , null );
+                _pending.put( msgs[i].getId() , pending );
+                pendings.add( pending );
+            }
+
+            try {
+                write( msgs );
+            }
+            catch ( IOException ioe ){
+                for ( int i = 1; i < msgs.length; i += 2 )
+                    _pending.remove( msgs[i].getId() );
+                close();
+                throw ioe;
+            }
+
+            if ( _pool != null )
+                _pool._everWorked = true;
+        }
+
+        List<Response> responses = new ArrayList<Response>( pendings.size() );
+        for ( int i = 0; i < pendings.size(); i++ )
+            responses.add( awaitPipelined( pendings.get( i ) , msgs[ i * 2 + 1 ] ) );
+        return responses;
+    }
+
+    /**
+     * Waits for the reply to a pipelined request, reading replies for everyone while no other thread is.
+     */
+    private Response awaitPipelined( PendingResponse pending , OutMessage msg ) throws IOException {
+        while ( acquireReader( pending ) ){
+            try {
+                while ( ! pending.done ){
+                    readPipelinedResponse();
+                }
+            }
+            finally {
+                releaseReader();
+            }
+        }
+
+        // replies to asynchronous requests may still be outstanding now that this thread stopped reading
+        scheduleDrain();
+
+        if ( pending.error != null ){
+            IOException ioe = new IOException( "pipelined request " + msg.getId() + " failed: " + pending.error.getMessage() );
+            ioe.initCause( pending.error );
+            throw ioe;
+        }
+        return pending.response;
+    }
+
+    /**
+     * Writes {@code write} (if not null) and then {@code msg} like {@link #goPipelined}, but returns as soon as the
+     * messages are written.  The reply is read by whichever thread is reading from this port at the time, or by a task
+     * run on {@code drainer} if nobody is, and handed to {@code callback} on that thread.  The callback is not called
+     * if this method throws.
+     */
+    void goAsync( OutMessage write , OutMessage msg , DBCollection coll , DBDecoder decoder , ResponseCallback callback ,
+                  Executor drainer ) throws IOException {
+        if ( ! isPipelined() )
+            throw new IllegalStateException( "asynchronous requests require a pipelined port" );
+
+        _drainer = drainer;
+        if ( send( write , msg , coll , ( decoder == null ? _decoder : decoder ) , callback ) == null )
+            callback.onResponse( null , null );
+        scheduleDrain();
+    }
+
+    private PendingResponse send( OutMessage write , OutMessage msg , DBCollection coll , DBDecoder decoder ,
+                                  ResponseCallback callback ) throws IOException {
+
+        _calls.incrementAndGet();
+
+        PendingResponse pending = null;
+        synchronized ( _writeLock ){
+            if ( _socket == null )
+                _open();
+
+            if ( _out == null )
+                throw new IllegalStateException( "_out shouldn't be null" );
+
+            if ( coll != null ){
+                pending = new PendingResponse( coll , decoder , callback );
+                if ( callback != null )
+                    _asyncPending.incrementAndGet();
+                _pending.put( msg.getId() , pending );
+            }
+
+            try {
+                write( write , msg );
+            }
+            catch ( IOException ioe ){
+                // the caller learns about the failure from the exception, everyone else from close()
+                if ( pending != null && _pending.remove( msg.getId() ) != null && callback != null )
+                    _asyncPending.decrementAndGet();
+                close();
+                throw ioe;
+            }
+
+            if ( _pool != null )
+                _pool._everWorked = true;
+        }
+        return pending;
+    }
+
+    /**
+     * Writes the messages that aren't null to the socket together, so that a write and its getLastError take one
+     * system call and usually one packet rather than one per buffer segment of each message.  Sockets that have a
+     * channel get a gathering write straight from the messages' buffers, others go through {@code _out}, which
+     * buffers up to {@link #WRITE_BUFFER_SIZE} bytes before writing.
+     */
+    private void write( OutMessage... msgs ) throws IOException {
+        for ( OutMessage msg : msgs ){
+            if ( msg != null )
+                msg.prepare();
+        }
+
+        SocketChannel channel = _channel;
+        if ( channel != null ){
+            List<ByteBuffer> segments = new ArrayList<ByteBuffer>( msgs.length * 2 );
+            for ( OutMessage msg : msgs ){
+                if ( msg != null )
+                    msg.segments( segments );
+            }
+
+            ByteBuffer[] buffers = segments.toArray( new ByteBuffer[ segments.size() ] );
+            ByteBuffer last = buffers[ buffers.length - 1 ];
+            while ( last.hasRemaining() )
+                channel.write( buffers );
+            return;
+        }
+
+        for ( OutMessage msg : msgs ){
+            if ( msg != null )
+                msg.pipe( _out );
+        }
+        _out.flush();
+    }
+
+    private void scheduleDrain(){
+        Executor drainer = _drainer;
+        if ( drainer == null || _asyncPending.get() == 0 || ! _draining.compareAndSet( false , true ) )
+            return;
+
+        try {
+            drainer.execute( new Runnable() {
+                public void run(){
+                    drain();
+                }
+            } );
+        }
+        catch ( RejectedExecutionException e ){
+            _draining.set( false );
+            close();
+        }
+    }
+
+    private void drain(){
+        while ( true ){
+            if ( acquireReader( null ) ){
+                try {
+                    while ( _asyncPending.get() > 0 ){
+                        readPipelinedResponse();
+                    }
+                }
+                finally {
+                    releaseReader();
+                }
+            }
+
+            _draining.set( false );
+            if ( _asyncPending.get() == 0 || ! _draining.compareAndSet( false , true ) )
+                return;
+        }
+    }
+
+    /**
+     * Waits until either nobody is reading from this port, in which case the calling thread becomes the reader, or
+     * there is nothing left to wait for.  Threads whose reply has been read by someone else return straight away
+     * rather than queueing up behind a reader that is blocked on the socket.
+     *
+     * @param pending the reply the caller is waiting for, or null to wait for all asynchronous replies
+     * @return true if the caller is now the reader and must call {@link #releaseReader()}
+     */
+    private boolean acquireReader( PendingResponse pending ){
+        boolean interrupted = false;
+        try {
+            synchronized ( _readMonitor ){
+                while ( true ){
+                    if ( pending == null ? _asyncPending.get() == 0 : pending.done )
+                        return false;
+                    if ( ! _reading ){
+                        _reading = true;
+                        return true;
+                    }
+                    try {
+                        _readMonitor.wait();
+                    }
+                    catch ( InterruptedException e ){
+                        // the request has been sent, so its reply has to be consumed regardless
+                        interrupted = true;
+                    }
+                }
+            }
+        }
+        finally {
+            if ( interrupted )
+                Thread.currentThread().interrupt();
+        }
+    }
+
+    private void releaseReader(){
+        synchronized ( _readMonitor ){
+            _reading = false;
+            _readMonitor.notifyAll();
+        }
+    }
+
+    // must only be called by the thread that acquired the reader role
+    private void readPipelinedResponse() {
+        // _open assigns the socket before the stream, so the stream read here is never older than the socket
+        Socket socket = _socket;
+        InputStream in = _in;
+        try {
+            if ( in == null )
+                throw new IOException( "connection closed" );
+
+            int responseTo = Response.readResponseTo( in );
+            PendingResponse pending = _pending.remove( responseTo );
+            if ( pending == null )
+                throw new IOException( "received a reply to unknown request " + responseTo );
+
+            pending.complete( new Response( _sa , pending.collection , in , pending.decoder ) , null );
+        }
+        catch ( IOException ioe ){
+            readFailed( socket , ioe );
+        }
+        catch ( RuntimeException re ){
+            // the stream is no longer positioned at a message boundary, so nobody else can read from it either
+            IOException ioe = new IOException( "failed to decode reply: " + re );
+            ioe.initCause( re );
+            readFailed( socket , ioe );
+        }
+    }
+
+    /**
+     * Closes the socket the reader failed on and fails the requests sent over it.  Closing that socket first unblocks
+     * any writer stuck on it, and the rest is done holding the write lock so that no writer can reopen the port and
+     * send a request in between.  If a writer reopened the port before that, every request sent over the failed socket
+     * has already been failed when it was closed, and the ones pending now went out on the new, healthy socket.
+     */
+    private void readFailed( Socket socket , IOException e ){
+        if ( socket != null ){
+            try {
+                socket.close();
+            }
+            catch ( Exception ignored ){
+                // don't care
+            }
+        }
+
+        synchronized ( _writeLock ){
+            if ( _socket != socket )
+                return;
+            failPending( e );
+            close();
+        }
+    }
+
+    private void failPending( IOException e ){
+        for ( Integer id : _pending.keySet() ){
+            PendingResponse pending = _pending.remove( id );
+            if ( pending != null )
+                pending.complete( null , e );
+        }
+    }
+
+    CommandResult getLastError( DB db , WriteConcern concern ) throws IOException{
         DBApiLayer dbAL = (DBApiLayer) db;
         return runCommand( dbAL, concern.getCommand() );
     }
 
-    synchronized private Response findOne( DB db , String coll , DBObject q ) throws IOException {
+    private Response findOne( DB db , String coll , DBObject q ) throws IOException {
         OutMessage msg = OutMessage.query( db.getCollection(coll) , 0 , 0 , -1 , q , null );
         try {
             Response res = go( msg , db.getCollection( coll ) , null );
@@ -167,12 +605,12 @@ public class DBPort {
         }
     }
 
-    synchronized CommandResult runCommand( DB db , DBObject cmd ) throws IOException {
+    CommandResult runCommand( DB db , DBObject cmd ) throws IOException {
         Response res = findOne(db, "$cmd", cmd);
         return convertToCommandResult(cmd, res);
     }
 
-    private CommandResult convertToCommandResult(DBObject cmd, Response res) {
+    static CommandResult convertToCommandResult(DBObject cmd, Response res) {
         if ( res.size() == 0 )
             return null;
         if ( res.size() > 1 )
@@ -227,8 +665,10 @@ public class DBPort {
                 _socket.setKeepAlive( _options.socketKeepAlive );
                 _socket.setSoTimeout( _options.socketTimeout );
                 _in = new BufferedInputStream( _socket.getInputStream() );
-                _out = _socket.getOutputStream();
+                _out = new BufferedOutputStream( _socket.getOutputStream() , WRITE_BUFFER_SIZE );
+                _channel = _socket.getChannel();
                 successfullyConnected = true;
+                _openedAt = System.currentTimeMillis();
             }
             catch ( IOException e ){
                 close();
@@ -308,7 +748,12 @@ public class DBPort {
         
         _in = null;
         _out = null;
+        _channel = null;
         _socket = null;
+        _openedAt = 0;
+
+        if ( ! _pending.isEmpty() )
+            failPending( new IOException( "connection closed" ) );
     }
 
     CommandResult authenticate(Mongo mongo, final MongoCredential credentials) {
@@ -325,7 +770,7 @@ public class DBPort {
         return res;
     }
 
-    void checkAuth(Mongo mongo) throws IOException {
+    synchronized void checkAuth(Mongo mongo) throws IOException {
         // get the difference between the set of credentialed databases and the set of authenticated databases on this connection
         Set<String> unauthenticatedDatabases = new HashSet<String>(mongo.getAuthority().getCredentialsStore().getDatabases());
         unauthenticatedDatabases.removeAll(authenticatedDatabases);
@@ -355,14 +800,28 @@ public class DBPort {
     private volatile Socket _socket;
     private volatile InputStream _in;
     private volatile OutputStream _out;
+    private volatile SocketChannel _channel;
 
     private volatile boolean _processingResponse;
 
     // needs synchronization to ensure that modifications are published.
     final Set<String> authenticatedDatabases = Collections.synchronizedSet(new HashSet<String>());
 
-    volatile int _lastThread;
     final AtomicLong _calls = new AtomicLong();
+
+    // wall clock times used by the pool to retire idle and old connections; _openedAt is 0 while there's no socket
+    volatile long _openedAt;
+    volatile long _lastUsedAt;
+
+    // state used only when pipelined
+    final AtomicInteger _inFlight = new AtomicInteger();
+    private final Object _writeLock = new Object();
+    private final Object _readMonitor = new Object();
+    private boolean _reading; // guarded by _readMonitor
+    private final Map<Integer, PendingResponse> _pending = new ConcurrentHashMap<Integer, PendingResponse>();
+    private final AtomicInteger _asyncPending = new AtomicInteger();
+    private final AtomicBoolean _draining = new AtomicBoolean();
+    private volatile Executor _drainer;
     private volatile ActiveState _activeState;
     private volatile Boolean useCRAMAuthenticationProtocol;
 
@@ -377,6 +836,52 @@ public class DBPort {
        final String threadName;
     }
 
+    /**
+     * Receives the reply to an asynchronous request, or the reason it failed.
+     */
+    interface ResponseCallback {
+        /**
+         * @param response the reply, or null if the request failed or expects no reply
+         * @param e the failure, or null
+         */
+        void onResponse( Response response , IOException e );
+    }
+
+    class PendingResponse {
+        PendingResponse( final DBCollection collection , final DBDecoder decoder , final ResponseCallback callback ){
+            this.collection = collection;
+            this.decoder = decoder;
+            this.callback = callback;
+        }
+
+        void complete( final Response response , final IOException error ){
+            this.response = response;
+            this.error = error;
+            synchronized ( _readMonitor ){
+                this.done = true;
+                if ( callback != null )
+                    _asyncPending.decrementAndGet();
+                _readMonitor.notifyAll();
+            }
+
+            if ( callback != null ){
+                try {
+                    callback.onResponse( response , error );
+                }
+                catch ( RuntimeException e ){
+                    _logger.log( Level.WARNING , "Exception thrown by response callback" , e );
+                }
+            }
+        }
+
+        final DBCollection collection;
+        final DBDecoder decoder;
+        final ResponseCallback callback;
+        volatile boolean done;
+        volatile Response response;
+        volatile IOException error;
+    }
+
     class GenericSaslAuthenticator extends SaslAuthenticator {
         static final String CRAM_MD5 = "CRAM-MD5";
 
@@ -18,11 +18,12 @@
 
 package com.mongodb;
 
+import com.mongodb.util.ConcurrentPool;
 import com.mongodb.util.ConnectionPoolStatisticsBean;
-import com.mongodb.util.SimplePool;
 import com.mongodb.util.management.JMException;
 import com.mongodb.util.management.MBeanServerFactory;
 
+import java.io.IOException;
 import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -30,6 +31,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
@@ -39,7 +41,7 @@ import java.util.logging.Level;
  * @deprecated This class is NOT a part of public API and will be dropped in 3.x versions.
  */
 @Deprecated
-public class DBPortPool extends SimplePool<DBPort> {
+public class DBPortPool extends ConcurrentPool<DBPort> {
 
     public String getHost() {
         return _addr.getHost();
@@ -49,14 +51,14 @@ public class DBPortPool extends SimplePool<DBPort> {
         return _addr.getPort();
     }
 
-    public synchronized ConnectionPoolStatisticsBean getStatistics() {
+    public ConnectionPoolStatisticsBean getStatistics() {
         return new ConnectionPoolStatisticsBean(getTotal(), getInUse(), getInUseConnections());
     }
 
     private InUseConnectionBean[] getInUseConnections() {
         List<InUseConnectionBean> inUseConnectionInfoList = new ArrayList<InUseConnectionBean>();
         long currentNanoTime = System.nanoTime();
-        for (DBPort port : _out) {
+        for (DBPort port : getInUseMembers()) {
             inUseConnectionInfoList.add(new InUseConnectionBean(port, currentNanoTime));
         }
         return inUseConnectionInfoList.toArray(new InUseConnectionBean[inUseConnectionInfoList.size()]);
@@ -66,7 +68,22 @@ public class DBPortPool extends SimplePool<DBPort> {
     static class Holder {
 
         Holder( MongoOptions options ){
+            this( options , null );
+        }
+
+        /**
+         * @param mongo used to authenticate connections opened ahead of demand, or null
+         */
+        Holder( MongoOptions options , Mongo mongo ){
             _options = options;
+            _mongo = mongo;
+            if ( options.minConnectionsPerHost > 0 || options.maxConnectionIdleTime > 0 || options.maxConnectionLifeTime > 0 ){
+                _maintenance = new MaintenanceThread();
+                _maintenance.start();
+            }
+            else {
+                _maintenance = null;
+            }
         }
 
         DBPortPool get( ServerAddress addr ){
@@ -83,6 +100,7 @@ public class DBPortPool extends SimplePool<DBPort> {
                 }
 
                 p = createPool(addr);
+                p._mongo = _mongo;
                 _pools.put( addr , p);
 
                 try {
@@ -114,6 +132,10 @@ public class DBPortPool extends SimplePool<DBPort> {
         }
 
         void close(){
+            _closed = true;
+            if ( _maintenance != null )
+                _maintenance.interrupt();
+
             synchronized ( _pools ){
                 for ( DBPortPool p : _pools.values() ){
                     p.close();
@@ -137,17 +159,56 @@ public class DBPortPool extends SimplePool<DBPort> {
             return name;
         }
 
+        /**
+         * Retires idle and old connections and opens new ones until each pool holds at least
+         * {@code minConnectionsPerHost}.
+         */
+        class MaintenanceThread extends Thread {
+
+            MaintenanceThread(){
+                setDaemon( true );
+                setName( "MongoPoolMaintenance" + hashCode() );
+            }
+
+            public void run(){
+                while ( ! _closed ){
+                    try {
+                        Thread.sleep( maintenanceIntervalMS );
+                    }
+                    catch ( InterruptedException e ){
+                        // the holder is being closed
+                        continue;
+                    }
+
+                    List<DBPortPool> pools;
+                    synchronized ( _pools ){
+                        pools = new ArrayList<DBPortPool>( _pools.values() );
+                    }
+                    for ( DBPortPool p : pools ){
+                        if ( _closed )
+                            break;
+                        p.maintain();
+                    }
+                }
+            }
+        }
+
         static {
             isJava5 = System.getProperty("java.version").startsWith("1.5");
+            maintenanceIntervalMS = Integer.parseInt( System.getProperty( "com.mongodb.poolMaintenanceIntervalMS" , "1000" ) );
         }
 
         final MongoOptions _options;
+        final Mongo _mongo;
+        final MaintenanceThread _maintenance;
+        volatile boolean _closed;
         final Map<ServerAddress,DBPortPool> _pools = Collections.synchronizedMap( new HashMap<ServerAddress,DBPortPool>() );
         final int _serial = nextSerial.incrementAndGet();
 
         // we use this to give each Holder a different mbean name
         static AtomicInteger nextSerial = new AtomicInteger(0);
         static final boolean isJava5;
+        static final int maintenanceIntervalMS;
     }
 
     // ----
@@ -211,21 +272,7 @@ public class DBPortPool extends SimplePool<DBPort> {
         _options = options;
         _addr = addr;
         _waitingSem = new Semaphore( _options.connectionsPerHost * _options.threadsAllowedToBlockForConnectionMultiplier );
-    }
-
-    protected long memSize( DBPort p ){
-        return 0;
-    }
-
-    @Override
-    protected int pick( int recommended, boolean couldCreate ){
-        int id = System.identityHashCode(Thread.currentThread());
-        for (int i = _avail.size() - 1; i >= 0; i--){
-            if ( _avail.get(i)._lastThread == id )
-                return i;
-        }
-
-        return couldCreate ? -1 : recommended;
+        _pipelineSem = new Semaphore( _options.connectionsPerHost * Math.max( 1 , _options.pipelineDepth ) );
     }
 
     /**
@@ -239,7 +286,7 @@ public class DBPortPool extends SimplePool<DBPort> {
             throw new SemaphoresOut(_options.connectionsPerHost * _options.threadsAllowedToBlockForConnectionMultiplier);
 
         try {
-            port = get( _options.maxWaitTime );
+            port = isPipelined() ? getShared( _options.maxWaitTime ) : get( _options.maxWaitTime );
         } catch (InterruptedException e) {
             throw new MongoInterruptedException(e);
         } finally {
@@ -249,10 +296,172 @@ public class DBPortPool extends SimplePool<DBPort> {
         if ( port == null )
             throw new ConnectionWaitTimeOut( _options.maxWaitTime );
 
-        port._lastThread = System.identityHashCode(Thread.currentThread());
         return port;
     }
 
+    /**
+     * Hands out the least loaded of the shared ports, opening another one if all of them already have requests in
+     * flight and the pool is not yet full.  The number of requests in flight across the pool is bounded by
+     * {@code connectionsPerHost * pipelineDepth}.
+     */
+    private DBPort getShared( long waitTime ) throws InterruptedException {
+        boolean acquired;
+        if ( waitTime > 0 )
+            acquired = _pipelineSem.tryAcquire( waitTime, TimeUnit.MILLISECONDS );
+        else if ( waitTime < 0 ){
+            _pipelineSem.acquire();
+            acquired = true;
+        }
+        else
+            acquired = _pipelineSem.tryAcquire();
+
+        if ( ! acquired )
+            return null;
+
+        try {
+            synchronized ( _shared ){
+                DBPort best = null;
+                for ( DBPort p : _shared ){
+                    if ( best == null || p._inFlight.get() < best._inFlight.get() )
+                        best = p;
+                }
+
+                if ( best == null || ( best._inFlight.get() > 0 && _shared.size() < getMaxSize() ) ){
+                    DBPort p = get( 0 );
+                    if ( p != null ){
+                        _shared.add( p );
+                        best = p;
+                    }
+                }
+
+                if ( best == null ){
+                    _pipelineSem.release();
+                    return null;
+                }
+
+                best._inFlight.incrementAndGet();
+                return best;
+            }
+        }
+        catch ( RuntimeException e ){
+            _pipelineSem.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void done( DBPort port ){
+        long now = System.currentTimeMillis();
+        port._lastUsedAt = now;
+
+        if ( isPipelined() ){
+            if ( port._inFlight.decrementAndGet() == 0 && isPastLifeTime( port , now ) )
+                retireShared( port , true );
+            _pipelineSem.release();
+            return;
+        }
+
+        if ( isPastLifeTime( port , now ) ){
+            // the port opens a new socket the next time it's used
+            port.close();
+        }
+        super.done( port );
+    }
+
+    /**
+     * Closes idle ports that are too old or have been idle for too long, as well as ports whose socket was already
+     * closed, and then opens new ones until the pool holds {@code minConnectionsPerHost}.  Called periodically by the
+     * {@link Holder}'s maintenance thread.
+     */
+    void maintain(){
+        try {
+            if ( isPipelined() )
+                retireIdleShared();
+            prune();
+            if ( _options.minConnectionsPerHost > 0 )
+                ensureMinSize( _options.minConnectionsPerHost );
+        }
+        catch ( RuntimeException e ){
+            Bytes.LOGGER.log( Level.FINE , "connection pool maintenance for " + _addr + " failed" , e );
+        }
+    }
+
+    /**
+     * Hands the shared ports that nothing is in flight on and that are too old or have been idle for too long back to
+     * the pool, for {@link #prune()} to deal with like any other idle port.
+     */
+    private void retireIdleShared(){
+        long now = System.currentTimeMillis();
+        List<DBPort> idle = new ArrayList<DBPort>();
+        synchronized ( _shared ){
+            for ( DBPort p : _shared ){
+                if ( p._inFlight.get() == 0 && ( isPastLifeTime( p , now ) || ( _options.maxConnectionIdleTime > 0
+                                                                                && now - p._lastUsedAt > _options.maxConnectionIdleTime ) ) )
+                    idle.add( p );
+            }
+        }
+        for ( DBPort p : idle )
+            retireShared( p , false );
+    }
+
+    /**
+     * Stops handing out a shared port and returns it to the pool, unless a request has been sent on it in the
+     * meantime.
+     */
+    private void retireShared( DBPort port , boolean close ){
+        synchronized ( _shared ){
+            // getShared only hands out ports while holding the lock, so nothing can start on the port after this check
+            if ( port._inFlight.get() != 0 || ! _shared.remove( port ) )
+                return;
+        }
+        if ( close ){
+            // the port opens a new socket the next time it's used
+            port.close();
+        }
+        super.done( port );
+    }
+
+    @Override
+    protected boolean shouldPrune( DBPort port ){
+        long now = System.currentTimeMillis();
+        if ( port._openedAt == 0 || isPastLifeTime( port , now ) )
+            return true;
+
+        return _options.maxConnectionIdleTime > 0 && now - port._lastUsedAt > _options.maxConnectionIdleTime
+               && getTotal() > _options.minConnectionsPerHost;
+    }
+
+    @Override
+    protected void prepare( DBPort port ){
+        try {
+            port.ensureOpen();
+            if ( _mongo != null )
+                port.checkAuth( _mongo );
+        }
+        catch ( IOException e ){
+            throw new MongoException.Network( "can't open connection to " + _addr , e );
+        }
+    }
+
+    private boolean isPastLifeTime( DBPort port , long now ){
+        long openedAt = port._openedAt;
+        return _options.maxConnectionLifeTime > 0 && openedAt != 0 && now - openedAt > _options.maxConnectionLifeTime;
+    }
+
+    @Override
+    protected void close(){
+        synchronized ( _shared ){
+            for ( DBPort p : _shared )
+                cleanup( p );
+            _shared.clear();
+        }
+        super.close();
+    }
+
+    boolean isPipelined(){
+        return _options.isPipelined();
+    }
+
     // return true if the exception is recoverable
     boolean gotError( Exception e ){
         if (e instanceof java.nio.channels.ClosedByInterruptException){
@@ -283,7 +492,13 @@ public class DBPortPool extends SimplePool<DBPort> {
 
         for ( DBPort p : all ){
             p.close();
-            done(p);
+            super.done(p);
+        }
+
+        // shared ports stay checked out, and will reopen their socket on next use
+        synchronized ( _shared ){
+            for ( DBPort p : _shared )
+                p.close();
         }
 
         return false;
@@ -305,6 +520,9 @@ public class DBPortPool extends SimplePool<DBPort> {
 
     final MongoOptions _options;
     final private Semaphore _waitingSem;
+    final private Semaphore _pipelineSem;
+    final private List<DBPort> _shared = new ArrayList<DBPort>();
     final ServerAddress _addr;
+    volatile Mongo _mongo;
     boolean _everWorked = false;
 }
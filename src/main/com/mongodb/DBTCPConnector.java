@@ -22,7 +22,17 @@ import java.io.IOException;
 import java.net.SocketTimeoutException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -40,7 +50,7 @@ public class DBTCPConnector implements DBConnector {
      */
     public DBTCPConnector( Mongo mongo  ) {
         _mongo = mongo;
-        _portHolder = new DBPortPool.Holder( mongo._options );
+        _portHolder = new DBPortPool.Holder( mongo._options , mongo );
         MongoAuthority.Type type = mongo.getAuthority().getType();
         if (type == MongoAuthority.Type.Direct) {
             setMasterAddress(mongo.getAuthority().getServerAddresses().get(0));
@@ -99,9 +109,9 @@ public class DBTCPConnector implements DBConnector {
             throw new IllegalStateException( "this Mongo has been closed" );
     }
 
-    WriteResult _checkWriteError( DB db, DBPort port , WriteConcern concern )
+    WriteResult _checkWriteError( DB db, DBPort port , OutMessage m , WriteConcern concern )
         throws IOException{
-        CommandResult e = port.runCommand( db , concern.getCommand() );
+        CommandResult e = port.sayAndGetLastError( db , m , concern );
 
         e.throwOnError();
         return new WriteResult( e , concern );
@@ -139,32 +149,51 @@ public class DBTCPConnector implements DBConnector {
 
         DBPort port = _myPort.get(true, ReadPreference.primary(), hostNeeded);
 
+        OperationEvent event = null;
         try {
             port.checkAuth( db.getMongo() );
-            port.say( m );
+            event = _operationListeners.started( m , port.serverAddress() );
+            WriteResult result;
             if ( concern.callGetLastError() ){
-                return _checkWriteError( db , port , concern );
+                ServerLoad.Stats stats = _serverLoad.get( port.serverAddress() );
+                long start = stats.started();
+                boolean succeeded = false;
+                try {
+                    result = _checkWriteError( db , port , m , concern );
+                    succeeded = true;
+                }
+                catch ( WriteConcernException e ){
+                    // the server answered, the write just didn't go through
+                    succeeded = true;
+                    throw e;
+                }
+                finally {
+                    stats.finished( start , succeeded );
+                }
             }
             else {
-                return new WriteResult( db , port , concern );
+                port.say( m );
+                result = new WriteResult( db , port , concern );
             }
+            _operationListeners.succeeded( event , 0 );
+            return result;
         }
         catch ( IOException ioe ){
+            _operationListeners.failed( event , ioe );
             _myPort.error(port, ioe);
             _error( ioe, false );
 
             if ( concern.raiseNetworkErrors() )
                 throw new MongoException.Network("Write operation to server " + port.host() + " failed on database " + db , ioe );
 
-            CommandResult res = new CommandResult(port.serverAddress());
-            res.put( "ok" , false );
-            res.put( "$err" , "NETWORK ERROR" );
-            return new WriteResult( res , concern );
+            return new WriteResult( networkErrorResult(port) , concern );
         }
         catch ( MongoException me ){
+            _operationListeners.failed( event , me );
             throw me;
         }
         catch ( RuntimeException re ){
+            _operationListeners.failed( event , re );
             _myPort.error(port, re);
             throw re;
         }
@@ -174,6 +203,87 @@ public class DBTCPConnector implements DBConnector {
         }
     }
 
+    /**
+     * Sends writes that don't depend on each other over one connection without waiting for each to be acknowledged
+     * before sending the next.  Unlike {@link #say(DB, OutMessage, WriteConcern)} this doesn't throw for write errors,
+     * which are left in the results.  The messages are not released.
+     *
+     * @return the result of each write, in order
+     * @throws MongoException
+     */
+    List<WriteResult> sayAll( DB db , List<OutMessage> messages , WriteConcern concern ){
+        if (concern == null) {
+            throw new IllegalArgumentException("Write concern is null");
+        }
+
+        _checkClosed();
+        checkMaster( false , true );
+
+        DBPort port = _myPort.get(true, ReadPreference.primary(), null);
+        List<WriteResult> results = new ArrayList<WriteResult>( messages.size() );
+        OperationEvent[] events = new OperationEvent[ messages.size() ];
+        try {
+            port.checkAuth( db.getMongo() );
+            for ( int i = 0; i < events.length; i++ )
+                events[i] = _operationListeners.started( messages.get( i ) , port.serverAddress() );
+
+            if ( concern.callGetLastError() ){
+                ServerLoad.Stats stats = _serverLoad.get( port.serverAddress() );
+                long start = stats.started( messages.size() );
+                List<CommandResult> lastErrors = null;
+                try {
+                    lastErrors = port.sayAndGetLastErrors( db , messages , concern );
+                }
+                finally {
+                    stats.finished( start , messages.size() , lastErrors != null );
+                }
+                for ( int i = 0; i < lastErrors.size(); i++ ){
+                    _operationListeners.finished( events[i] , lastErrors.get( i ) );
+                    results.add( new WriteResult( lastErrors.get( i ) , concern ) );
+                }
+            }
+            else {
+                for ( int i = 0; i < events.length; i++ ){
+                    port.say( messages.get( i ) );
+                    _operationListeners.succeeded( events[i] , 0 );
+                    results.add( new WriteResult( db , port , concern ) );
+                }
+            }
+            return results;
+        }
+        catch ( IOException ioe ){
+            failRemaining( events , results.size() , ioe );
+            _myPort.error(port, ioe);
+            _error( ioe, false );
+
+            if ( concern.raiseNetworkErrors() )
+                throw new MongoException.Network("Write operation to server " + port.host() + " failed on database " + db , ioe );
+
+            results.clear();
+            for ( int i = 0; i < messages.size(); i++ )
+                results.add( new WriteResult( networkErrorResult(port) , concern ) );
+            return results;
+        }
+        catch ( MongoException me ){
+            failRemaining( events , results.size() , me );
+            throw me;
+        }
+        catch ( RuntimeException re ){
+            failRemaining( events , results.size() , re );
+            _myPort.error(port, re);
+            throw re;
+        }
+        finally {
+            _myPort.done(port);
+        }
+    }
+
+    // tells the listeners that the operations from the given one on failed, the ones before having been reported already
+    private void failRemaining( OperationEvent[] events , int from , Throwable cause ){
+        for ( int i = from; i < events.length; i++ )
+            _operationListeners.failed( events[i] , cause );
+    }
+
     /**
      * @param db
      * @param coll
@@ -243,13 +353,19 @@ public class DBTCPConnector implements DBConnector {
 
         Response res = null;
         boolean retry = false;
+        ServerLoad.Stats stats = _serverLoad.get( port.serverAddress() );
+        long start = stats.started();
+        OperationEvent event = null;
         try {
             port.checkAuth( db.getMongo() );
+            event = _operationListeners.started( m , port.serverAddress() );
             res = port.call( m , coll, decoder );
             if ( res._responseTo != m.getId() )
                 throw new MongoException( "ids don't match" );
+            _operationListeners.succeeded( event , res._len );
         }
         catch ( IOException ioe ){
+            _operationListeners.failed( event , ioe );
             _myPort.error(port, ioe);
             retry = retries > 0 && !coll._name.equals( "$cmd" )
                     && !(ioe instanceof SocketTimeoutException) && _error( ioe, secondaryOk );
@@ -258,9 +374,11 @@ public class DBTCPConnector implements DBConnector {
             }
         }
         catch ( RuntimeException re ){
+            _operationListeners.failed( event , re );
             _myPort.error(port, re);
             throw re;
         } finally {
+            stats.finished( start , res != null );
             _myPort.done(port);
         }
 
@@ -280,6 +398,294 @@ public class DBTCPConnector implements DBConnector {
         return res;
     }
 
+    /**
+     * Converts the reply to an asynchronous query into the result handed to the caller.
+     */
+    interface ResponseConverter<T> {
+        T convert(Response res);
+    }
+
+    /**
+     * Sends a query without waiting for the reply.  When the connections are pipelined, the calling thread is released
+     * as soon as the message is written, and the reply is delivered by whichever thread is reading from the connection.
+     * Otherwise the operation is run synchronously and the returned future is already complete.  Asynchronous
+     * operations on pipelined connections are not retried and do not take part in requests.
+     *
+     * @return a future for the converted reply
+     * @throws MongoException
+     */
+    <T> Future<T> callAsync(final DB db, final DBCollection coll, final OutMessage m, ReadPreference readPref,
+                            final DBDecoder decoder, final ResponseConverter<T> converter) {
+        if (readPref == null)
+            readPref = ReadPreference.primary();
+
+        if (readPref == ReadPreference.primary() && m.hasOption( Bytes.QUERYOPTION_SLAVEOK ))
+            readPref = ReadPreference.secondaryPreferred();
+
+        final boolean secondaryOk = !(readPref == ReadPreference.primary());
+
+        _checkClosed();
+        if (!secondaryOk || getReplicaSetStatus() == null)
+            checkMaster( false, !secondaryOk );
+
+        if (!_mongo._options.isPipelined()) {
+            SingleResultFuture<T> future = new SingleResultFuture<T>();
+            try {
+                future.complete(converter.convert(call(db, coll, m, null, 0, readPref, decoder)));
+            } catch (MongoException e) {
+                future.fail(e);
+            }
+            return future;
+        }
+
+        final SingleResultFuture<T> future = new SingleResultFuture<T>();
+        final DBPort port = _myPort.getUnpinned(readPref);
+        final ServerLoad.Stats stats = _serverLoad.get( port.serverAddress() );
+        final long start = stats.started();
+        OperationEvent started = null;
+        try {
+            port.checkAuth( db.getMongo() );
+            started = _operationListeners.started( m , port.serverAddress() );
+            final OperationEvent event = started;
+            port.goAsync(null, m, coll, decoder, new DBPort.ResponseCallback() {
+                public void onResponse(final Response res, final IOException e) {
+                    stats.finished( start , e == null );
+                    try {
+                        if (e != null) {
+                            _operationListeners.failed( event , e );
+                            port.getPool().gotError(e);
+                            future.fail(new MongoException.Network("Read operation to server " + port.host() + " failed on database " + db, e));
+                        }
+                        else if (res._responseTo != m.getId()) {
+                            MongoException me = new MongoException("ids don't match");
+                            _operationListeners.failed( event , me );
+                            future.fail(me);
+                        }
+                        else {
+                            _operationListeners.succeeded( event , res._len );
+                            ServerError err = res.getError();
+                            if (err != null && err.isNotMasterError()) {
+                                refreshMaster();
+                                future.fail(new MongoException("not talking to master"));
+                            }
+                            else
+                                future.complete(converter.convert(res));
+                        }
+                    } catch (RuntimeException re) {
+                        future.fail(re);
+                    } finally {
+                        port.getPool().done(port);
+                        m.doneWithMessage();
+                    }
+                }
+            }, getAsyncExecutor());
+        } catch (IOException ioe) {
+            stats.finished( start , false );
+            _operationListeners.failed( started , ioe );
+            port.getPool().gotError(ioe);
+            port.getPool().done(port);
+            m.doneWithMessage();
+            throw new MongoException.Network("Read operation to server " + port.host() + " failed on database " + db , ioe );
+        } catch (RuntimeException re) {
+            stats.finished( start , false );
+            _operationListeners.failed( started , re );
+            port.getPool().done(port);
+            m.doneWithMessage();
+            throw re;
+        }
+        return future;
+    }
+
+    /**
+     * Sends a write without waiting for the acknowledgement.  For acknowledged write concerns the getLastError command
+     * is written together with the write, and the future completes when its reply arrives.  Otherwise it behaves like
+     * {@link #callAsync}.
+     *
+     * @return a future for the result of the write
+     * @throws MongoException
+     */
+    SingleResultFuture<WriteResult> sayAsync(final DB db, final OutMessage m, final WriteConcern concern) {
+        if (concern == null) {
+            throw new IllegalArgumentException("Write concern is null");
+        }
+
+        _checkClosed();
+        checkMaster( false , true );
+
+        if (!_mongo._options.isPipelined() || !concern.callGetLastError()) {
+            SingleResultFuture<WriteResult> future = new SingleResultFuture<WriteResult>();
+            try {
+                future.complete(say(db, m, concern));
+            } catch (MongoException e) {
+                future.fail(e);
+            }
+            return future;
+        }
+
+        final SingleResultFuture<WriteResult> future = new SingleResultFuture<WriteResult>();
+        final DBPort port = _myPort.getUnpinned(ReadPreference.primary());
+        final DBCollection cmdColl = db.getCollection("$cmd");
+        final OutMessage gle = OutMessage.query(cmdColl, 0, 0, -1, concern.getCommand(), null);
+        final ServerLoad.Stats stats = _serverLoad.get( port.serverAddress() );
+        final long start = stats.started();
+        OperationEvent started = null;
+        try {
+            port.checkAuth( db.getMongo() );
+            started = _operationListeners.started( m , port.serverAddress() );
+            final OperationEvent event = started;
+            port.goAsync(m, gle, cmdColl, null, new DBPort.ResponseCallback() {
+                public void onResponse(final Response res, final IOException e) {
+                    stats.finished( start , e == null );
+                    WriteResult result = null;
+                    RuntimeException failure = null;
+                    try {
+                        if (e != null) {
+                            _operationListeners.failed( event , e );
+                            port.getPool().gotError(e);
+                            if (concern.raiseNetworkErrors())
+                                failure = new MongoException.Network("Write operation to server " + port.host() + " failed on database " + db , e );
+                            else
+                                result = new WriteResult(networkErrorResult(port), concern);
+                        }
+                        else {
+                            CommandResult cr = DBPort.convertToCommandResult(concern.getCommand(), res);
+                            _operationListeners.finished( event , cr );
+                            cr.throwOnError();
+                            result = new WriteResult(cr, concern);
+                        }
+                    } catch (RuntimeException re) {
+                        failure = re;
+                    } finally {
+                        port.getPool().done(port);
+                        gle.doneWithMessage();
+                        m.doneWithMessage();
+                    }
+                    // the port is released first, so that a callback on the future can send the next write
+                    if (failure != null)
+                        future.fail(failure);
+                    else
+                        future.complete(result);
+                }
+            }, getAsyncExecutor());
+        } catch (IOException ioe) {
+            stats.finished( start , false );
+            _operationListeners.failed( started , ioe );
+            port.getPool().gotError(ioe);
+            port.getPool().done(port);
+            gle.doneWithMessage();
+            m.doneWithMessage();
+            if (concern.raiseNetworkErrors())
+                throw new MongoException.Network("Write operation to server " + port.host() + " failed on database " + db , ioe );
+            future.complete(new WriteResult(networkErrorResult(port), concern));
+        } catch (RuntimeException re) {
+            stats.finished( start , false );
+            _operationListeners.failed( started , re );
+            port.getPool().done(port);
+            gle.doneWithMessage();
+            m.doneWithMessage();
+            throw re;
+        }
+        return future;
+    }
+
+    /**
+     * Looks for the new master after an asynchronous request was told that it isn't talking to it, like
+     * {@link #innerCall} does before it retries.  This talks to the servers, so it runs on the executor rather than
+     * on the thread that read the reply, which other requests on the same connection may be waiting for.
+     */
+    private void refreshMaster() {
+        try {
+            getAsyncExecutor().execute(new Runnable() {
+                public void run() {
+                    try {
+                        checkMaster(true, false);
+                    } catch (MongoException e) {
+                        _logger.log(Level.WARNING, "Exception looking for the new master", e);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the connector has been closed
+        }
+    }
+
+    private CommandResult networkErrorResult(final DBPort port) {
+        CommandResult res = new CommandResult(port.serverAddress());
+        res.put( "ok" , false );
+        res.put( "$err" , "NETWORK ERROR" );
+        return res;
+    }
+
+    /**
+     * Gets the executor that drains replies to asynchronous requests and runs the workers of unordered bulk writes.
+     * Replies are drained by at most one task per connection, so it has as many threads as a connection pool has
+     * connections, and runs tasks that don't fit in its queue on the submitting thread.
+     */
+    ExecutorService getAsyncExecutor() {
+        ExecutorService executor = _asyncExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                if (_asyncExecutor == null) {
+                    int size = Math.max(1, _mongo._options.connectionsPerHost);
+                    _asyncExecutor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                                                            new ArrayBlockingQueue<Runnable>(size),
+                                                            new DaemonThreadFactory("MongoAsync-"),
+                                                            new CallerRunsUnlessShutdown());
+                }
+                executor = _asyncExecutor;
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Gets the executor for tasks that can neither wait in a queue nor run on the caller's thread: cursor prefetchers,
+     * which run for as long as their cursor is open and wait for the application to consume their batches, and the
+     * sending of the next batch of an asynchronous insert, which may wait for a connection and so must not run on the
+     * thread that read the previous reply.  The number of prefetchers is bounded by the number of open prefetching
+     * cursors, and the number of threads waiting for a connection by the pools' waiting semaphores.
+     */
+    ExecutorService getBackgroundExecutor() {
+        ExecutorService executor = _backgroundExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                if (_backgroundExecutor == null) {
+                    _backgroundExecutor = Executors.newCachedThreadPool(new DaemonThreadFactory("MongoBackground-"));
+                }
+                executor = _backgroundExecutor;
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Runs a task that the full executor rejected on the submitting thread, so that a burst of asynchronous requests
+     * slows its callers down instead of starting more threads.  Once the executor is shut down tasks are rejected.
+     */
+    static class CallerRunsUnlessShutdown implements RejectedExecutionHandler {
+        public void rejectedExecution(final Runnable r, final ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("The asynchronous executor has been shut down");
+            }
+            r.run();
+        }
+    }
+
+    static class DaemonThreadFactory implements ThreadFactory {
+        DaemonThreadFactory(final String prefix) {
+            this.prefix = prefix;
+        }
+
+        public Thread newThread(final Runnable r) {
+            Thread t = new Thread(r, prefix + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+
+        private final String prefix;
+        private final AtomicInteger threadNumber = new AtomicInteger();
+    }
+
     public ServerAddress getAddress(){
         DBPortPool pool = _masterPortPool;
         return pool != null ? pool.getServerAddress() : null;
@@ -398,14 +804,27 @@ public class DBTCPConnector implements DBConnector {
                 setPinnedRequestPortForThread(null);
             }
 
-            DBPort port;
+            DBPort port = getUnpinned(readPref);
+
+            // if within request, remember port to stick to same server
+            if (threadHasPinnedRequest()) {
+                setPinnedRequestPortForThread(port);
+            }
+
+            return port;
+        }
+
+        /**
+         * Gets a port for the given read preference, ignoring any request the current thread may be in.
+         */
+        DBPort getUnpinned(ReadPreference readPref) {
             if (getReplicaSetStatus() == null){
                 if (_masterPortPool == null) {
                     // this should only happen in rare case that no master was ever found
                     // may get here at startup if it's a read, slaveOk=true, and ALL servers are down
                     throw new MongoException("Rare case where master=null, probably all servers are down");
                 }
-                port = _masterPortPool.get();
+                return _masterPortPool.get();
             }
             else {
                 ReplicaSetStatus.ReplicaSet replicaSet = getReplicaSetStatus()._replicaSetHolder.get();
@@ -414,15 +833,8 @@ public class DBTCPConnector implements DBConnector {
                 if (node == null)
                     throw new MongoException("No replica set members available in " +  replicaSet + " for " + readPref.toDBObject().toString());
 
-                port = _portHolder.get(node.getServerAddress()).get();
+                return _portHolder.get(node.getServerAddress()).get();
             }
-
-            // if within request, remember port to stick to same server
-            if (threadHasPinnedRequest()) {
-                setPinnedRequestPortForThread(port);
-            }
-
-            return port;
         }
 
         void done( DBPort port ) {
@@ -603,6 +1015,14 @@ public class DBTCPConnector implements DBConnector {
                 _connectionStatus = null;
             } catch (final Throwable t) { /* nada */ }
         }
+        synchronized (this) {
+            if ( _asyncExecutor != null ) {
+                _asyncExecutor.shutdownNow();
+            }
+            if ( _backgroundExecutor != null ) {
+                _backgroundExecutor.shutdownNow();
+            }
+        }
     }
 
     /**
@@ -643,6 +1063,20 @@ public class DBTCPConnector implements DBConnector {
         }
     }
 
+    /**
+     * Gets the operations in flight and the recent latencies for each server, as seen by this connector.
+     */
+    ServerLoad getServerLoad() {
+        return _serverLoad;
+    }
+
+    /**
+     * Gets the listeners told about each operation sent by this connector.
+     */
+    OperationListeners getOperationListeners() {
+        return _operationListeners;
+    }
+
     /**
      * Gets the maximum size for a BSON object supported by the current master server.
      * Note that this value may change over time depending on which server is master.
@@ -666,6 +1100,10 @@ public class DBTCPConnector implements DBConnector {
 
     private volatile int _maxBsonObjectSize;
     private volatile Boolean _isMongosDirectConnection;
+    private volatile ExecutorService _asyncExecutor;
+    private volatile ExecutorService _backgroundExecutor;
+    private final ServerLoad _serverLoad = new ServerLoad();
+    private final OperationListeners _operationListeners = new OperationListeners();
 
     MyPort _myPort = new MyPort();
 }
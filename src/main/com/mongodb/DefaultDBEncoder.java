@@ -24,9 +24,55 @@ public class DefaultDBEncoder extends BasicBSONEncoder implements DBEncoder {
 
     public int writeObject( OutputBuffer buf, BSONObject o ){
         set( buf );
-        int x = super.putObject( o );
-        done();
-        return x;
+        try {
+            return super.putObject( o );
+        }
+        finally {
+            done();
+        }
+    }
+
+    /**
+     * Encodes a document that is about to be stored, checking its field names as they are written, so that the
+     * document doesn't have to be walked an extra time just to check them.
+     *
+     * @throws IllegalArgumentException if a field name is not valid in a stored document
+     */
+    int writeStoredObject( OutputBuffer buf, BSONObject o ){
+        if ( o instanceof LazyDBObject || o instanceof LazyDBList )
+            return writeObject( buf , o );
+
+        _checkKeys = true;
+        try {
+            return writeObject( buf , o );
+        }
+        finally {
+            _checkKeys = false;
+        }
+    }
+
+    @Override
+    protected void _putObjectField( String name , Object val ){
+        if ( ! _checkKeys ){
+            super._putObjectField( name , val );
+            return;
+        }
+
+        DBCollection.validateKey( name );
+
+        // the fields of database references and of lazy documents are left alone, as they always have been
+        if ( val instanceof DBRefBase || val instanceof LazyDBObject || val instanceof LazyDBList ){
+            _checkKeys = false;
+            try {
+                super._putObjectField( name , val );
+            }
+            finally {
+                _checkKeys = true;
+            }
+        }
+        else {
+            super._putObjectField( name , val );
+        }
     }
 
     static class DefaultFactory implements DBEncoderFactory {
@@ -84,6 +130,8 @@ public class DefaultDBEncoder extends BasicBSONEncoder implements DBEncoder {
     public DefaultDBEncoder( ){
     }
 
+    private boolean _checkKeys;
+
     @Override
     public String toString() {
         return "DefaultDBEncoder";
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of operation latencies with a bucket per power of two microseconds.  Recording a latency takes no lock
+ * and allocates nothing.
+ * <p>
+ * Like HdrHistogram, each power of two can be split into a number of linear sub-buckets, so that a percentile is
+ * at most {@code 1 / 2^subBucketBits} above the real latency rather than up to twice as much.  Latencies below the
+ * number of sub-buckets are counted exactly.
+ * <p>
+ * If a window is given, the counts are halved whenever that many latencies have been recorded since the last halving,
+ * so that the percentiles follow the recent latencies rather than the whole history.  Halving while other threads
+ * record is not atomic, which only makes the counts slightly approximate.
+ */
+class LatencyHistogram {
+
+    // without sub-buckets, bucket i holds the latencies below 2^i microseconds, the last one holds everything longer
+    static final int NUM_BUCKETS = 32;
+
+    LatencyHistogram() {
+        this(0);
+    }
+
+    LatencyHistogram(final int window) {
+        this(window, 0);
+    }
+
+    LatencyHistogram(final int window, final int subBucketBits) {
+        if (subBucketBits < 0 || subBucketBits >= NUM_BUCKETS - 1) {
+            throw new IllegalArgumentException("subBucketBits must be between 0 and " + (NUM_BUCKETS - 2));
+        }
+        _window = window;
+        _subBucketBits = subBucketBits;
+        _subBuckets = 1 << subBucketBits;
+        _buckets = new AtomicLongArray(_subBuckets * (NUM_BUCKETS - subBucketBits));
+    }
+
+    void record(final long latency, final TimeUnit unit) {
+        _buckets.incrementAndGet(indexOf(unit.toMicros(latency)));
+        long count = _count.incrementAndGet();
+
+        if (_window > 0 && count >= _window && _count.compareAndSet(count, count / 2)) {
+            for (int i = 0; i < _buckets.length(); i++) {
+                long value = _buckets.get(i);
+                _buckets.addAndGet(i, -(value - value / 2));
+            }
+        }
+    }
+
+    /**
+     * @return the number of latencies counted, which is less than the number recorded if the histogram has a window
+     */
+    long getCount() {
+        return _count.get();
+    }
+
+    /**
+     * Gets an upper bound of the given percentile, which is the upper limit of the bucket or sub-bucket it falls into.
+     *
+     * @param percentile the percentile, between 0 and 1
+     * @return the latency in microseconds, or -1 if nothing was recorded
+     */
+    long getPercentile(final double percentile) {
+        int numBuckets = _buckets.length();
+        long total = 0;
+        for (int i = 0; i < numBuckets; i++) {
+            total += _buckets.get(i);
+        }
+        if (total == 0) {
+            return -1;
+        }
+
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < numBuckets; i++) {
+            seen += _buckets.get(i);
+            if (seen >= rank && seen > 0) {
+                return upperLimitOf(i);
+            }
+        }
+        return upperLimitOf(numBuckets - 1);
+    }
+
+    // latencies below the number of sub-buckets get one bucket each, then each power of two gets _subBuckets of them
+    private int indexOf(final long micros) {
+        if (micros < _subBuckets) {
+            return micros <= 0 ? 0 : (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int shift = exponent - _subBucketBits;
+        int index = _subBuckets + shift * _subBuckets + (int) (micros >> shift) - _subBuckets;
+        return Math.min(_buckets.length() - 1, index);
+    }
+
+    private long upperLimitOf(final int index) {
+        if (index < _subBuckets) {
+            return index + 1;
+        }
+        int shift = (index - _subBuckets) / _subBuckets;
+        int subBucket = (index - _subBuckets) % _subBuckets;
+        return ((long) _subBuckets + subBucket + 1) << shift;
+    }
+
+    private final int _window;
+    private final int _subBucketBits;
+    private final int _subBuckets;
+    private final AtomicLongArray _buckets;
+    private final AtomicLong _count = new AtomicLong();
+}
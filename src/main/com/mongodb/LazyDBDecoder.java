@@ -18,6 +18,7 @@ package com.mongodb;
 import java.io.IOException;
 import java.io.InputStream;
 
+import org.bson.LazyBSONCallback;
 import org.bson.LazyBSONDecoder;
 
 /**
@@ -55,4 +56,16 @@ public class LazyDBDecoder extends LazyBSONDecoder implements DBDecoder {
         decode(in, cbk);
         return (DBObject) cbk.get();
     }
+
+    /**
+     * Decodes the document that starts at the given offset as a view over {@code b}, without copying it.
+     *
+     * @see LazyBSONDecoder#decode(byte[], int, LazyBSONCallback)
+     */
+    public DBObject decode(byte[] b, int offset, DBCollection collection) {
+        DBCallback cbk = getDBCallback(collection);
+        cbk.reset();
+        decode(b, offset, (LazyBSONCallback) cbk);
+        return (DBObject) cbk.get();
+    }
 }
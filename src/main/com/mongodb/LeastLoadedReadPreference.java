@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb;
+
+import java.util.List;
+
+/**
+ * Chooses the least loaded of the members another read preference would choose from.
+ *
+ * @see ReadPreference#leastLoaded(ReadPreference)
+ */
+class LeastLoadedReadPreference extends ReadPreference {
+
+    LeastLoadedReadPreference(ReadPreference readPreference) {
+        _readPreference = readPreference;
+    }
+
+    @Override
+    public boolean isSlaveOk() {
+        return _readPreference.isSlaveOk();
+    }
+
+    @Override
+    public DBObject toDBObject() {
+        return _readPreference.toDBObject();
+    }
+
+    @Override
+    public String getName() {
+        return _readPreference.getName();
+    }
+
+    @Override
+    ReplicaSetStatus.ReplicaSetNode getNode(ReplicaSetStatus.ReplicaSet set) {
+        return set.getLeastLoaded(getCandidates(set));
+    }
+
+    @Override
+    List<ReplicaSetStatus.ReplicaSetNode> getCandidates(ReplicaSetStatus.ReplicaSet set) {
+        return _readPreference.getCandidates(set);
+    }
+
+    ReadPreference getReadPreference() {
+        return _readPreference;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        return _readPreference.equals(((LeastLoadedReadPreference) o)._readPreference);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * _readPreference.hashCode() + 1;
+    }
+
+    @Override
+    public String toString() {
+        return "leastLoaded(" + _readPreference + ")";
+    }
+
+    private final ReadPreference _readPreference;
+}
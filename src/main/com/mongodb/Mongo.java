@@ -590,6 +590,27 @@ public class Mongo {
         return _netOptions.get();
     }
 
+    /**
+     * Adds a listener to be told about each operation sent to a server.
+     *
+     * @param listener the listener
+     * @see OperationLatencyRecorder
+     * @since 2.12.0
+     */
+    public void addOperationListener(final OperationListener listener) {
+        _connector.getOperationListeners().add(listener);
+    }
+
+    /**
+     * Removes a listener added with {@link #addOperationListener(OperationListener)}.
+     *
+     * @param listener the listener
+     * @since 2.12.0
+     */
+    public void removeOperationListener(final OperationListener listener) {
+        _connector.getOperationListeners().remove(listener);
+    }
+
     /**
      * Helper method for setting up MongoOptions at instantiation
      * so that any options which affect this connection can be set.
@@ -56,6 +56,10 @@ public class MongoClientOptions {
         private SocketFactory socketFactory = SocketFactory.getDefault();
         private boolean cursorFinalizerEnabled = true;
         private boolean alwaysUseMBeans = false;
+        private int pipelineDepth = 1;
+        private int minConnectionsPerHost;
+        private int maxConnectionIdleTime;
+        private int maxConnectionLifeTime;
 
         /**
          * Sets the description.
@@ -288,6 +292,74 @@ public class MongoClientOptions {
             return this;
         }
 
+        /**
+         * Sets the maximum number of requests that may be in flight at once on a single connection.
+         *
+         * @param pipelineDepth the maximum number of pipelined requests per connection
+         * @return {@code this}
+         * @throws IllegalArgumentException if <code>pipelineDepth < 1</code>
+         * @see MongoClientOptions#getPipelineDepth()
+         * @since 2.12.0
+         */
+        public Builder pipelineDepth(final int pipelineDepth) {
+            if (pipelineDepth < 1) {
+                throw new IllegalArgumentException("Minimum value is 1");
+            }
+            this.pipelineDepth = pipelineDepth;
+            return this;
+        }
+
+        /**
+         * Sets the minimum number of connections per host.
+         *
+         * @param minConnectionsPerHost minimum number of connections
+         * @return {@code this}
+         * @throws IllegalArgumentException if <code>minConnectionsPerHost < 0</code>
+         * @see MongoClientOptions#getMinConnectionsPerHost()
+         * @since 2.12.0
+         */
+        public Builder minConnectionsPerHost(final int minConnectionsPerHost) {
+            if (minConnectionsPerHost < 0) {
+                throw new IllegalArgumentException("Minimum value is 0");
+            }
+            this.minConnectionsPerHost = minConnectionsPerHost;
+            return this;
+        }
+
+        /**
+         * Sets the maximum idle time for a pooled connection.
+         *
+         * @param maxConnectionIdleTime the maximum idle time (in milliseconds), or 0 for no limit
+         * @return {@code this}
+         * @throws IllegalArgumentException if <code>maxConnectionIdleTime < 0</code>
+         * @see MongoClientOptions#getMaxConnectionIdleTime()
+         * @since 2.12.0
+         */
+        public Builder maxConnectionIdleTime(final int maxConnectionIdleTime) {
+            if (maxConnectionIdleTime < 0) {
+                throw new IllegalArgumentException("Minimum value is 0");
+            }
+            this.maxConnectionIdleTime = maxConnectionIdleTime;
+            return this;
+        }
+
+        /**
+         * Sets the maximum life time for a pooled connection.
+         *
+         * @param maxConnectionLifeTime the maximum life time (in milliseconds), or 0 for no limit
+         * @return {@code this}
+         * @throws IllegalArgumentException if <code>maxConnectionLifeTime < 0</code>
+         * @see MongoClientOptions#getMaxConnectionLifeTime()
+         * @since 2.12.0
+         */
+        public Builder maxConnectionLifeTime(final int maxConnectionLifeTime) {
+            if (maxConnectionLifeTime < 0) {
+                throw new IllegalArgumentException("Minimum value is 0");
+            }
+            this.maxConnectionLifeTime = maxConnectionLifeTime;
+            return this;
+        }
+
         /**
          * Sets defaults to be what they are in {@code MongoOptions}.
          *
@@ -511,6 +583,68 @@ public class MongoClientOptions {
         return alwaysUseMBeans;
     }
 
+    /**
+     * The maximum number of requests that may be in flight at once on a single connection.  When greater than 1,
+     * requests from different threads are written back-to-back on a shared connection and their replies are matched
+     * to the requests by id, so that a small pool can sustain many concurrent operations over a high latency link.
+     * <p>
+     * Default is 1, which means that each connection is used exclusively by one operation at a time.  Asynchronous
+     * operations such as {@link DBCollection#insertAsync(java.util.List)} then run on the calling thread and return a
+     * future that is already complete.
+     * </p>
+     *
+     * @return the maximum number of pipelined requests per connection
+     * @since 2.12.0
+     */
+    public int getPipelineDepth() {
+        return pipelineDepth;
+    }
+
+    /**
+     * The minimum number of connections per server for this MongoClient instance.  A background task opens and
+     * authenticates connections ahead of demand until the pool for each server holds at least this many, so that
+     * the first requests after start up or a fail over don't have to pay for it.  It is capped at
+     * {@link #getConnectionsPerHost()}.
+     * <p>
+     * Default is 0.
+     * </p>
+     *
+     * @return the minimum size of the connection pool per host
+     * @since 2.12.0
+     */
+    public int getMinConnectionsPerHost() {
+        return minConnectionsPerHost;
+    }
+
+    /**
+     * The maximum idle time of a pooled connection, in milliseconds.  A connection that has not been used for longer
+     * than this is closed and removed from the pool by a background task, down to {@link #getMinConnectionsPerHost()}
+     * connections.
+     * <p>
+     * Default is 0, which means there is no limit.
+     * </p>
+     *
+     * @return the maximum idle time, in milliseconds
+     * @since 2.12.0
+     */
+    public int getMaxConnectionIdleTime() {
+        return maxConnectionIdleTime;
+    }
+
+    /**
+     * The maximum life time of a pooled connection, in milliseconds.  A connection that has been open for longer than
+     * this is closed instead of being returned to the pool, or by a background task if it is idle.
+     * <p>
+     * Default is 0, which means there is no limit.
+     * </p>
+     *
+     * @return the maximum life time, in milliseconds
+     * @since 2.12.0
+     */
+    public int getMaxConnectionLifeTime() {
+        return maxConnectionLifeTime;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
@@ -524,7 +658,11 @@ public class MongoClientOptions {
         if (connectionsPerHost != that.connectionsPerHost) return false;
         if (cursorFinalizerEnabled != that.cursorFinalizerEnabled) return false;
         if (maxAutoConnectRetryTime != that.maxAutoConnectRetryTime) return false;
+        if (maxConnectionIdleTime != that.maxConnectionIdleTime) return false;
+        if (maxConnectionLifeTime != that.maxConnectionLifeTime) return false;
         if (maxWaitTime != that.maxWaitTime) return false;
+        if (minConnectionsPerHost != that.minConnectionsPerHost) return false;
+        if (pipelineDepth != that.pipelineDepth) return false;
         if (socketKeepAlive != that.socketKeepAlive) return false;
         if (socketTimeout != that.socketTimeout) return false;
         if (threadsAllowedToBlockForConnectionMultiplier != that.threadsAllowedToBlockForConnectionMultiplier)
@@ -558,6 +696,10 @@ public class MongoClientOptions {
         result = 31 * result + socketFactory.hashCode();
         result = 31 * result + (cursorFinalizerEnabled ? 1 : 0);
         result = 31 * result + (alwaysUseMBeans ? 1 : 0);
+        result = 31 * result + pipelineDepth;
+        result = 31 * result + minConnectionsPerHost;
+        result = 31 * result + maxConnectionIdleTime;
+        result = 31 * result + maxConnectionLifeTime;
         return result;
     }
 
@@ -578,6 +720,10 @@ public class MongoClientOptions {
         socketFactory = builder.socketFactory;
         cursorFinalizerEnabled = builder.cursorFinalizerEnabled;
         alwaysUseMBeans = builder.alwaysUseMBeans;
+        pipelineDepth = builder.pipelineDepth;
+        minConnectionsPerHost = builder.minConnectionsPerHost;
+        maxConnectionIdleTime = builder.maxConnectionIdleTime;
+        maxConnectionLifeTime = builder.maxConnectionLifeTime;
     }
 
 
@@ -597,4 +743,8 @@ public class MongoClientOptions {
     private final SocketFactory socketFactory;
     private final boolean cursorFinalizerEnabled;
     private final boolean alwaysUseMBeans;
+    private final int pipelineDepth;
+    private final int minConnectionsPerHost;
+    private final int maxConnectionIdleTime;
+    private final int maxConnectionLifeTime;
 }
@@ -70,6 +70,11 @@ import java.util.logging.Logger;
  * <p>Connection pool configuration:</p>
  * <ul>
  * <li>{@code maxPoolSize=n}: The maximum number of connections in the connection pool.</li>
+ * <li>{@code minPoolSize=n}: The minimum number of connections in the connection pool.</li>
+ * <li>{@code maxIdleTimeMS=ms}: The maximum time in milliseconds that a pooled connection can be idle before it is
+ * closed.</li>
+ * <li>{@code maxLifeTimeMS=ms}: The maximum time in milliseconds that a pooled connection can be open before it is
+ * closed.</li>
  * <li>{@code waitQueueMultiple=n} : this multiplier, multiplied with the maxPoolSize setting, gives the maximum number of
  * threads that may be waiting for a connection to become available from the pool.  All further threads will get an
  * exception right away.</li>
@@ -259,7 +264,10 @@ public class MongoClientURI {
     static Set<String> allKeys = new HashSet<String>();
 
     static {
+        generalOptionsKeys.add("minpoolsize");
         generalOptionsKeys.add("maxpoolsize");
+        generalOptionsKeys.add("maxidletimems");
+        generalOptionsKeys.add("maxlifetimems");
         generalOptionsKeys.add("waitqueuemultiple");
         generalOptionsKeys.add("waitqueuetimeoutms");
         generalOptionsKeys.add("connecttimeoutms");
@@ -304,6 +312,12 @@ public class MongoClientURI {
 
             if (key.equals("maxpoolsize")) {
                 builder.connectionsPerHost(Integer.parseInt(value));
+            } else if (key.equals("minpoolsize")) {
+                builder.minConnectionsPerHost(Integer.parseInt(value));
+            } else if (key.equals("maxidletimems")) {
+                builder.maxConnectionIdleTime(Integer.parseInt(value));
+            } else if (key.equals("maxlifetimems")) {
+                builder.maxConnectionLifeTime(Integer.parseInt(value));
             } else if (key.equals("waitqueuemultiple")) {
                 builder.threadsAllowedToBlockForConnectionMultiplier(Integer.parseInt(value));
             } else if (key.equals("waitqueuetimeoutms")) {
@@ -59,6 +59,10 @@ public class MongoOptions {
         writeConcern = options.getWriteConcern();
         slaveOk = false; // default to false, as readPreference field will be responsible
         alwaysUseMBeans = options.isAlwaysUseMBeans();
+        pipelineDepth = options.getPipelineDepth();
+        minConnectionsPerHost = options.getMinConnectionsPerHost();
+        maxConnectionIdleTime = options.getMaxConnectionIdleTime();
+        maxConnectionLifeTime = options.getMaxConnectionLifeTime();
     }
 
     public void reset(){
@@ -84,6 +88,10 @@ public class MongoOptions {
         description = null;
         cursorFinalizerEnabled = true;
         alwaysUseMBeans = false;
+        pipelineDepth = 1;
+        minConnectionsPerHost = 0;
+        maxConnectionIdleTime = 0;
+        maxConnectionLifeTime = 0;
     }
 
     public MongoOptions copy() {
@@ -110,6 +118,10 @@ public class MongoOptions {
         m.description = description;
         m.cursorFinalizerEnabled = cursorFinalizerEnabled;
         m.alwaysUseMBeans = alwaysUseMBeans;
+        m.pipelineDepth = pipelineDepth;
+        m.minConnectionsPerHost = minConnectionsPerHost;
+        m.maxConnectionIdleTime = maxConnectionIdleTime;
+        m.maxConnectionLifeTime = maxConnectionLifeTime;
         return m;
     }
 
@@ -142,7 +154,11 @@ public class MongoOptions {
         if (fsync != options.fsync) return false;
         if (j != options.j) return false;
         if (maxAutoConnectRetryTime != options.maxAutoConnectRetryTime) return false;
+        if (maxConnectionIdleTime != options.maxConnectionIdleTime) return false;
+        if (maxConnectionLifeTime != options.maxConnectionLifeTime) return false;
         if (maxWaitTime != options.maxWaitTime) return false;
+        if (minConnectionsPerHost != options.minConnectionsPerHost) return false;
+        if (pipelineDepth != options.pipelineDepth) return false;
         if (safe != options.safe) return false;
         if (slaveOk != options.slaveOk) return false;
         if (socketKeepAlive != options.socketKeepAlive) return false;
@@ -189,6 +205,10 @@ public class MongoOptions {
         result = 31 * result + (socketFactory != null ? socketFactory.hashCode() : 0);
         result = 31 * result + (cursorFinalizerEnabled ? 1 : 0);
         result = 31 * result + (writeConcern != null ? writeConcern.hashCode() : 0);
+        result = 31 * result + pipelineDepth;
+        result = 31 * result + minConnectionsPerHost;
+        result = 31 * result + maxConnectionIdleTime;
+        result = 31 * result + maxConnectionLifeTime;
         return result;
     }
 
@@ -359,6 +379,43 @@ public class MongoOptions {
      */
     public boolean alwaysUseMBeans;
 
+    /**
+     * The maximum number of requests that may be in flight at once on a single connection.  When greater than 1,
+     * requests from different threads are written back-to-back on a shared connection and their replies are matched
+     * to the requests by id.
+     * <p>
+     *     Default is 1, which means that each connection is used exclusively by one operation at a time.
+     * </p>
+     */
+    public int pipelineDepth;
+
+    /**
+     * The minimum number of connections per server.  A background task opens and authenticates connections ahead of
+     * demand until the pool for each server holds at least this many.  It is capped at {@code connectionsPerHost}.
+     * <p>
+     *     Default is 0.
+     * </p>
+     */
+    public int minConnectionsPerHost;
+
+    /**
+     * The maximum idle time of a pooled connection, in milliseconds.  Connections that have not been used for longer
+     * than this are closed by a background task, down to {@code minConnectionsPerHost} connections.
+     * <p>
+     *     Default is 0, which means there is no limit.
+     * </p>
+     */
+    public int maxConnectionIdleTime;
+
+    /**
+     * The maximum life time of a pooled connection, in milliseconds.  Connections that have been open for longer than
+     * this are closed rather than reused.
+     * <p>
+     *     Default is 0, which means there is no limit.
+     * </p>
+     */
+    public int maxConnectionLifeTime;
+
     /**
      * @return The description for <code>MongoClient</code> instances created with these options
      */
@@ -690,6 +747,74 @@ public class MongoOptions {
         this.alwaysUseMBeans = alwaysUseMBeans;
     }
 
+    /**
+     *
+     * @return the maximum number of pipelined requests per connection
+     */
+    public int getPipelineDepth() {
+        return pipelineDepth;
+    }
+
+    /**
+     *
+     * @param pipelineDepth the maximum number of pipelined requests per connection
+     */
+    public void setPipelineDepth(final int pipelineDepth) {
+        this.pipelineDepth = pipelineDepth;
+    }
+
+    /**
+     *
+     * @return the minimum number of connections per server
+     */
+    public int getMinConnectionsPerHost() {
+        return minConnectionsPerHost;
+    }
+
+    /**
+     *
+     * @param minConnectionsPerHost the minimum number of connections per server
+     */
+    public void setMinConnectionsPerHost(final int minConnectionsPerHost) {
+        this.minConnectionsPerHost = minConnectionsPerHost;
+    }
+
+    /**
+     *
+     * @return the maximum idle time of a pooled connection, in milliseconds
+     */
+    public int getMaxConnectionIdleTime() {
+        return maxConnectionIdleTime;
+    }
+
+    /**
+     *
+     * @param maxConnectionIdleTime the maximum idle time of a pooled connection, in milliseconds
+     */
+    public void setMaxConnectionIdleTime(final int maxConnectionIdleTime) {
+        this.maxConnectionIdleTime = maxConnectionIdleTime;
+    }
+
+    /**
+     *
+     * @return the maximum life time of a pooled connection, in milliseconds
+     */
+    public int getMaxConnectionLifeTime() {
+        return maxConnectionLifeTime;
+    }
+
+    /**
+     *
+     * @param maxConnectionLifeTime the maximum life time of a pooled connection, in milliseconds
+     */
+    public void setMaxConnectionLifeTime(final int maxConnectionLifeTime) {
+        this.maxConnectionLifeTime = maxConnectionLifeTime;
+    }
+
+    boolean isPipelined() {
+        return pipelineDepth > 1;
+    }
+
     @Override
     public String toString() {
         return "MongoOptions{" +
@@ -715,6 +840,10 @@ public class MongoOptions {
                 ", cursorFinalizerEnabled=" + cursorFinalizerEnabled +
                 ", writeConcern=" + writeConcern +
                 ", alwaysUseMBeans=" + alwaysUseMBeans +
+                ", pipelineDepth=" + pipelineDepth +
+                ", minConnectionsPerHost=" + minConnectionsPerHost +
+                ", maxConnectionIdleTime=" + maxConnectionIdleTime +
+                ", maxConnectionLifeTime=" + maxConnectionLifeTime +
                 '}';
     }
 }
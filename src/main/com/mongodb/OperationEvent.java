@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An operation sent to a server, as handed to an {@link OperationListener}.
+ *
+ * @since 2.12.0
+ */
+public final class OperationEvent {
+
+    private final String namespace;
+    private final String operationType;
+    private final ServerAddress serverAddress;
+    private final int requestId;
+    private final int bytesSent;
+    private final int bytesReceived;
+    private final long durationNanos;
+    private final long startNanos;
+
+    OperationEvent(final String namespace, final String operationType, final ServerAddress serverAddress,
+                   final int requestId, final int bytesSent) {
+        this(namespace, operationType, serverAddress, requestId, bytesSent, 0, 0, System.nanoTime());
+    }
+
+    OperationEvent(final String namespace, final String operationType, final ServerAddress serverAddress,
+                   final int requestId, final int bytesSent, final int bytesReceived,
+                   final long durationNanos, final long startNanos) {
+        this.namespace = namespace;
+        this.operationType = operationType;
+        this.serverAddress = serverAddress;
+        this.requestId = requestId;
+        this.bytesSent = bytesSent;
+        this.bytesReceived = bytesReceived;
+        this.durationNanos = durationNanos;
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Gets the same event as finished now, having received the given number of bytes.
+     */
+    OperationEvent finished(final int received) {
+        return new OperationEvent(namespace, operationType, serverAddress, requestId, bytesSent, received,
+                                  System.nanoTime() - startNanos, startNanos);
+    }
+
+    /**
+     * Gets the full name of the collection the operation is on, such as {@code "test.people"}.  Commands are on the
+     * {@code $cmd} collection of their database.
+     *
+     * @return the namespace
+     */
+    public String getNamespace() {
+        return namespace;
+    }
+
+    /**
+     * Gets the type of the operation, which is the name of its wire protocol opcode, such as {@code "OP_QUERY"} or
+     * {@code "OP_INSERT"}.
+     *
+     * @return the operation type
+     */
+    public String getOperationType() {
+        return operationType;
+    }
+
+    /**
+     * @return the server the operation was sent to
+     */
+    public ServerAddress getServerAddress() {
+        return serverAddress;
+    }
+
+    /**
+     * @return the request id of the message sent, which the server's reply refers to
+     */
+    public int getRequestId() {
+        return requestId;
+    }
+
+    /**
+     * @return the size of the message sent, in bytes
+     */
+    public int getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * Gets the size of the reply.  This is 0 for writes, including acknowledged ones, whose getLastError reply is not
+     * counted.
+     *
+     * @return the size of the reply, in bytes
+     */
+    public int getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * Gets the time from sending the operation to it succeeding or failing.  This is 0 for a started event.
+     *
+     * @param timeUnit the unit to return the duration in
+     * @return the duration
+     */
+    public long getDuration(final TimeUnit timeUnit) {
+        return timeUnit.convert(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "OperationEvent{"
+               + "namespace='" + namespace + '\''
+               + ", operationType='" + operationType + '\''
+               + ", serverAddress=" + serverAddress
+               + ", requestId=" + requestId
+               + ", bytesSent=" + bytesSent
+               + ", bytesReceived=" + bytesReceived
+               + ", durationNanos=" + durationNanos
+               + '}';
+    }
+}
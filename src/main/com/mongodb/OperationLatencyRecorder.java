@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+import com.mongodb.util.management.JMException;
+import com.mongodb.util.management.MBeanServerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * An {@link OperationListener} that keeps a histogram of the latencies of the operations that succeed, for all of
+ * them and for each type of operation, and counts the ones that fail.  Like HdrHistogram, the histograms split each
+ * power of two into 16 linear sub-buckets, so percentiles are at most 1/16 above the real latencies.  Recording takes
+ * no lock.  It can be exported over JMX with {@link #register(String)}:
+ * <pre>
+ * OperationLatencyRecorder recorder = new OperationLatencyRecorder();
+ * mongo.addOperationListener(recorder);
+ * recorder.register("orders");
+ * </pre>
+ *
+ * @since 2.12.0
+ */
+public class OperationLatencyRecorder implements OperationListener, OperationLatencyRecorderMBean {
+
+    // 16 sub-buckets per power of two keep percentiles within 1/16 of the real latencies
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private final Stats all = new Stats();
+    private final ConcurrentMap<String, Stats> byType = new ConcurrentHashMap<String, Stats>();
+    private volatile String objectName;
+
+    public void operationStarted(final OperationEvent event) {
+    }
+
+    public void operationSucceeded(final OperationEvent event) {
+        long micros = event.getDuration(TimeUnit.MICROSECONDS);
+        all.latencies.record(micros, TimeUnit.MICROSECONDS);
+        get(event.getOperationType()).latencies.record(micros, TimeUnit.MICROSECONDS);
+    }
+
+    public void operationFailed(final OperationEvent event, final Throwable cause) {
+        all.failures.incrementAndGet();
+        get(event.getOperationType()).failures.incrementAndGet();
+    }
+
+    public String[] getOperationTypes() {
+        Set<String> types = byType.keySet();
+        return types.toArray(new String[types.size()]);
+    }
+
+    public long getCount() {
+        return all.latencies.getCount();
+    }
+
+    public long getFailureCount() {
+        return all.failures.get();
+    }
+
+    public long getMedianLatency() {
+        return all.latencies.getPercentile(0.5);
+    }
+
+    public long getLatency95thPercentile() {
+        return all.latencies.getPercentile(0.95);
+    }
+
+    public long getLatency99thPercentile() {
+        return all.latencies.getPercentile(0.99);
+    }
+
+    public long getCount(final String operationType) {
+        Stats stats = byType.get(operationType);
+        return stats == null ? 0 : stats.latencies.getCount();
+    }
+
+    public long getFailureCount(final String operationType) {
+        Stats stats = byType.get(operationType);
+        return stats == null ? 0 : stats.failures.get();
+    }
+
+    public long getLatencyPercentile(final String operationType, final double percentile) {
+        Stats stats = byType.get(operationType);
+        return stats == null ? -1 : stats.latencies.getPercentile(percentile);
+    }
+
+    /**
+     * Registers this recorder with the platform MBean server under the name
+     * {@code com.mongodb:type=OperationLatency,name=<name>}, replacing any recorder already registered under it.
+     * Registration errors are logged and otherwise ignored, as for the connection pool MBeans.
+     *
+     * @param name the name to register under
+     */
+    public synchronized void register(final String name) {
+        unregister();
+        String on = "com.mongodb:type=OperationLatency,name=" + name;
+        try {
+            if (MBeanServerFactory.getMBeanServer().isRegistered(on)) {
+                MBeanServerFactory.getMBeanServer().unregisterMBean(on);
+            }
+            MBeanServerFactory.getMBeanServer().registerMBean(this, on);
+            objectName = on;
+        } catch (JMException e) {
+            Bytes.LOGGER.log(Level.WARNING, "JMX registration error: " + e + "\nContinuing...");
+        } catch (java.security.AccessControlException e) {
+            Bytes.LOGGER.log(Level.WARNING, "JMX registration error: " + e + "\nContinuing...");
+        }
+    }
+
+    /**
+     * Unregisters this recorder from the MBean server, if it was registered.
+     */
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            if (MBeanServerFactory.getMBeanServer().isRegistered(objectName)) {
+                MBeanServerFactory.getMBeanServer().unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            Bytes.LOGGER.log(Level.WARNING, "jmx de-registration error, continuing", e);
+        }
+        objectName = null;
+    }
+
+    private Stats get(final String operationType) {
+        Stats stats = byType.get(operationType);
+        if (stats == null) {
+            Stats newStats = new Stats();
+            stats = byType.putIfAbsent(operationType, newStats);
+            if (stats == null) {
+                stats = newStats;
+            }
+        }
+        return stats;
+    }
+
+    private static class Stats {
+        private final LatencyHistogram latencies = new LatencyHistogram(0, SUB_BUCKET_BITS);
+        private final AtomicLong failures = new AtomicLong();
+    }
+}
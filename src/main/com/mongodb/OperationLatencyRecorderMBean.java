@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+/**
+ * The management interface of an {@link OperationLatencyRecorder}.  Latencies are in microseconds, and are the upper
+ * limit of the histogram bucket the percentile falls into, which is at most 1/16 above the real latency.
+ *
+ * @since 2.12.0
+ */
+public interface OperationLatencyRecorderMBean {
+
+    /**
+     * @return the types of the operations recorded so far, such as {@code "OP_QUERY"}
+     */
+    String[] getOperationTypes();
+
+    /**
+     * @return the number of operations that succeeded
+     */
+    long getCount();
+
+    /**
+     * @return the number of operations that failed
+     */
+    long getFailureCount();
+
+    /**
+     * @return the median latency of the operations that succeeded, or -1 if there were none
+     */
+    long getMedianLatency();
+
+    /**
+     * @return the 95th percentile latency of the operations that succeeded, or -1 if there were none
+     */
+    long getLatency95thPercentile();
+
+    /**
+     * @return the 99th percentile latency of the operations that succeeded, or -1 if there were none
+     */
+    long getLatency99thPercentile();
+
+    /**
+     * @param operationType the operation type
+     * @return the number of operations of the given type that succeeded
+     */
+    long getCount(String operationType);
+
+    /**
+     * @param operationType the operation type
+     * @return the number of operations of the given type that failed
+     */
+    long getFailureCount(String operationType);
+
+    /**
+     * @param operationType the operation type
+     * @param percentile the percentile, between 0 and 1
+     * @return the latency of the operations of the given type that succeeded, or -1 if there were none
+     */
+    long getLatencyPercentile(String operationType, double percentile);
+}
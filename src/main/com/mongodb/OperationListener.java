@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+/**
+ * Is told about each operation the driver sends to a server: when it is sent, and when it succeeds or fails.  Add
+ * one with {@link Mongo#addOperationListener(OperationListener)}.
+ * <p>
+ * The methods are called on the thread running the operation, or for asynchronous queries on the thread that read
+ * the reply, so they must be thread safe and should return quickly.  Exceptions thrown by a listener are logged and
+ * otherwise ignored.
+ *
+ * @see OperationLatencyRecorder
+ * @since 2.12.0
+ */
+public interface OperationListener {
+
+    /**
+     * Called just before an operation is sent.  The event has no bytes received and no duration yet.
+     *
+     * @param event the operation
+     */
+    void operationStarted(OperationEvent event);
+
+    /**
+     * Called when an operation has succeeded, which for a write that is not acknowledged is as soon as it is sent.
+     *
+     * @param event the operation, with its duration
+     */
+    void operationSucceeded(OperationEvent event);
+
+    /**
+     * Called when an operation has failed, either because of a network error or because the server reported an
+     * error.
+     *
+     * @param event the operation, with its duration
+     * @param cause the reason it failed
+     */
+    void operationFailed(OperationEvent event, Throwable cause);
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+
+/**
+ * The operation listeners of a connector.  When there are none, nothing is allocated or timed on their behalf.
+ */
+class OperationListeners {
+
+    void add(final OperationListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener can not be null");
+        }
+        _listeners.add(listener);
+    }
+
+    void remove(final OperationListener listener) {
+        _listeners.remove(listener);
+    }
+
+    /**
+     * Tells the listeners that the message is about to be sent.
+     *
+     * @return the event to hand to {@link #succeeded} or {@link #failed}, or null if there are no listeners
+     */
+    OperationEvent started(final OutMessage m, final ServerAddress address) {
+        if (_listeners.isEmpty()) {
+            return null;
+        }
+        OperationEvent event = new OperationEvent(m.getNamespace(), m.getOpCode().name(), address, m.getId(), m.size());
+        for (OperationListener listener : _listeners) {
+            try {
+                listener.operationStarted(event);
+            } catch (RuntimeException e) {
+                Bytes.LOGGER.log(Level.WARNING, "Operation listener failed", e);
+            }
+        }
+        return event;
+    }
+
+    void succeeded(final OperationEvent started, final int bytesReceived) {
+        if (started == null) {
+            return;
+        }
+        OperationEvent event = started.finished(bytesReceived);
+        for (OperationListener listener : _listeners) {
+            try {
+                listener.operationSucceeded(event);
+            } catch (RuntimeException e) {
+                Bytes.LOGGER.log(Level.WARNING, "Operation listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Tells the listeners that a write succeeded or failed, depending on its getLastError result.
+     */
+    void finished(final OperationEvent started, final CommandResult lastError) {
+        if (started == null) {
+            return;
+        }
+        MongoException e = lastError.getException();
+        if (e == null) {
+            succeeded(started, 0);
+        } else {
+            failed(started, e);
+        }
+    }
+
+    void failed(final OperationEvent started, final Throwable cause) {
+        if (started == null) {
+            return;
+        }
+        OperationEvent event = started.finished(0);
+        for (OperationListener listener : _listeners) {
+            try {
+                listener.operationFailed(event, cause);
+            } catch (RuntimeException e) {
+                Bytes.LOGGER.log(Level.WARNING, "Operation listener failed", e);
+            }
+        }
+    }
+
+    private final List<OperationListener> _listeners = new CopyOnWriteArrayList<OperationListener>();
+}
@@ -23,7 +23,9 @@ import org.bson.types.ObjectId;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 class OutMessage extends BasicBSONEncoder {
@@ -65,8 +67,13 @@ class OutMessage extends BasicBSONEncoder {
     }
 
     public static OutMessage remove(final DBCollection collection, final DBEncoder encoder, final DBObject query) {
+        return remove(collection, encoder, query, false);
+    }
+
+    static OutMessage remove(final DBCollection collection, final DBEncoder encoder, final DBObject query,
+                             final boolean justOne) {
         OutMessage om = new OutMessage(collection, OpCode.OP_DELETE, encoder, query);
-        om.writeRemove();
+        om.writeRemove(justOne);
 
         return om;
     }
@@ -175,13 +182,13 @@ class OutMessage extends BasicBSONEncoder {
         putObject(o);
     }
 
-    private void writeRemove() {
+    private void writeRemove(final boolean justOne) {
         writeInt(0); // reserved
         writeCString(_collection.getFullName());
 
         Collection<String> keys = _query.keySet();
 
-        if ( keys.size() == 1 && keys.iterator().next().equals( "_id" ) && _query.get( keys.iterator().next() ) instanceof ObjectId)
+        if ( justOne || keys.size() == 1 && keys.iterator().next().equals( "_id" ) && _query.get( keys.iterator().next() ) instanceof ObjectId)
             writeInt( 1 );
         else
             writeInt( 0 );
@@ -236,6 +243,18 @@ class OutMessage extends BasicBSONEncoder {
         _buffer.pipe( out );
     }
 
+    /**
+     * Adds this message to {@code segments} without copying it.
+     * @see PoolOutputBuffer#segments(List)
+     */
+    int segments( List<ByteBuffer> segments ) {
+        if (_buffer == null) {
+            throw new IllegalStateException("Already closed");
+        }
+
+        return _buffer.segments( segments );
+    }
+
     int size() {
         if (_buffer == null) {
             throw new IllegalStateException("Already closed");
@@ -281,12 +300,23 @@ class OutMessage extends BasicBSONEncoder {
 
     @Override
     public int putObject(BSONObject o) {
+        return putObject(o, false);
+    }
+
+    /**
+     * Encodes a document into the message.
+     *
+     * @param o the document
+     * @param checkKeys whether to check the field names while encoding, which requires a {@code DefaultDBEncoder}
+     * @return the size of the encoded document
+     */
+    int putObject(BSONObject o, boolean checkKeys) {
         if (_buffer == null) {
             throw new IllegalStateException("Already closed");
         }
 
         // check max size
-        int objectSize = _encoder.writeObject(_buf, o);
+        int objectSize = checkKeys ? ((DefaultDBEncoder) _encoder).writeStoredObject(_buf, o) : _encoder.writeObject(_buf, o);
         if (objectSize > Math.max(_mongo.getConnector().getMaxBsonObjectSize(), Bytes.MAX_OBJECT_SIZE)) {
             throw new MongoInternalException("DBObject of size " + objectSize + " is over Max BSON size " + _mongo.getMaxBsonObjectSize());
         }
@@ -294,6 +324,37 @@ class OutMessage extends BasicBSONEncoder {
         return objectSize;
     }
 
+    /**
+     * Takes the document that was encoded last back out of the message, so that it can go into another message without
+     * being encoded again.
+     *
+     * @param start the size of the message before the document was encoded
+     * @return the encoded document
+     */
+    byte[] removeLastObject(int start) {
+        if (_buffer == null) {
+            throw new IllegalStateException("Already closed");
+        }
+
+        byte[] encoded = _buffer.truncate(start);
+        _numDocuments--;
+        return encoded;
+    }
+
+    /**
+     * Adds an already encoded document to the message.
+     *
+     * @param encoded the encoded document, as returned by {@link #removeLastObject(int)}
+     */
+    void putEncodedObject(byte[] encoded) {
+        if (_buffer == null) {
+            throw new IllegalStateException("Already closed");
+        }
+
+        _buffer.write(encoded);
+        _numDocuments++;
+    }
+
     private final Mongo _mongo;
     private final DBCollection _collection;
     private PoolOutputBuffer _buffer;
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+import org.bson.BSONCallback;
+import org.bson.BSONException;
+import org.bson.io.Bits;
+import org.bson.io.FieldNameCache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.bson.BSON.*;
+
+/**
+ * A decoder that copies the wanted elements of each document into a smaller document, stepping over the others by
+ * their length, and decodes that.
+ *
+ * @see PartialDBDecoderFactory
+ */
+class PartialDBDecoder extends DefaultDBDecoder {
+
+    private final Node root;
+    private byte[] in = new byte[1024];
+    private byte[] out = new byte[1024];
+    private int outPos;
+
+    PartialDBDecoder(final Node root) {
+        this.root = root;
+    }
+
+    @Override
+    public int decode(final byte[] b, final BSONCallback callback) {
+        int length = Bits.readInt(b, 0);
+        if (out.length < length) {
+            out = new byte[length];
+        }
+        outPos = 0;
+        filterDocument(b, 0, root, false);
+        super.decode(out, callback);
+        return length;
+    }
+
+    @Override
+    public int decode(final InputStream stream, final BSONCallback callback) throws IOException {
+        int length = Bits.readInt(stream);
+        if (in.length < length) {
+            in = new byte[length];
+        }
+        writeInt(in, 0, length);
+        Bits.readFully(stream, in, 4, length - 4);
+        return decode(in, callback);
+    }
+
+    @Override
+    public String toString() {
+        return "PartialDBDecoder";
+    }
+
+    // copies the elements of the document at start that node selects, and ends the copy with its size fixed up
+    private void filterDocument(final byte[] b, final int start, final Node node, final boolean array) {
+        int sizePos = outPos;
+        outPos += 4;
+
+        int index = 0;
+        int pos = start + 4;
+        while (b[pos] != EOO) {
+            byte type = b[pos];
+            int nameStart = pos + 1;
+            int nameEnd = nameStart;
+            while (b[nameEnd] != 0) {
+                nameEnd++;
+            }
+            int end = nameEnd + 1 + valueSize(b, type, nameEnd + 1);
+
+            // in an array the paths apply to each element, and anything that isn't a document is left out
+            Node child = array ? node : node.get(FieldNameCache.shared().get(b, nameStart, nameEnd - nameStart));
+            if (child != null) {
+                if (child.whole) {
+                    System.arraycopy(b, pos, out, outPos, end - pos);
+                    outPos += end - pos;
+                } else if (type == OBJECT || type == ARRAY) {
+                    out[outPos++] = type;
+                    if (array) {
+                        writeIndex(index++);
+                    } else {
+                        System.arraycopy(b, nameStart, out, outPos, nameEnd + 1 - nameStart);
+                        outPos += nameEnd + 1 - nameStart;
+                    }
+                    filterDocument(b, nameEnd + 1, child, type == ARRAY);
+                }
+            }
+            pos = end;
+        }
+
+        out[outPos++] = EOO;
+        writeInt(out, sizePos, outPos - sizePos);
+    }
+
+    // array elements are renumbered so that the ones left out don't leave gaps
+    private void writeIndex(final int index) {
+        String name = Integer.toString(index);
+        for (int i = 0; i < name.length(); i++) {
+            out[outPos++] = (byte) name.charAt(i);
+        }
+        out[outPos++] = 0;
+    }
+
+    private static void writeInt(final byte[] b, final int offset, final int x) {
+        b[offset] = (byte) x;
+        b[offset + 1] = (byte) (x >> 8);
+        b[offset + 2] = (byte) (x >> 16);
+        b[offset + 3] = (byte) (x >> 24);
+    }
+
+    private static int valueSize(final byte[] b, final byte type, final int offset) {
+        switch (type) {
+            case NULL:
+            case UNDEFINED:
+            case MINKEY:
+            case MAXKEY:
+                return 0;
+            case BOOLEAN:
+                return 1;
+            case NUMBER_INT:
+                return 4;
+            case NUMBER:
+            case NUMBER_LONG:
+            case DATE:
+            case TIMESTAMP:
+                return 8;
+            case OID:
+                return 12;
+            case STRING:
+            case CODE:
+            case SYMBOL:
+                return 4 + Bits.readInt(b, offset);
+            case OBJECT:
+            case ARRAY:
+            case CODE_W_SCOPE:
+                return Bits.readInt(b, offset);
+            case BINARY:
+                return 5 + Bits.readInt(b, offset);
+            case REF:
+                return 4 + Bits.readInt(b, offset) + 12;
+            case REGEX:
+                int end = offset;
+                while (b[end] != 0) {
+                    end++;
+                }
+                end++;
+                while (b[end] != 0) {
+                    end++;
+                }
+                return end + 1 - offset;
+            default:
+                throw new BSONException("BSONDecoder doesn't understand type : " + type);
+        }
+    }
+
+    /**
+     * A node in the tree of wanted fields: either the whole of a field is wanted, or only some of its own fields.
+     */
+    static class Node {
+        private final Map<String, Node> children = new HashMap<String, Node>();
+        private boolean whole;
+
+        void add(final String path) {
+            Node node = this;
+            for (String name : path.split("\\.")) {
+                if (node.whole) {
+                    return;
+                }
+                Node child = node.children.get(name);
+                if (child == null) {
+                    child = new Node();
+                    node.children.put(name, child);
+                }
+                node = child;
+            }
+            node.whole = true;
+            node.children.clear();
+        }
+
+        Node get(final String name) {
+            return children.get(name);
+        }
+    }
+}
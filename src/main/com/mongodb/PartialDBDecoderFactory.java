@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Creates decoders that only decode the given fields of each document and skip over the rest without creating any
+ * objects for them, for when an application reads a few fields of large documents but the query can't ask the server
+ * for just those.  Use it for one query with {@link DBCursor#setDecoderFactory(DBDecoderFactory)}.
+ *
+ * <p>Fields are given as dotted paths, as in a projection: {@code "address.city"} decodes the {@code city} field of
+ * the {@code address} subdocument, and of each subdocument in it if it is an array.  As with a projection, {@code _id}
+ * is always decoded.  Documents decoded this way are missing fields, so they should not be saved back.</p>
+ *
+ * <pre>
+ * DBCursor cursor = collection.find(query)
+ *                             .setDecoderFactory(new PartialDBDecoderFactory("name", "address.city"));
+ * </pre>
+ *
+ * @since 2.12.0
+ */
+public class PartialDBDecoderFactory implements DBDecoderFactory {
+
+    private final Set<String> fields;
+    private final PartialDBDecoder.Node root;
+
+    /**
+     * @param fields the dotted paths of the fields to decode
+     */
+    public PartialDBDecoderFactory(final String... fields) {
+        this(Arrays.asList(fields));
+    }
+
+    /**
+     * @param fields the dotted paths of the fields to decode
+     */
+    public PartialDBDecoderFactory(final Collection<String> fields) {
+        this.fields = Collections.unmodifiableSet(new LinkedHashSet<String>(fields));
+        this.root = new PartialDBDecoder.Node();
+        root.add("_id");
+        for (String field : this.fields) {
+            if (field == null || field.length() == 0) {
+                throw new IllegalArgumentException("field names can not be null or empty");
+            }
+            root.add(field);
+        }
+    }
+
+    @Override
+    public DBDecoder create() {
+        return new PartialDBDecoder(root);
+    }
+
+    /**
+     * @return the dotted paths of the fields that are decoded
+     */
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    @Override
+    public String toString() {
+        return "PartialDBDecoderFactory{fields=" + fields + '}';
+    }
+}
@@ -16,6 +16,7 @@ package com.mongodb;
 import com.mongodb.ReplicaSetStatus.ReplicaSetNode;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -49,6 +50,14 @@ public abstract class ReadPreference {
 
     abstract ReplicaSetNode getNode(ReplicaSetStatus.ReplicaSet set);
 
+    /**
+     * Gets all the members among which {@link #getNode(ReplicaSetStatus.ReplicaSet)} chooses one at random.
+     */
+    List<ReplicaSetNode> getCandidates(ReplicaSetStatus.ReplicaSet set) {
+        ReplicaSetNode node = getNode(set);
+        return node == null ? Collections.<ReplicaSetNode>emptyList() : Collections.singletonList(node);
+    }
+
     /**
      * Preference to read from primary only.
      * Cannot be combined with tags.
@@ -84,6 +93,11 @@ public abstract class ReadPreference {
             return set.getMaster();
         }
 
+        @Override
+        List<ReplicaSetNode> getCandidates(ReplicaSetStatus.ReplicaSet set) {
+            return set.getMasterList();
+        }
+
         @Override
         public DBObject toDBObject() {
             return new BasicDBObject("mode", getName());
@@ -141,6 +155,11 @@ public abstract class ReadPreference {
             return _pref.getNode(set);
         }
 
+        @Override
+        List<ReplicaSetNode> getCandidates(ReplicaSetStatus.ReplicaSet set) {
+            return _pref.getCandidates(set);
+        }
+
         @Override
         public DBObject toDBObject() {
             return _pref.toDBObject();
@@ -283,6 +302,24 @@ public abstract class ReadPreference {
         return new TaggableReadPreference.NearestReadPreference(firstTagSet, remainingTagSets);
     }
 
+    /**
+     * Wraps a read preference so that, of all the members it would choose from at random, the least loaded one is
+     * chosen instead.  The load of a member is estimated from the number of operations this client has in flight to
+     * it and from the latencies of its recent operations, which keeps a busy or slow member from getting as many reads
+     * as the others.  The mode and tags sent to the server are those of the wrapped preference.
+     *
+     * @param readPreference the read preference choosing the acceptable members
+     * @return the least loaded read preference, or {@code readPreference} itself if it only ever chooses the primary
+     * @since 2.12.0
+     */
+    public static ReadPreference leastLoaded(ReadPreference readPreference) {
+        if (readPreference == null)
+            throw new IllegalArgumentException("readPreference can not be null");
+        if (readPreference == _PRIMARY || readPreference instanceof LeastLoadedReadPreference)
+            return readPreference;
+        return new LeastLoadedReadPreference(readPreference);
+    }
+
     /**
      * A primary read preference.  Equivalent to calling {@code ReadPreference.primary()}.
      *
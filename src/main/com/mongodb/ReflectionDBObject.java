@@ -26,6 +26,8 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.bson.BSONObject;
 
@@ -270,12 +272,14 @@ public abstract class ReflectionDBObject implements DBObject {
         JavaWrapper w = _wrappers.get( c );
         if ( w == null ){
             w = new JavaWrapper( c );
-            _wrappers.put( c , w );
+            JavaWrapper existing = _wrappers.putIfAbsent( c , w );
+            if ( existing != null )
+                w = existing;
         }
         return w;
     }
     
-    private static final Map<Class,JavaWrapper> _wrappers = Collections.synchronizedMap( new HashMap<Class,JavaWrapper>() );
+    private static final ConcurrentMap<Class,JavaWrapper> _wrappers = new ConcurrentHashMap<Class,JavaWrapper>();
     private static final Set<String> IGNORE_FIELDS = new HashSet<String>();
     static {
         IGNORE_FIELDS.add( "Int" );
@@ -31,6 +31,18 @@ import java.util.LinkedHashMap;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -172,22 +184,46 @@ public class ReplicaSetStatus extends ConnectionStatus {
     }
 
     // Immutable snapshot state of a replica set. Since the nodes don't change state, this class pre-computes the list
-    // of good secondaries so that choosing a random good secondary is dead simple
+    // of good secondaries so that choosing a random good secondary is dead simple.  The good members for a list of tags
+    // are computed the first time that list is asked for and then kept along with the snapshot, and the random choice
+    // uses a Random per thread, so that choosing a member neither allocates nor contends with other threads.
     @Immutable
     static class ReplicaSet {
+        // the number of distinct tag lists for which the good members are kept, which is plenty for any read preference
+        static final int MAX_CACHED_TAG_LISTS = 64;
+
+        private static final ThreadLocal<Random> RANDOM = new ThreadLocal<Random>() {
+            @Override
+            protected Random initialValue() {
+                return new Random();
+            }
+        };
+
+        // the percentile of the recent latencies of a member used to estimate how long it takes to answer
+        static final double LOAD_LATENCY_PERCENTILE = 0.9;
+
         final List<ReplicaSetNode> all;
-        final Random random;
         final List<ReplicaSetNode> acceptableSecondaries;
         final List<ReplicaSetNode> acceptableMembers;
         final ReplicaSetNode master;
+        final List<ReplicaSetNode> masterList;
+        final ServerLoad serverLoad;
         final String setName;
         final ReplicaSetErrorStatus errorStatus;
 
         private int acceptableLatencyMS;
+        private final ConcurrentMap<List<Tag>, List<ReplicaSetNode>> goodSecondariesByTags =
+                new ConcurrentHashMap<List<Tag>, List<ReplicaSetNode>>();
+        private final ConcurrentMap<List<Tag>, List<ReplicaSetNode>> goodMembersByTags =
+                new ConcurrentHashMap<List<Tag>, List<ReplicaSetNode>>();
         
-        public ReplicaSet(List<ReplicaSetNode> nodeList, Random random, int acceptableLatencyMS) {
+        public ReplicaSet(List<ReplicaSetNode> nodeList, int acceptableLatencyMS) {
+            this(nodeList, acceptableLatencyMS, new ServerLoad());
+        }
+
+        public ReplicaSet(List<ReplicaSetNode> nodeList, int acceptableLatencyMS, ServerLoad serverLoad) {
             
-            this.random = random;
+            this.serverLoad = serverLoad;
             this.all = Collections.unmodifiableList(new ArrayList<ReplicaSetNode>(nodeList));
             this.acceptableLatencyMS = acceptableLatencyMS;
 
@@ -200,6 +236,7 @@ public class ReplicaSetStatus extends ConnectionStatus {
             this.acceptableMembers =
                     Collections.unmodifiableList(calculateGoodMembers(all, calculateBestPingTime(all, true), acceptableLatencyMS, true));
             master = findMaster();
+            masterList = master == null ? Collections.<ReplicaSetNode>emptyList() : Collections.singletonList(master);
         }
 
         public List<ReplicaSetNode> getAll() {
@@ -218,6 +255,56 @@ public class ReplicaSetStatus extends ConnectionStatus {
             return master;
         }
 
+        List<ReplicaSetNode> getMasterList() {
+            checkStatus();
+
+            return masterList;
+        }
+
+        List<ReplicaSetNode> getGoodSecondaries() {
+            checkStatus();
+
+            return acceptableSecondaries;
+        }
+
+        List<ReplicaSetNode> getGoodMembers() {
+            checkStatus();
+
+            return acceptableMembers;
+        }
+
+        /**
+         * Chooses the least loaded of the given members, which is the one expected to answer first given the number of
+         * operations in flight to it and its recent latency.  The ping times are not used, as they were already used to
+         * find the acceptable members.  A member without recorded latencies is taken to be fast, so that it gets
+         * tried and measured, while failures count as slow operations.  Since latencies are rounded up to a power of two, members with similar latencies tie,
+         * and ties are broken at random.
+         */
+        ReplicaSetNode getLeastLoaded(List<ReplicaSetNode> nodes) {
+            if (nodes.size() <= 1)
+                return getRandom(nodes);
+
+            int size = nodes.size();
+            int start = RANDOM.get().nextInt(size);
+            ReplicaSetNode best = null;
+            double bestScore = Double.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                ReplicaSetNode cur = nodes.get((start + i) % size);
+                double score = getExpectedWaitMicros(cur);
+                if (score < bestScore) {
+                    best = cur;
+                    bestScore = score;
+                }
+            }
+            return best;
+        }
+
+        double getExpectedWaitMicros(ReplicaSetNode node) {
+            ServerLoad.Stats stats = serverLoad.get(node.getServerAddress());
+            long latency = stats.getLatencies().getPercentile(LOAD_LATENCY_PERCENTILE);
+            return (stats.getInFlight() + 1) * (double) Math.max(latency, 1);
+        }
+
         public int getMaxBsonObjectSize() {
             if (hasMaster()) {
                 return getMaster().getMaxBsonObjectSize();
@@ -229,10 +316,7 @@ public class ReplicaSetStatus extends ConnectionStatus {
         public ReplicaSetNode getASecondary() {
             checkStatus();
             
-            if (acceptableSecondaries.isEmpty()) {
-                return null;
-            }
-            return acceptableSecondaries.get(random.nextInt(acceptableSecondaries.size()));
+            return getRandom(acceptableSecondaries);
         }
 
         public ReplicaSetNode getASecondary(List<Tag> tags) {
@@ -243,21 +327,13 @@ public class ReplicaSetStatus extends ConnectionStatus {
                 return getASecondary();
             }
 
-            List<ReplicaSetNode> acceptableTaggedSecondaries = getGoodSecondariesByTags(tags);
-
-            if (acceptableTaggedSecondaries.isEmpty()) {
-                return null;
-            }
-            return acceptableTaggedSecondaries.get(random.nextInt(acceptableTaggedSecondaries.size()));
+            return getRandom(getGoodSecondariesByTags(tags));
         }
         
         public ReplicaSetNode getAMember() {
             checkStatus();
             
-            if (acceptableMembers.isEmpty()) {
-                return null;
-            }
-            return acceptableMembers.get(random.nextInt(acceptableMembers.size()));
+            return getRandom(acceptableMembers);
         }
 
         public ReplicaSetNode getAMember(List<Tag> tags) {
@@ -266,12 +342,15 @@ public class ReplicaSetStatus extends ConnectionStatus {
             if (tags.isEmpty())
                 return getAMember();
 
-            List<ReplicaSetNode> acceptableTaggedMembers = getGoodMembersByTags(tags);
+            return getRandom(getGoodMembersByTags(tags));
+        }
 
-            if (acceptableTaggedMembers.isEmpty())
+        static ReplicaSetNode getRandom(List<ReplicaSetNode> nodes) {
+            if (nodes.isEmpty())
                 return null;
-                
-            return acceptableTaggedMembers.get(random.nextInt(acceptableTaggedMembers.size()));
+            if (nodes.size() == 1)
+                return nodes.get(0);
+            return nodes.get(RANDOM.get().nextInt(nodes.size()));
         }
 
         List<ReplicaSetNode> getGoodSecondaries(List<ReplicaSetNode> all) {
@@ -288,17 +367,34 @@ public class ReplicaSetStatus extends ConnectionStatus {
         public List<ReplicaSetNode> getGoodSecondariesByTags(final List<Tag> tags) {
             checkStatus();
             
-            List<ReplicaSetNode> taggedSecondaries = getMembersByTags(all, tags);
-            return calculateGoodMembers(taggedSecondaries,
-                    calculateBestPingTime(taggedSecondaries, false), acceptableLatencyMS, false);
+            List<ReplicaSetNode> goodSecondaries = goodSecondariesByTags.get(tags);
+            if (goodSecondaries == null) {
+                List<ReplicaSetNode> taggedSecondaries = getMembersByTags(all, tags);
+                goodSecondaries = Collections.unmodifiableList(calculateGoodMembers(taggedSecondaries,
+                        calculateBestPingTime(taggedSecondaries, false), acceptableLatencyMS, false));
+                cacheByTags(goodSecondariesByTags, tags, goodSecondaries);
+            }
+            return goodSecondaries;
         }
         
         public List<ReplicaSetNode> getGoodMembersByTags(final List<Tag> tags) {
             checkStatus();
             
-            List<ReplicaSetNode> taggedMembers = getMembersByTags(all, tags);
-            return calculateGoodMembers(taggedMembers,
-                    calculateBestPingTime(taggedMembers, true), acceptableLatencyMS, true);
+            List<ReplicaSetNode> goodMembers = goodMembersByTags.get(tags);
+            if (goodMembers == null) {
+                List<ReplicaSetNode> taggedMembers = getMembersByTags(all, tags);
+                goodMembers = Collections.unmodifiableList(calculateGoodMembers(taggedMembers,
+                        calculateBestPingTime(taggedMembers, true), acceptableLatencyMS, true));
+                cacheByTags(goodMembersByTags, tags, goodMembers);
+            }
+            return goodMembers;
+        }
+
+        private static void cacheByTags(ConcurrentMap<List<Tag>, List<ReplicaSetNode>> cache, List<Tag> tags,
+                                        List<ReplicaSetNode> nodes) {
+            // the key is copied in case the caller changes its list afterwards
+            if (cache.size() < MAX_CACHED_TAG_LISTS)
+                cache.putIfAbsent(Collections.unmodifiableList(new ArrayList<Tag>(tags)), nodes);
         }
 
         public String getSetName() {
@@ -585,8 +681,30 @@ public class ReplicaSetStatus extends ConnectionStatus {
             _lastPrimarySignal = lastPrimarySignal;
         }
 
-        void update(Set<UpdatableReplicaSetNode> seenNodes) {
-            CommandResult res = update();
+        /**
+         * Starts checking this node on another thread, unless the previous check is still running.
+         *
+         * @return the future result of the check, or null if the previous one is still running
+         */
+        Future<CommandResult> startCheck(CompletionService<CommandResult> checks) {
+            if (_check != null && !_check.isDone())
+                return null;
+
+            _timedOut = false;
+            _checkStartNanos = System.nanoTime();
+            _check = checks.submit(new Callable<CommandResult>() {
+                public CommandResult call() {
+                    return update();
+                }
+            });
+            return _check;
+        }
+
+        /**
+         * Applies the result of checking this node, adding the hosts it reports to the set.  Must be called by the
+         * thread updating the set.
+         */
+        void apply(CommandResult res, Set<UpdatableReplicaSetNode> seenNodes) {
             if (res == null || !isOk()) {
                 return;
             }
@@ -683,13 +801,21 @@ public class ReplicaSetStatus extends ConnectionStatus {
         boolean _isSecondary = false;
         String _setName;
 
+        // only used by the updater thread: the check in progress, and whether it took too long to count
+        Future<CommandResult> _check;
+        long _checkStartNanos;
+        boolean _timedOut;
+
         private final AtomicReference<Logger> _logger;
         private final AtomicReference<String> _lastPrimarySignal;
         private final List<UpdatableReplicaSetNode> _all;
     }
 
     // Thread that monitors the state of the replica set.  This thread is responsible for setting a new ReplicaSet
-    // instance on ReplicaSetStatus.members every pass through the members of the set.
+    // instance on ReplicaSetStatus.members every pass through the members of the set.  The members are checked
+    // concurrently, each on a thread of its own, and a member that doesn't answer within updaterMemberTimeoutMS counts
+    // as down for that pass.  As soon as a member reports being primary, the set is published without waiting for the
+    // other members, and it is published again once the pass is over.
     class Updater extends BackgroundUpdater {
 
         Updater(List<ServerAddress> initial){
@@ -698,6 +824,13 @@ public class ReplicaSetStatus extends ConnectionStatus {
             for ( ServerAddress addr : initial ){
                 _all.add( new UpdatableReplicaSetNode( addr, _all,  _logger, _mongo, _mongoOptions, _lastPrimarySignal ) );
             }
+            _checkers = Executors.newCachedThreadPool(new ThreadFactory() {
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "ReplicaSetStatus:Checker-" + _checkerCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
         }
 
         @Override
@@ -709,13 +842,11 @@ public class ReplicaSetStatus extends ConnectionStatus {
                     try {
                         updateAll();
 
-                        ReplicaSet replicaSet = new ReplicaSet(createNodeList(), _random, slaveAcceptableLatencyMS);
-                        _replicaSetHolder.set(replicaSet);
-
-                        if (replicaSet.getErrorStatus().isOk() && replicaSet.hasMaster()) {
-                            _mongo.getConnector().setMaster(replicaSet.getMaster());
+                        if (publish()) {
                             curUpdateIntervalMS = updaterIntervalMS;
                         }
+                    } catch (InterruptedException e) {
+                        throw e;
                     } catch (Exception e) {
                         _logger.get().log(Level.WARNING, "couldn't do update pass", e);
                     }
@@ -727,15 +858,68 @@ public class ReplicaSetStatus extends ConnectionStatus {
                // Allow thread to exit
             }
 
+            _checkers.shutdownNow();
             _replicaSetHolder.close();
             closeAllNodes();
         }
 
-        public synchronized void updateAll(){
+        /**
+         * Publishes the current state of the members as the new replica set.
+         *
+         * @return whether the replica set has a primary
+         */
+        private boolean publish() {
+            ReplicaSet replicaSet = new ReplicaSet(createNodeList(), slaveAcceptableLatencyMS, _mongo.getConnector().getServerLoad());
+            _replicaSetHolder.set(replicaSet);
+
+            if (replicaSet.getErrorStatus().isOk() && replicaSet.hasMaster()) {
+                _mongo.getConnector().setMaster(replicaSet.getMaster());
+                return true;
+            }
+            return false;
+        }
+
+        public synchronized void updateAll() throws InterruptedException {
             HashSet<UpdatableReplicaSetNode> seenNodes = new HashSet<UpdatableReplicaSetNode>();
+            Set<UpdatableReplicaSetNode> started = new HashSet<UpdatableReplicaSetNode>();
+            Map<Future<CommandResult>, UpdatableReplicaSetNode> checking = new LinkedHashMap<Future<CommandResult>, UpdatableReplicaSetNode>();
+            CompletionService<CommandResult> checks = new ExecutorCompletionService<CommandResult>(_checkers);
+            long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(updaterMemberTimeoutMS);
+            boolean publishedMaster = false;
+
+            while (true) {
+                // check every member not checked yet, including the ones reported by the members checked so far
+                for (int i = 0; i < _all.size(); i++) {
+                    UpdatableReplicaSetNode node = _all.get(i);
+                    if (started.add(node)) {
+                        Future<CommandResult> check = node.startCheck(checks);
+                        if (check != null)
+                            checking.put(check, node);
+                        else
+                            node._timedOut = true;
+                    }
+                }
+                if (checking.isEmpty())
+                    break;
+
+                long deadline = Long.MAX_VALUE;
+                for (UpdatableReplicaSetNode node : checking.values())
+                    deadline = Math.min(deadline, node._checkStartNanos + timeoutNanos);
 
-            for (int i = 0; i < _all.size(); i++) {
-                _all.get(i).update(seenNodes);
+                Future<CommandResult> check = checks.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (check == null) {
+                    timeOutChecks(checking, timeoutNanos);
+                    continue;
+                }
+
+                UpdatableReplicaSetNode node = checking.remove(check);
+                if (node == null)
+                    continue;  // an earlier check of a member that timed out, whose result is too late to use
+
+                node.apply(getResult(check), seenNodes);
+
+                if (!publishedMaster && node._isMaster && node.isOk())
+                    publishedMaster = publish();
             }
 
             if (seenNodes.size() > 0) {
@@ -749,10 +933,34 @@ public class ReplicaSetStatus extends ConnectionStatus {
             }
         }
 
+        private void timeOutChecks(Map<Future<CommandResult>, UpdatableReplicaSetNode> checking, long timeoutNanos) {
+            long now = System.nanoTime();
+            Iterator<UpdatableReplicaSetNode> it = checking.values().iterator();
+            while (it.hasNext()) {
+                UpdatableReplicaSetNode node = it.next();
+                if (now - node._checkStartNanos >= timeoutNanos) {
+                    _logger.get().log(Level.WARNING, "Server " + node._addr + " didn't answer within " + updaterMemberTimeoutMS + "ms");
+                    node._timedOut = true;
+                    it.remove();
+                }
+            }
+        }
+
+        private CommandResult getResult(Future<CommandResult> check) throws InterruptedException {
+            try {
+                return check.get();
+            } catch (ExecutionException e) {
+                // update() catches everything it expects, so this is a bug
+                _logger.get().log(Level.WARNING, "couldn't check server", e.getCause());
+                return null;
+            }
+        }
+
         private List<ReplicaSetNode> createNodeList() {
             List<ReplicaSetNode> nodeList = new ArrayList<ReplicaSetNode>(_all.size());
             for (UpdatableReplicaSetNode cur : _all) {
-                nodeList.add(new ReplicaSetNode(cur._addr, cur._names, cur._setName, cur._pingTimeMS, cur.isOk(), cur._isMaster, cur._isSecondary, cur._tags, cur._maxBsonObjectSize));
+                boolean ok = cur.isOk() && !cur._timedOut;
+                nodeList.add(new ReplicaSetNode(cur._addr, cur._names, cur._setName, cur._pingTimeMS, ok, cur._isMaster, cur._isSecondary, cur._tags, cur._maxBsonObjectSize));
             }
             return nodeList;
         }
@@ -766,7 +974,8 @@ public class ReplicaSetStatus extends ConnectionStatus {
         }
 
         private final List<UpdatableReplicaSetNode> _all;
-        private final Random _random = new Random();
+        private final ExecutorService _checkers;
+        private final AtomicInteger _checkerCount = new AtomicInteger();
     }
 
     @Override
@@ -68,13 +68,18 @@ class Response {
         _num = Bits.readInt(b, pos);
         pos += 4;
 
-        final MyInputStream user = new MyInputStream( in , _len - b.length );
-
         if ( _num < 2 )
             _objects = new LinkedList<DBObject>();
         else
             _objects = new ArrayList<DBObject>( _num );
 
+        if ( decodesViews( decoder ) ){
+            _readLazyObjects( in , collection , (LazyDBDecoder)decoder , _len - b.length );
+            return;
+        }
+
+        final MyInputStream user = new MyInputStream( in , _len - b.length );
+
         for ( int i=0; i < _num; i++ ){
             if ( user._toGo < 5 )
                 throw new IOException( "should have more objects, but only " + user._toGo + " bytes left" );
@@ -90,6 +95,64 @@ class Response {
             throw new RuntimeException( "something is really broken" );
     }
 
+    /**
+     * Only the driver's own lazy decoders are known to decode every document the same way as a view over the reply
+     * buffer.  Subclasses may override how documents are decoded from a stream, so they are given the stream.
+     */
+    private static boolean decodesViews( DBDecoder decoder ){
+        return decoder != null
+               && ( decoder.getClass() == LazyDBDecoder.class || decoder.getClass() == LazyWriteableDBDecoder.class );
+    }
+
+    /**
+     * Reads the whole body of the reply with a single read, and decodes every document as a view over that one
+     * buffer instead of copying each of them into an array of its own.  The buffer is owned by the documents from
+     * then on, so it can't be recycled.
+     */
+    private void _readLazyObjects( InputStream in , DBCollection collection , LazyDBDecoder decoder , int bodyLength )
+        throws IOException {
+
+        if ( bodyLength < 0 )
+            throw new IOException( "response too short: " + _len );
+
+        final byte [] body = new byte[bodyLength];
+        Bits.readFully( in , body );
+
+        int offset = 0;
+        for ( int i=0; i < _num; i++ ){
+            final int toGo = body.length - offset;
+            if ( toGo < 5 )
+                throw new IOException( "should have more objects, but only " + toGo + " bytes left" );
+
+            final int size = Bits.readInt( body , offset );
+            if ( size < 5 || size > toGo )
+                throw new IOException( "bad object size: " + size + " with only " + toGo + " bytes left" );
+
+            _objects.add( decoder.decode( body , offset , collection ) );
+            offset += size;
+        }
+
+        if ( offset != body.length )
+            throw new IOException( "finished reading objects but still have: " + ( body.length - offset ) + " bytes to read!' " );
+    }
+
+    /**
+     * Reads the responseTo field of the next message on the stream without consuming it.
+     *
+     * @param in a stream that supports mark and reset
+     * @return the id of the request that the next message is a reply to
+     */
+    static int readResponseTo( InputStream in )
+        throws IOException {
+
+        final byte [] b = new byte[12];
+        in.mark( b.length );
+        Bits.readFully(in, b);
+        in.reset();
+
+        return Bits.readInt(b, 8);
+    }
+
     public int size(){
         return _num;
     }
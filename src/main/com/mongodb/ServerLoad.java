@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks, for each server, how many operations are in flight and how long the recent ones took, as seen by the
+ * connector sending them.
+ */
+class ServerLoad {
+
+    // the number of latencies after which the older ones start to weigh less
+    static final int LATENCY_WINDOW = 1024;
+
+    // the latency recorded for an operation that got no reply, unless it took even longer to fail
+    static final long FAILURE_PENALTY_MICROS = TimeUnit.SECONDS.toMicros(1);
+
+    Stats get(final ServerAddress address) {
+        Stats stats = _stats.get(address);
+        if (stats == null) {
+            Stats newStats = new Stats();
+            stats = _stats.putIfAbsent(address, newStats);
+            if (stats == null) {
+                stats = newStats;
+            }
+        }
+        return stats;
+    }
+
+    static class Stats {
+        /**
+         * Counts an operation as in flight.
+         *
+         * @return the start time to hand to {@link #finished(long, boolean)}
+         */
+        long started() {
+            _inFlight.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        /**
+         * Counts the given number of operations, sent together, as in flight.
+         *
+         * @return the start time to hand to {@link #finished(long, int, boolean)}
+         */
+        long started(final int count) {
+            _inFlight.addAndGet(count);
+            return System.nanoTime();
+        }
+
+        /**
+         * Counts an operation as no longer in flight, and records its latency.  An operation that failed is recorded
+         * as taking at least {@link #FAILURE_PENALTY_MICROS}, so that a server whose operations keep failing doesn't
+         * look fast.
+         *
+         * @param startNanos the value returned by {@link #started()}
+         * @param succeeded whether the operation got a reply
+         */
+        void finished(final long startNanos, final boolean succeeded) {
+            finished(startNanos, 1, succeeded);
+        }
+
+        /**
+         * Counts operations sent together as no longer in flight, and records the latency of their round trip once.
+         *
+         * @param startNanos the value returned by {@link #started(int)}
+         * @param count the number of operations
+         * @param succeeded whether the operations got their replies
+         */
+        void finished(final long startNanos, final int count, final boolean succeeded) {
+            _inFlight.addAndGet(-count);
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+            _latencies.record(succeeded ? micros : Math.max(micros, FAILURE_PENALTY_MICROS), TimeUnit.MICROSECONDS);
+        }
+
+        int getInFlight() {
+            return _inFlight.get();
+        }
+
+        LatencyHistogram getLatencies() {
+            return _latencies;
+        }
+
+        private final AtomicInteger _inFlight = new AtomicInteger();
+        private final LatencyHistogram _latencies = new LatencyHistogram(LATENCY_WINDOW);
+    }
+
+    private final ConcurrentMap<ServerAddress, Stats> _stats = new ConcurrentHashMap<ServerAddress, Stats>();
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A future that is completed exactly once, by whichever thread receives the result of an asynchronous operation.
+ * Operations that have been sent to the server can not be taken back, so cancellation is not supported.
+ *
+ * @param <T> the type of the result
+ */
+class SingleResultFuture<T> implements Future<T> {
+
+    /**
+     * Is told the outcome of a future once it is completed.
+     *
+     * @param <T> the type of the result
+     */
+    interface Callback<T> {
+        /**
+         * @param result the result, or null if the future failed
+         * @param error  the failure, or null if the future succeeded
+         */
+        void onResult(T result, Throwable error);
+    }
+
+    /**
+     * Completes this future with the given result, unless it has already been completed.
+     *
+     * @param result the result
+     * @return true if this call completed the future
+     */
+    boolean complete(final T result) {
+        return finish(result, null);
+    }
+
+    /**
+     * Completes this future with the given failure, unless it has already been completed.
+     *
+     * @param error the failure
+     * @return true if this call completed the future
+     */
+    boolean fail(final Throwable error) {
+        return finish(null, error);
+    }
+
+    /**
+     * Registers a callback to be called on the thread that completes this future, or straight away on the calling
+     * thread if it has already been completed.
+     *
+     * @param callback the callback
+     */
+    void register(final Callback<T> callback) {
+        synchronized (this) {
+            if (callbacks != null) {
+                callbacks.add(callback);
+                return;
+            }
+        }
+        callback.onResult(result, error);
+    }
+
+    private boolean finish(final T result, final Throwable error) {
+        if (!completed.compareAndSet(false, true)) {
+            return false;
+        }
+        this.result = result;
+        this.error = error;
+        List<Callback<T>> toCall;
+        synchronized (this) {
+            toCall = callbacks;
+            callbacks = null;
+        }
+        latch.countDown();
+        for (Callback<T> callback : toCall) {
+            callback.onResult(result, error);
+        }
+        return true;
+    }
+
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+        return false;
+    }
+
+    public boolean isCancelled() {
+        return false;
+    }
+
+    public boolean isDone() {
+        return latch.getCount() == 0;
+    }
+
+    public T get() throws InterruptedException, ExecutionException {
+        latch.await();
+        return getResult();
+    }
+
+    public T get(final long timeout, final TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        if (!latch.await(timeout, unit)) {
+            throw new TimeoutException("Timed out after " + timeout + " " + unit + " waiting for the result");
+        }
+        return getResult();
+    }
+
+    private T getResult() throws ExecutionException {
+        if (error != null) {
+            throw new ExecutionException(error);
+        }
+        return result;
+    }
+
+    private final CountDownLatch latch = new CountDownLatch(1);
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private volatile T result;
+    private volatile Throwable error;
+    private List<Callback<T>> callbacks = new ArrayList<Callback<T>>();
+}
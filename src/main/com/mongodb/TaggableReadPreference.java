@@ -14,6 +14,7 @@ public abstract class TaggableReadPreference extends ReadPreference {
 
     TaggableReadPreference() {
         _tags = EMPTY;
+        _tagLists = Collections.emptyList();
     }
 
     TaggableReadPreference(DBObject firstTagSet, DBObject... remainingTagSets) {
@@ -23,6 +24,11 @@ public abstract class TaggableReadPreference extends ReadPreference {
         _tags = new ArrayList<DBObject>();
         _tags.add(firstTagSet);
         Collections.addAll(_tags, remainingTagSets);
+
+        _tagLists = new ArrayList<List<ReplicaSetStatus.Tag>>(_tags.size());
+        for (DBObject tagSet : _tags) {
+            _tagLists.add(getTagListFromDBObject(tagSet));
+        }
     }
 
     @Override
@@ -86,6 +92,8 @@ public abstract class TaggableReadPreference extends ReadPreference {
     }
 
     final List<DBObject> _tags;
+    // the tag sets converted once, so that choosing a node doesn't convert them again
+    final List<List<ReplicaSetStatus.Tag>> _tagLists;
 
     /**
      * Read from secondary
@@ -111,9 +119,8 @@ public abstract class TaggableReadPreference extends ReadPreference {
             if (_tags.isEmpty())
                 return set.getASecondary();
 
-            for (DBObject curTagSet : _tags) {
-                List<ReplicaSetStatus.Tag> tagList = getTagListFromDBObject(curTagSet);
-                ReplicaSetStatus.ReplicaSetNode node = set.getASecondary(tagList);
+            for (int i = 0; i < _tagLists.size(); i++) {
+                ReplicaSetStatus.ReplicaSetNode node = set.getASecondary(_tagLists.get(i));
                 if (node != null) {
                     return node;
                 }
@@ -121,6 +128,21 @@ public abstract class TaggableReadPreference extends ReadPreference {
             return null;
         }
 
+        @Override
+        List<ReplicaSetStatus.ReplicaSetNode> getCandidates(ReplicaSetStatus.ReplicaSet set) {
+
+            if (_tags.isEmpty())
+                return set.getGoodSecondaries();
+
+            for (int i = 0; i < _tagLists.size(); i++) {
+                List<ReplicaSetStatus.ReplicaSetNode> nodes = set.getGoodSecondariesByTags(_tagLists.get(i));
+                if (!nodes.isEmpty()) {
+                    return nodes;
+                }
+            }
+            return Collections.emptyList();
+        }
+
     }
 
     /**
@@ -146,6 +168,12 @@ public abstract class TaggableReadPreference extends ReadPreference {
             ReplicaSetStatus.ReplicaSetNode node = super.getNode(set);
             return (node != null) ? node : set.getMaster();
         }
+
+        @Override
+        List<ReplicaSetStatus.ReplicaSetNode> getCandidates(ReplicaSetStatus.ReplicaSet set) {
+            List<ReplicaSetStatus.ReplicaSetNode> nodes = super.getCandidates(set);
+            return !nodes.isEmpty() ? nodes : set.getMasterList();
+        }
     }
 
     /**
@@ -174,15 +202,29 @@ public abstract class TaggableReadPreference extends ReadPreference {
             if (_tags.isEmpty())
                 return set.getAMember();
 
-            for (DBObject curTagSet : _tags) {
-                List<ReplicaSetStatus.Tag> tagList = getTagListFromDBObject(curTagSet);
-                ReplicaSetStatus.ReplicaSetNode node = set.getAMember(tagList);
+            for (int i = 0; i < _tagLists.size(); i++) {
+                ReplicaSetStatus.ReplicaSetNode node = set.getAMember(_tagLists.get(i));
                 if (node != null) {
                     return node;
                 }
             }
             return null;
         }
+
+        @Override
+        List<ReplicaSetStatus.ReplicaSetNode> getCandidates(ReplicaSetStatus.ReplicaSet set) {
+
+            if (_tags.isEmpty())
+                return set.getGoodMembers();
+
+            for (int i = 0; i < _tagLists.size(); i++) {
+                List<ReplicaSetStatus.ReplicaSetNode> nodes = set.getGoodMembersByTags(_tagLists.get(i));
+                if (!nodes.isEmpty()) {
+                    return nodes;
+                }
+            }
+            return Collections.emptyList();
+        }
     }
 
     /**
@@ -207,6 +249,12 @@ public abstract class TaggableReadPreference extends ReadPreference {
             ReplicaSetStatus.ReplicaSetNode node = set.getMaster();
             return (node != null) ? node : super.getNode(set);
         }
+
+        @Override
+        List<ReplicaSetStatus.ReplicaSetNode> getCandidates(ReplicaSetStatus.ReplicaSet set) {
+            List<ReplicaSetStatus.ReplicaSetNode> nodes = set.getMasterList();
+            return !nodes.isEmpty() ? nodes : super.getCandidates(set);
+        }
     }
 
 
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+/**
+ * One of the writes accumulated by a {@link BulkWriteOperation}.
+ */
+abstract class WriteRequest {
+
+    enum Type {
+        INSERT, UPDATE, REMOVE
+    }
+
+    abstract Type getType();
+
+    static class Insert extends WriteRequest {
+        final DBObject document;
+
+        Insert(final DBObject document) {
+            this.document = document;
+        }
+
+        @Override
+        Type getType() {
+            return Type.INSERT;
+        }
+    }
+
+    static class Update extends WriteRequest {
+        final DBObject query;
+        final DBObject update;
+        final boolean upsert;
+        final boolean multi;
+
+        Update(final DBObject query, final DBObject update, final boolean upsert, final boolean multi) {
+            this.query = query;
+            this.update = update;
+            this.upsert = upsert;
+            this.multi = multi;
+        }
+
+        @Override
+        Type getType() {
+            return Type.UPDATE;
+        }
+    }
+
+    static class Remove extends WriteRequest {
+        final DBObject query;
+        final boolean multi;
+
+        Remove(final DBObject query, final boolean multi) {
+            this.query = query;
+            this.multi = multi;
+        }
+
+        @Override
+        Type getType() {
+            return Type.REMOVE;
+        }
+    }
+}
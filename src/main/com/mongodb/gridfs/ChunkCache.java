@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.gridfs;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A least recently used cache of chunk data, bounded by the total number of bytes it holds.  Chunks are keyed by the
+ * id and the MD5 of their file as well as their number, so that a file removed and saved again under the same id never
+ * sees the chunks of its former content.
+ */
+class ChunkCache {
+
+    ChunkCache(final long maxBytes) {
+        _maxBytes = maxBytes;
+    }
+
+    synchronized byte[] get(final Object filesId, final String md5, final int n) {
+        return _chunks.get(new Key(filesId, md5, n));
+    }
+
+    synchronized void put(final Object filesId, final String md5, final int n, final byte[] data) {
+        if (data.length > _maxBytes) {
+            return;
+        }
+        byte[] previous = _chunks.put(new Key(filesId, md5, n), data);
+        if (previous != null) {
+            _size -= previous.length;
+        }
+        _size += data.length;
+
+        Iterator<byte[]> eldest = _chunks.values().iterator();
+        while (_size > _maxBytes) {
+            _size -= eldest.next().length;
+            eldest.remove();
+        }
+    }
+
+    long getMaxBytes() {
+        return _maxBytes;
+    }
+
+    synchronized long size() {
+        return _size;
+    }
+
+    private static final class Key {
+        Key(final Object filesId, final String md5, final int n) {
+            this.filesId = filesId;
+            this.md5 = md5;
+            this.n = n;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return n == other.n && filesId.equals(other.filesId) && (md5 == null ? other.md5 == null : md5.equals(other.md5));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * filesId.hashCode() + n;
+        }
+
+        final Object filesId;
+        final String md5;
+        final int n;
+    }
+
+    private final long _maxBytes;
+    private final Map<Key, byte[]> _chunks = new LinkedHashMap<Key, byte[]>(16, 0.75f, true);
+    private long _size;
+}
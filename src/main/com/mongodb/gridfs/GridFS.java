@@ -412,6 +412,38 @@ public class GridFS {
         return _bucketName;
     }
 
+    /**
+     * Sets the maximum number of bytes of chunk data kept in memory for the channels returned by
+     * {@link GridFSDBFile#getChannel()}.  The cache is shared by all the files read through this instance, and the
+     * least recently used chunks are dropped first.  The default is 0, which disables the cache.  Setting a new size
+     * empties the cache.
+     *
+     * @param maxBytes the size of the cache in bytes
+     * @throws IllegalArgumentException if {@code maxBytes < 0}
+     * @since 2.12.0
+     */
+    public void setChunkCacheSize( long maxBytes ){
+        if ( maxBytes < 0 )
+            throw new IllegalArgumentException( "maxBytes must be >= 0" );
+        _chunkCache = maxBytes > 0 ? new ChunkCache( maxBytes ) : null;
+    }
+
+    /**
+     * Gets the maximum number of bytes of chunk data kept in memory.
+     *
+     * @return the size of the cache in bytes, 0 if disabled
+     * @see #setChunkCacheSize(long)
+     * @since 2.12.0
+     */
+    public long getChunkCacheSize(){
+        ChunkCache cache = _chunkCache;
+        return cache == null ? 0 : cache.getMaxBytes();
+    }
+
+    ChunkCache getChunkCache(){
+        return _chunkCache;
+    }
+
     /**
      * gets the db used
      * @return
@@ -463,4 +495,6 @@ public class GridFS {
     @Deprecated
     protected final DBCollection _chunkCollection;
 
+    private volatile ChunkCache _chunkCache;
+
 }
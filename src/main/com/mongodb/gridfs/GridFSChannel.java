@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.gridfs;
+
+import com.mongodb.MongoException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * A read only channel over the data of a GridFS file, with a position that can be moved anywhere in the file, in the
+ * manner of {@code java.nio.channels.SeekableByteChannel}.  That interface only exists since Java 7 and the driver
+ * still runs on Java 5, so this class implements {@link ReadableByteChannel} and offers the same positioning methods.
+ * <p>
+ * Each chunk is fetched on its own when the channel is positioned at random.  Once a few chunks in a row have been
+ * read in order, the following ones are fetched with a single cursor.  If the {@link GridFS} the file comes from has a
+ * chunk cache, chunks that are not next on that cursor are looked up there first, and every fetched chunk is added
+ * to it.
+ * <p>
+ * Instances are not safe for use by multiple concurrent threads.
+ *
+ * @see GridFSDBFile#getChannel()
+ * @see GridFS#setChunkCacheSize(long)
+ * @since 2.12.0
+ */
+public class GridFSChannel implements ReadableByteChannel {
+
+    GridFSChannel(final GridFSDBFile file) {
+        _file = file;
+        _numChunks = file.numChunks();
+    }
+
+    /**
+     * Reads bytes from the current position into the given buffer, and advances the position by the number of bytes
+     * read.
+     *
+     * @param dst the buffer to read into
+     * @return the number of bytes read, or -1 if the position is at or after the end of the file
+     * @throws IOException if the channel is closed
+     * @throws MongoException if a chunk can't be found
+     */
+    public int read(final ByteBuffer dst) throws IOException {
+        ensureOpen();
+        if (_position >= _file.getLength()) {
+            return -1;
+        }
+
+        int read = 0;
+        while (dst.hasRemaining() && _position < _file.getLength()) {
+            int n = (int) (_position / _file.getChunkSize());
+            int offset = (int) (_position % _file.getChunkSize());
+            byte[] data = getChunk(n);
+            if (offset >= data.length) {
+                throw new MongoException("chunk is too short!  file id: " + _file.getId() + " chunk: " + n);
+            }
+
+            int length = Math.min(dst.remaining(), data.length - offset);
+            dst.put(data, offset, length);
+            _position += length;
+            read += length;
+        }
+        return read;
+    }
+
+    /**
+     * @return the current position in the file
+     * @throws IOException if the channel is closed
+     */
+    public long position() throws IOException {
+        ensureOpen();
+        return _position;
+    }
+
+    /**
+     * Sets the position from which the next read starts.  A position after the end of the file is allowed, and reads
+     * from it return -1.
+     *
+     * @param newPosition the new position in the file
+     * @return this channel
+     * @throws IOException if the channel is closed
+     * @throws IllegalArgumentException if {@code newPosition < 0}
+     */
+    public GridFSChannel position(final long newPosition) throws IOException {
+        ensureOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("newPosition must be >= 0");
+        }
+        _position = newPosition;
+        return this;
+    }
+
+    /**
+     * @return the length of the file
+     * @throws IOException if the channel is closed
+     */
+    public long size() throws IOException {
+        ensureOpen();
+        return _file.getLength();
+    }
+
+    public boolean isOpen() {
+        return _open;
+    }
+
+    public void close() {
+        _open = false;
+        closeChunks();
+    }
+
+    private byte[] getChunk(final int n) {
+        ChunkCache cache = _file._fs.getChunkCache();
+        boolean nextOnCursor = _chunks != null && _chunks.nextChunk() == n;
+        // taking the next chunk on the cursor from the cache would leave the cursor behind, and the next miss would
+        // reopen it
+        if (cache != null && !nextOnCursor) {
+            byte[] data = cache.get(_file.getId(), _file.getMD5(), n);
+            if (data != null) {
+                fetched(n);
+                return data;
+            }
+        }
+
+        byte[] data;
+        if (nextOnCursor) {
+            data = _chunks.next();
+        } else if (_inOrder >= 2 && n == _lastChunk + 1 && n < _numChunks - 1) {
+            // the chunks are being read in order, so fetch the rest of the file with a single cursor
+            closeChunks();
+            _chunks = _file.new ChunkIterator(n);
+            data = _chunks.next();
+        } else {
+            closeChunks();
+            data = _file.getChunk(n);
+        }
+        fetched(n);
+
+        if (cache != null) {
+            cache.put(_file.getId(), _file.getMD5(), n, data);
+        }
+        return data;
+    }
+
+    private void fetched(final int n) {
+        _inOrder = n == _lastChunk + 1 ? _inOrder + 1 : 1;
+        _lastChunk = n;
+    }
+
+    private void closeChunks() {
+        if (_chunks != null) {
+            _chunks.close();
+            _chunks = null;
+        }
+    }
+
+    private void ensureOpen() throws ClosedChannelException {
+        if (!_open) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    private final GridFSDBFile _file;
+    private final int _numChunks;
+    private long _position;
+    private boolean _open = true;
+    private int _lastChunk = -2;
+    private int _inOrder;
+    private GridFSDBFile.ChunkIterator _chunks;
+}
@@ -23,10 +23,14 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 
 import com.mongodb.BasicDBObject;
 import com.mongodb.BasicDBObjectBuilder;
+import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
+import com.mongodb.MongoCursorNotFoundException;
 import com.mongodb.MongoException;
 
 /**
@@ -35,11 +39,38 @@ import com.mongodb.MongoException;
  * - writing data to a file on disk or an OutputStream
  * - getting each chunk as a byte array
  * - getting an InputStream to stream the data into
+ * <p>
+ * The chunks are read in order with a single cursor, and can be read ahead in the background, see
+ * {@link #setPrefetchChunks(int)}.
  * @author antoine
  */
 public class GridFSDBFile extends GridFSFile {
-    
-    
+
+    /**
+     * Sets how many chunks are read ahead in the background while the data is being consumed.  The default is 0, which
+     * reads the chunks only as they are needed.
+     *
+     * @param prefetchChunks the number of chunks to read ahead
+     * @throws IllegalArgumentException if {@code prefetchChunks < 0}
+     * @since 2.12.0
+     */
+    public void setPrefetchChunks( int prefetchChunks ){
+        if ( prefetchChunks < 0 )
+            throw new IllegalArgumentException( "prefetchChunks must be >= 0" );
+        _prefetchChunks = prefetchChunks;
+    }
+
+    /**
+     * Gets how many chunks are read ahead in the background.
+     *
+     * @return the number of chunks to read ahead
+     * @see #setPrefetchChunks(int)
+     * @since 2.12.0
+     */
+    public int getPrefetchChunks(){
+        return _prefetchChunks;
+    }
+
     /**
      * Returns an InputStream from which data can be read
      * @return
@@ -48,6 +79,21 @@ public class GridFSDBFile extends GridFSFile {
         return new MyInputStream();
     }
 
+    /**
+     * Returns a channel from which the data can be read starting at any position, for instance to serve range
+     * requests.  The chunks read through it are kept in the cache of the {@link GridFS} this file comes from, if
+     * enabled, so that other channels over the same file can read them again without querying the database.
+     *
+     * @return a new channel positioned at the start of the file
+     * @see GridFS#setChunkCacheSize(long)
+     * @since 2.12.0
+     */
+    public GridFSChannel getChannel(){
+        if ( _fs == null )
+            throw new RuntimeException( "no gridfs!" );
+        return new GridFSChannel( this );
+    }
+
     /**
      * Writes the file's data to a file on disk
      * @param filename the file name on disk
@@ -86,12 +132,42 @@ public class GridFSDBFile extends GridFSFile {
      */
     public long writeTo( OutputStream out )
     		throws IOException {
-    	final int nc = numChunks();
-    	for ( int i=0; i<nc; i++ ){
-    	    out.write( getChunk( i ) );
-    	}
+        ChunkIterator chunks = new ChunkIterator( 0 );
+        try {
+            while ( chunks.hasNext() ){
+                out.write( chunks.next() );
+            }
+        }
+        finally {
+            chunks.close();
+        }
     	return _length;
     }
+
+    /**
+     * Writes the file's data to a channel, handing each chunk to the channel as it was read.
+     * @param channel the channel
+     * @return the number of bytes written
+     * @throws IOException
+     * @throws MongoException
+     * @since 2.12.0
+     */
+    public long writeTo( WritableByteChannel channel )
+            throws IOException {
+        ChunkIterator chunks = new ChunkIterator( 0 );
+        try {
+            while ( chunks.hasNext() ){
+                ByteBuffer buffer = ByteBuffer.wrap( chunks.next() );
+                while ( buffer.hasRemaining() ){
+                    channel.write( buffer );
+                }
+            }
+        }
+        finally {
+            chunks.close();
+        }
+        return _length;
+    }
     
     byte[] getChunk( int i ){
         if ( _fs == null )
@@ -105,6 +181,70 @@ public class GridFSDBFile extends GridFSFile {
         return (byte[])chunk.get( "data" );
     }
 
+    /**
+     * Reads the chunks in order, from a given one on, with a single cursor over the chunks collection.
+     */
+    class ChunkIterator {
+
+        ChunkIterator( int first ){
+            if ( _fs == null )
+                throw new RuntimeException( "no gridfs!" );
+
+            _next = first;
+            _numChunks = numChunks();
+            _cursor = first < _numChunks ? openCursor( first ) : null;
+        }
+
+        DBCursor openCursor( int first ){
+            DBObject query = new BasicDBObject( "files_id" , _id ).append( "n" , new BasicDBObject( "$gte" , first ) );
+            DBCursor cursor = _fs._chunkCollection.find( query ).sort( new BasicDBObject( "n" , 1 ) ).limit( _numChunks - first );
+            // a batch size of 1 asks the server for a single chunk and to close the cursor, so batches hold at least 2
+            if ( _prefetchChunks > 0 )
+                cursor.batchSize( Math.max( 2 , _prefetchChunks ) ).prefetch( 1 );
+            return cursor;
+        }
+
+        boolean hasNext(){
+            return _next < _numChunks;
+        }
+
+        byte[] next(){
+            DBObject chunk;
+            try {
+                chunk = nextFromCursor();
+            }
+            catch ( MongoCursorNotFoundException e ){
+                // the server kills a cursor left idle for ten minutes, which a slow reader can do between two batches,
+                // so carry on with a new cursor from the chunk that was due
+                _cursor.close();
+                _cursor = openCursor( _next );
+                chunk = nextFromCursor();
+            }
+            if ( chunk == null || ((Number)chunk.get( "n" )).intValue() != _next )
+                throw new MongoException( "can't find a chunk!  file id: " + _id + " chunk: " + _next );
+
+            _next++;
+            return (byte[])chunk.get( "data" );
+        }
+
+        private DBObject nextFromCursor(){
+            return _cursor != null && _cursor.hasNext() ? _cursor.next() : null;
+        }
+
+        void close(){
+            if ( _cursor != null )
+                _cursor.close();
+        }
+
+        int nextChunk(){
+            return _next;
+        }
+
+        private DBCursor _cursor;
+        private final int _numChunks;
+        private int _next;
+    }
+
     class MyInputStream extends InputStream {
 
         MyInputStream(){
@@ -118,6 +258,10 @@ public class GridFSDBFile extends GridFSFile {
         }
         
         public void close(){
+            if ( _chunks != null ){
+                _chunks.close();
+                _chunks = null;
+            }
         }
 
         public void mark(int readlimit){
@@ -147,8 +291,11 @@ public class GridFSDBFile extends GridFSFile {
             if ( _data == null || _offset >= _data.length ){
                 if ( _currentChunkIdx + 1 >= _numChunks )
                     return -1;
-                
-                _data = getChunk( ++_currentChunkIdx );
+
+                if ( _chunks == null )
+                    _chunks = new ChunkIterator( _currentChunkIdx + 1 );
+                _data = _chunks.next();
+                _currentChunkIdx++;
                 _offset = 0;
             }
 
@@ -177,13 +324,18 @@ public class GridFSDBFile extends GridFSFile {
             if (numBytesToSkip + offsetInFile >= _length) {
                 _currentChunkIdx = _numChunks;
                 _data = null;
+                close();
                 return _length - offsetInFile;
             }
 
             int temp = _currentChunkIdx;
             _currentChunkIdx = (int)((numBytesToSkip + offsetInFile) / _chunkSize);
-            if (temp != _currentChunkIdx)
-                _data = getChunk(_currentChunkIdx);
+            if (temp != _currentChunkIdx) {
+                // start reading again from the chunk skipped to
+                close();
+                _chunks = new ChunkIterator(_currentChunkIdx);
+                _data = _chunks.next();
+            }
             _offset = (int)((numBytesToSkip + offsetInFile) % _chunkSize);
 
             return numBytesToSkip;
@@ -194,10 +346,13 @@ public class GridFSDBFile extends GridFSFile {
         int _currentChunkIdx = -1;
         int _offset = 0;
         byte[] _data = null;
+        ChunkIterator _chunks = null;
     }
     
     void remove(){
         _fs._filesCollection.remove( new BasicDBObject( "_id" , _id ) );
         _fs._chunkCollection.remove( new BasicDBObject( "files_id" , _id ) );
     }
+
+    private volatile int _prefetchChunks;
 }
@@ -21,6 +21,7 @@ package com.mongodb.gridfs;
 import com.mongodb.BasicDBObjectBuilder;
 import com.mongodb.DBObject;
 import com.mongodb.MongoException;
+import com.mongodb.WriteResult;
 import com.mongodb.util.Util;
 import org.bson.types.ObjectId;
 
@@ -29,13 +30,22 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * This class represents a GridFS file to be written to the database
  * Operations include:
  * - writing data obtained from an InputStream
  * - getting an OutputStream to stream the data out
+ * <p>
+ * By default each chunk is saved on its own and acknowledged before the next one is read.  With
+ * {@link #setChunksPerBatch(int)} several chunks are sent per insert, without waiting for the previous inserts to
+ * be acknowledged, while the next chunks are read and hashed.
  *
  * @author Eliot Horowitz and Guy K. Kloss
  */
@@ -149,6 +159,60 @@ public class GridFSInputFile extends GridFSFile {
         _buffer = new byte[(int) _chunkSize];
     }
 
+    /**
+     * Sets how many chunks are sent together in a single insert.  The default is 1, which saves each chunk on its own
+     * and waits for it to be acknowledged before going on.  With a larger value, the batches are sent without waiting
+     * for the previous ones, and a batch is also sent early when it would grow beyond the maximum document size of the
+     * server.  This must be called before saving any data.
+     *
+     * @param chunksPerBatch the number of chunks per insert
+     * @throws IllegalArgumentException if {@code chunksPerBatch < 1}
+     * @see #setMaxUnacknowledgedChunks(int)
+     * @since 2.12.0
+     */
+    public void setChunksPerBatch( int chunksPerBatch ) {
+        if ( chunksPerBatch < 1 )
+            throw new IllegalArgumentException( "chunksPerBatch must be >= 1" );
+        _chunksPerBatch = chunksPerBatch;
+    }
+
+    /**
+     * Gets how many chunks are sent together in a single insert.
+     *
+     * @return the number of chunks per insert
+     * @see #setChunksPerBatch(int)
+     * @since 2.12.0
+     */
+    public int getChunksPerBatch() {
+        return _chunksPerBatch;
+    }
+
+    /**
+     * Sets how many chunks may be sent in batches before waiting for them to be acknowledged.  The default is 0, which
+     * waits only once all the chunks have been sent.  This has no effect unless {@link #setChunksPerBatch(int)} is
+     * greater than 1.
+     *
+     * @param maxUnacknowledgedChunks the number of chunks that may be waiting for acknowledgement, or 0 for no limit
+     * @throws IllegalArgumentException if {@code maxUnacknowledgedChunks < 0}
+     * @since 2.12.0
+     */
+    public void setMaxUnacknowledgedChunks( int maxUnacknowledgedChunks ) {
+        if ( maxUnacknowledgedChunks < 0 )
+            throw new IllegalArgumentException( "maxUnacknowledgedChunks must be >= 0" );
+        _maxUnacknowledgedChunks = maxUnacknowledgedChunks;
+    }
+
+    /**
+     * Gets how many chunks may be sent before waiting for them to be acknowledged.
+     *
+     * @return the number of chunks that may be waiting for acknowledgement, or 0 for no limit
+     * @see #setMaxUnacknowledgedChunks(int)
+     * @since 2.12.0
+     */
+    public int getMaxUnacknowledgedChunks() {
+        return _maxUnacknowledgedChunks;
+    }
+
     /**
      * calls {@link GridFSInputFile#save(long)} with the existing chunk size
      * @throws MongoException 
@@ -270,21 +334,75 @@ public class GridFSInputFile extends GridFSFile {
             return;
         }
 
+        // batched chunks are still in flight when the buffer is refilled, so they always get their own copy
         byte[] writeBuffer = _buffer;
-        if ( _currentBufferPosition != _chunkSize ) {
+        if ( _currentBufferPosition != _chunkSize || _chunksPerBatch > 1 ) {
             writeBuffer = new byte[_currentBufferPosition];
             System.arraycopy( _buffer, 0, writeBuffer, 0, _currentBufferPosition );
         }
 
         DBObject chunk = createChunk(_id, _currentChunkNumber, writeBuffer);
 
-        _fs._chunkCollection.save( chunk );
+        if ( _chunksPerBatch > 1 ) {
+            _addToBatch( chunk, writeBuffer.length );
+        } else {
+            _fs._chunkCollection.save( chunk );
+        }
 
+        // hashing overlaps with any batch that was just sent
         _currentChunkNumber++;
         _totalBytes += writeBuffer.length;
         _messageDigester.update( writeBuffer );
         _currentBufferPosition = 0;
     }
+
+    private void _addToBatch( DBObject chunk, int dataLength ) {
+        // leave some room for the other fields of the chunks
+        int size = dataLength + 128;
+        if ( ! _batch.isEmpty() && _batchSize + size > _fs.getDB().getMongo().getMaxBsonObjectSize() )
+            _sendBatch();
+
+        _batch.add( chunk );
+        _batchSize += size;
+        if ( _batch.size() >= _chunksPerBatch )
+            _sendBatch();
+    }
+
+    private void _sendBatch() {
+        if ( _batch.isEmpty() )
+            return;
+
+        List<DBObject> batch = _batch;
+        _batch = new ArrayList<DBObject>();
+        _batchSize = 0;
+
+        _pending.add( new PendingBatch( _fs._chunkCollection.insertAsync( batch ) , batch.size() ) );
+        _unacknowledgedChunks += batch.size();
+
+        while ( _maxUnacknowledgedChunks > 0 && _unacknowledgedChunks > _maxUnacknowledgedChunks )
+            _awaitOldestBatch();
+    }
+
+    private void _awaitBatches() {
+        _sendBatch();
+        while ( ! _pending.isEmpty() )
+            _awaitOldestBatch();
+    }
+
+    private void _awaitOldestBatch() {
+        PendingBatch batch = _pending.removeFirst();
+        _unacknowledgedChunks -= batch._chunks;
+        try {
+            batch._result.get();
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new MongoException( "interrupted while saving chunks" , e );
+        } catch ( ExecutionException e ) {
+            if ( e.getCause() instanceof MongoException )
+                throw (MongoException) e.getCause();
+            throw new MongoException( "couldn't save chunks" , e.getCause() );
+        }
+    }
     
     protected DBObject createChunk(Object id, int currentChunkNumber, byte[] writeBuffer) {
          return BasicDBObjectBuilder.start()
@@ -319,6 +437,7 @@ public class GridFSInputFile extends GridFSFile {
      */
     private void _finishData() {
         if (!_savedChunks) {
+            _awaitBatches();
             _md5 = Util.toHex( _messageDigester.digest() );
             _messageDigester = null;
             _length = _totalBytes;
@@ -341,6 +460,22 @@ public class GridFSInputFile extends GridFSFile {
     private long _totalBytes = 0;
     private MessageDigest _messageDigester = null;
     private OutputStream _outputStream = null;
+    private int _chunksPerBatch = 1;
+    private int _maxUnacknowledgedChunks = 0;
+    private List<DBObject> _batch = new ArrayList<DBObject>();
+    private int _batchSize = 0;
+    private final LinkedList<PendingBatch> _pending = new LinkedList<PendingBatch>();
+    private int _unacknowledgedChunks = 0;
+
+    private static class PendingBatch {
+        PendingBatch( Future<WriteResult> result , int chunks ) {
+            _result = result;
+            _chunks = chunks;
+        }
+
+        final Future<WriteResult> _result;
+        final int _chunks;
+    }
 
     /**
      * An output stream implementation that can be used to successively write to
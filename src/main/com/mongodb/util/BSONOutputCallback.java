@@ -0,0 +1,498 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.util;
+
+import com.mongodb.DBRef;
+import com.mongodb.DefaultDBEncoder;
+import org.bson.BSON;
+import org.bson.BSONCallback;
+import org.bson.BSONObject;
+import org.bson.io.OutputBuffer;
+import org.bson.types.BSONTimestamp;
+import org.bson.types.Binary;
+import org.bson.types.Code;
+import org.bson.types.CodeWScope;
+import org.bson.types.MaxKey;
+import org.bson.types.MinKey;
+import org.bson.types.ObjectId;
+import org.bson.types.Symbol;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * A callback that writes the documents it is given straight into an {@link OutputBuffer} as BSON, instead of building
+ * them as objects.  Used with a {@link JSONReader}, it turns JSON text into BSON without creating a map per document.
+ * <p>
+ * Extended JSON such as <code>{ "$oid" : ... }</code> or <code>{ "$date" : ... }</code> is recognized when the special
+ * field comes first in its object, as it does in the output of {@link JSON#serialize(Object)} and mongoexport, and is
+ * written as the corresponding BSON type, just as {@link JSONCallback} would build it.
+ * <p>
+ * {@link #objectDone()} and {@link #arrayDone()} return the size of the document written once the outermost one is
+ * done, and null for the ones nested in it.  Instances of this class are not thread-safe.
+ *
+ * @since 2.12.0
+ */
+public class BSONOutputCallback implements BSONCallback {
+
+    /**
+     * Creates a callback that writes to the given buffer.
+     *
+     * @param out the buffer to write to
+     */
+    public BSONOutputCallback(final OutputBuffer out) {
+        set(out);
+    }
+
+    /**
+     * Sets the buffer that the next document is written to.  Documents are written at the buffer's current position.
+     *
+     * @param out the buffer to write to
+     */
+    public void set(final OutputBuffer out) {
+        if (out == null) {
+            throw new IllegalArgumentException("out can not be null");
+        }
+        if (!_stack.isEmpty()) {
+            throw new IllegalStateException("in the middle of a document");
+        }
+        _out = out;
+    }
+
+    /**
+     * Sets whether a document without an <code>_id</code> gets a new {@link ObjectId} as its last field, which the
+     * server then moves to the front.  This is false by default.
+     *
+     * @param ensureId whether to add missing ids
+     */
+    public void setEnsureId(final boolean ensureId) {
+        _ensureId = ensureId;
+    }
+
+    public void reset() {
+        _stack.clear();
+        _special = null;
+        _specialDepth = 0;
+        _size = null;
+    }
+
+    /**
+     * @return the size of the last document written, or null if none has been done since the last reset
+     */
+    public Object get() {
+        return _size;
+    }
+
+    public BSONCallback createBSONCallback() {
+        return new BSONOutputCallback(_out);
+    }
+
+    public void objectStart() {
+        if (!_stack.isEmpty()) {
+            throw new IllegalStateException("something is wrong");
+        }
+        _sawId = false;
+        _stack.add(new Frame(null, false));
+    }
+
+    public void objectStart(final String name) {
+        if (special(name)) {
+            _special.objectStart(name);
+            _specialDepth++;
+            return;
+        }
+        field(name);
+        _stack.add(new Frame(name, false));
+    }
+
+    public void objectStart(final boolean array) {
+        if (array) {
+            arrayStart();
+        } else {
+            objectStart();
+        }
+    }
+
+    public Object objectDone() {
+        if (_special != null) {
+            if (_specialDepth > 0) {
+                _specialDepth--;
+                return _special.objectDone();
+            }
+            Object value = _special.objectDone();
+            _special = null;
+            Frame frame = _stack.remove(_stack.size() - 1);
+            _encoder.put(frame.name, value);
+            return null;
+        }
+
+        Frame frame = _stack.get(_stack.size() - 1);
+        frame.writeHeader();
+        if (_stack.size() == 1 && _ensureId && !frame.array && !_sawId) {
+            _encoder.put("_id", new ObjectId());
+        }
+        _out.write(BSON.EOO);
+        _out.writeInt(frame.sizePos, _out.getPosition() - frame.sizePos);
+        _stack.remove(_stack.size() - 1);
+
+        if (_stack.isEmpty()) {
+            _size = _out.getPosition() - frame.sizePos;
+            return _size;
+        }
+        return null;
+    }
+
+    public void arrayStart() {
+        if (!_stack.isEmpty()) {
+            throw new IllegalStateException("something is wrong");
+        }
+        _sawId = false;
+        Frame frame = new Frame(null, true);
+        _stack.add(frame);
+        frame.writeHeader();
+    }
+
+    public void arrayStart(final String name) {
+        if (special(name)) {
+            _special.arrayStart(name);
+            _specialDepth++;
+            return;
+        }
+        field(name);
+        Frame frame = new Frame(name, true);
+        _stack.add(frame);
+        frame.writeHeader();
+    }
+
+    public Object arrayDone() {
+        if (_special != null) {
+            _specialDepth--;
+            return _special.arrayDone();
+        }
+        return objectDone();
+    }
+
+    public void gotNull(final String name) {
+        if (special(name)) {
+            _special.gotNull(name);
+        } else {
+            field(name);
+            putNull(name);
+        }
+    }
+
+    public void gotUndefined(final String name) {
+        if (special(name)) {
+            _special.gotUndefined(name);
+        } else {
+            field(name);
+            putUndefined(name);
+        }
+    }
+
+    public void gotMinKey(final String name) {
+        if (special(name)) {
+            _special.gotMinKey(name);
+        } else {
+            put(name, new MinKey());
+        }
+    }
+
+    public void gotMaxKey(final String name) {
+        if (special(name)) {
+            _special.gotMaxKey(name);
+        } else {
+            put(name, new MaxKey());
+        }
+    }
+
+    public void gotBoolean(final String name, final boolean v) {
+        if (special(name)) {
+            _special.gotBoolean(name, v);
+        } else {
+            field(name);
+            putBoolean(name, v);
+        }
+    }
+
+    public void gotDouble(final String name, final double v) {
+        if (special(name)) {
+            _special.gotDouble(name, v);
+        } else {
+            field(name);
+            putDouble(name, v);
+        }
+    }
+
+    public void gotInt(final String name, final int v) {
+        if (special(name)) {
+            _special.gotInt(name, v);
+        } else {
+            field(name);
+            putInt(name, v);
+        }
+    }
+
+    public void gotLong(final String name, final long v) {
+        if (special(name)) {
+            _special.gotLong(name, v);
+        } else {
+            field(name);
+            putLong(name, v);
+        }
+    }
+
+    public void gotDate(final String name, final long millis) {
+        if (special(name)) {
+            _special.gotDate(name, millis);
+        } else {
+            put(name, new Date(millis));
+        }
+    }
+
+    public void gotString(final String name, final String v) {
+        if (special(name)) {
+            _special.gotString(name, v);
+        } else {
+            field(name);
+            if (name.equals("$where")) {
+                // written as code, like the encoder does
+                _encoder.put(name, v);
+            } else {
+                putString(name, v);
+            }
+        }
+    }
+
+    public void gotSymbol(final String name, final String v) {
+        if (special(name)) {
+            _special.gotSymbol(name, v);
+        } else {
+            put(name, new Symbol(v));
+        }
+    }
+
+    public void gotRegex(final String name, final String pattern, final String flags) {
+        if (special(name)) {
+            _special.gotRegex(name, pattern, flags);
+        } else {
+            put(name, Pattern.compile(pattern, BSON.regexFlags(flags)));
+        }
+    }
+
+    public void gotTimestamp(final String name, final int time, final int inc) {
+        if (special(name)) {
+            _special.gotTimestamp(name, time, inc);
+        } else {
+            put(name, new BSONTimestamp(time, inc));
+        }
+    }
+
+    public void gotObjectId(final String name, final ObjectId id) {
+        if (special(name)) {
+            _special.gotObjectId(name, id);
+        } else {
+            put(name, id);
+        }
+    }
+
+    public void gotDBRef(final String name, final String ns, final ObjectId id) {
+        if (special(name)) {
+            _special.gotDBRef(name, ns, id);
+        } else {
+            put(name, new DBRef(null, ns, id));
+        }
+    }
+
+    @Deprecated
+    public void gotBinaryArray(final String name, final byte[] data) {
+        if (special(name)) {
+            _special.gotBinaryArray(name, data);
+        } else {
+            put(name, data);
+        }
+    }
+
+    public void gotBinary(final String name, final byte type, final byte[] data) {
+        if (special(name)) {
+            _special.gotBinary(name, type, data);
+        } else {
+            put(name, new Binary(type, data));
+        }
+    }
+
+    public void gotUUID(final String name, final long part1, final long part2) {
+        if (special(name)) {
+            _special.gotUUID(name, part1, part2);
+        } else {
+            put(name, new UUID(part1, part2));
+        }
+    }
+
+    public void gotCode(final String name, final String code) {
+        if (special(name)) {
+            _special.gotCode(name, code);
+        } else {
+            put(name, new Code(code));
+        }
+    }
+
+    public void gotCodeWScope(final String name, final String code, final Object scope) {
+        if (special(name)) {
+            _special.gotCodeWScope(name, code, scope);
+        } else {
+            put(name, new CodeWScope(code, (BSONObject) scope));
+        }
+    }
+
+    private void put(final String name, final Object value) {
+        field(name);
+        _encoder.put(name, value);
+    }
+
+    /**
+     * Checks whether the field belongs to extended JSON, which is collected with a JSONCallback until its object is
+     * done.  The first field of an object decides whether the object is extended JSON.
+     */
+    private boolean special(final String name) {
+        if (_special != null) {
+            return true;
+        }
+        Frame frame = _stack.get(_stack.size() - 1);
+        if (frame.sizePos != -1 || _stack.size() == 1 || !SPECIAL_FIELDS.contains(name)) {
+            return false;
+        }
+        _special = new JSONCallback();
+        _special.objectStart();
+        return true;
+    }
+
+    // makes sure the enclosing object's header is written before one of its fields
+    private void field(final String name) {
+        Frame frame = _stack.get(_stack.size() - 1);
+        frame.writeHeader();
+        if (_stack.size() == 1 && !frame.array && name.equals("_id")) {
+            _sawId = true;
+        }
+    }
+
+    private class Frame {
+        Frame(final String name, final boolean array) {
+            this.name = name;
+            this.array = array;
+        }
+
+        // the header is written lazily, as the first field of an object decides whether it is extended JSON
+        void writeHeader() {
+            if (sizePos != -1) {
+                return;
+            }
+            if (name != null) {
+                _out.write(array ? BSON.ARRAY : BSON.OBJECT);
+                _out.writeCString(name);
+            }
+            sizePos = _out.getPosition();
+            _out.writeInt(0);
+        }
+
+        final String name;
+        final boolean array;
+        int sizePos = -1;
+    }
+
+    // writes the values that need the encoder, such as the special types and database references
+    private class Encoder extends DefaultDBEncoder {
+        void put(final String name, final Object value) {
+            set(_out);
+            try {
+                _putObjectField(name, value);
+            } finally {
+                done();
+            }
+        }
+    }
+
+    private void putNull(final String name) {
+        _out.write(BSON.NULL);
+        _out.writeCString(checkName(name));
+    }
+
+    private void putUndefined(final String name) {
+        _out.write(BSON.UNDEFINED);
+        _out.writeCString(checkName(name));
+    }
+
+    private void putBoolean(final String name, final boolean v) {
+        _out.write(BSON.BOOLEAN);
+        _out.writeCString(checkName(name));
+        _out.write(v ? 1 : 0);
+    }
+
+    private void putDouble(final String name, final double v) {
+        _out.write(BSON.NUMBER);
+        _out.writeCString(checkName(name));
+        _out.writeDouble(v);
+    }
+
+    private void putInt(final String name, final int v) {
+        _out.write(BSON.NUMBER_INT);
+        _out.writeCString(checkName(name));
+        _out.writeInt(v);
+    }
+
+    private void putLong(final String name, final long v) {
+        _out.write(BSON.NUMBER_LONG);
+        _out.writeCString(checkName(name));
+        _out.writeLong(v);
+    }
+
+    private void putString(final String name, final String v) {
+        _out.write(BSON.STRING);
+        _out.writeCString(checkName(name));
+        int lengthPos = _out.getPosition();
+        _out.writeInt(0);
+        int length = _out.writeCString(v);
+        _out.writeInt(lengthPos, length);
+    }
+
+    private static String checkName(final String name) {
+        if (name.indexOf('\0') != -1) {
+            throw new IllegalArgumentException("Document field names can't have a NULL character. (Bad Key: '" + name + "')");
+        }
+        return name;
+    }
+
+    // the fields that JSONCallback turns into special types, and the ones that go with them
+    private static final Set<String> SPECIAL_FIELDS = new HashSet<String>(Arrays.asList(
+            "$oid", "$date", "$regex", "$options", "$ts", "$inc", "$timestamp", "$code", "$scope", "$ref", "$id",
+            "$minKey", "$maxKey", "$uuid", "$binary", "$type"));
+
+    private final List<Frame> _stack = new ArrayList<Frame>();
+    private final Encoder _encoder = new Encoder();
+    private OutputBuffer _out;
+    private boolean _ensureId;
+    private boolean _sawId;
+    private JSONCallback _special;
+    private int _specialDepth;
+    private Integer _size;
+}
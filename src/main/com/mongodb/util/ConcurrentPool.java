@@ -0,0 +1,366 @@
+/**
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link SimplePool} which never takes a pool-wide lock.  Each thread first tries to get back the member it returned
+ * last, then falls back to a lock-free stack of available members, and only then creates a new one.  The number of
+ * members checked out at once is bounded by a semaphore, exactly as in {@code SimplePool}.  The lists of members that
+ * {@code SimplePool} keeps are not used and stay empty, and {@link #pick} is not called.
+ *
+ * @deprecated This class is NOT a part of public API and will be dropped in 3.x versions.
+ */
+@Deprecated
+public abstract class ConcurrentPool<T> extends SimplePool<T> {
+
+    /**
+     * Initializes a new pool of objects.
+     *
+     * @param name name for the pool
+     * @param size max to hold to at any given time
+     */
+    public ConcurrentPool(final String name, final int size) {
+        super(name, size);
+        _sem = new Semaphore(size);
+    }
+
+    /**
+     * call done when you are done with an object from the pool
+     *
+     * @param t Object to add
+     */
+    @Override
+    public void done(final T t) {
+        if (_closed) {
+            if (_members.remove(t) != null) {
+                _inUse.decrementAndGet();
+                _total.decrementAndGet();
+            }
+            cleanup(t);
+            return;
+        }
+
+        Member<T> member = _members.get(t);
+        if (member == null || !member.available.compareAndSet(false, true)) {
+            throw new RuntimeException("trying to put something back in the pool wasn't checked out");
+        }
+        _inUse.decrementAndGet();
+
+        _lastReturned.set(member);
+        // a member that was taken back through the thread affinity slot may still be on the stack
+        if (member.stacked.compareAndSet(false, true)) {
+            push(member);
+        }
+
+        if (_closed) {
+            cleanupAvailable();
+        }
+        _sem.release();
+    }
+
+    @Override
+    public void remove(final T t) {
+        done(t);
+    }
+
+    /**
+     * Gets an object from the pool - will block if none are available
+     *
+     * @return An object from the pool
+     */
+    @Override
+    public T get() throws InterruptedException {
+        return get(-1);
+    }
+
+    /**
+     * Gets an object from the pool - will block if none are available
+     *
+     * @param waitTime negative - forever 0        - return immediately no matter what positive ms to wait
+     * @return An object from the pool, or null if can't get one in the given waitTime
+     */
+    @Override
+    public T get(final long waitTime) throws InterruptedException {
+        if (!permitAcquired(waitTime)) {
+            return null;
+        }
+
+        try {
+            T t = checkOut();
+            _inUse.incrementAndGet();
+            return t;
+        } catch (RuntimeException e) {
+            _sem.release();
+            throw e;
+        } catch (Error e) {
+            _sem.release();
+            throw e;
+        }
+    }
+
+    private T checkOut() {
+        Member<T> member = _lastReturned.get();
+        if (member != null && member.available.compareAndSet(true, false)) {
+            return member.item;
+        }
+
+        while (true) {
+            member = pop();
+            if (member != null) {
+                if (member.available.compareAndSet(true, false)) {
+                    return member.item;
+                }
+                // taken through somebody's affinity slot; it gets pushed again when it's returned
+                continue;
+            }
+
+            int total = _total.get();
+            if (total < _size) {
+                if (_total.compareAndSet(total, total + 1)) {
+                    return createMember();
+                }
+                continue;
+            }
+
+            // a member is on its way back to the stack, and the permit we hold guarantees we get it
+            Thread.yield();
+        }
+    }
+
+    private T createMember() {
+        try {
+            T newMember = createNew();
+            if (newMember == null) {
+                throw new IllegalStateException("null pool members are not allowed");
+            }
+            _members.put(newMember, new Member<T>(newMember));
+            return newMember;
+        } catch (RuntimeException e) {
+            _total.decrementAndGet();
+            throw e;
+        } catch (Error e) {
+            _total.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private boolean permitAcquired(final long waitTime) throws InterruptedException {
+        if (waitTime > 0) {
+            return _sem.tryAcquire(waitTime, TimeUnit.MILLISECONDS);
+        } else if (waitTime < 0) {
+            _sem.acquire();
+            return true;
+        } else {
+            return _sem.tryAcquire();
+        }
+    }
+
+    /**
+     * Clears the pool of all objects.  Objects that are checked out are cleaned up when they are returned.
+     */
+    @Override
+    protected void close() {
+        _closed = true;
+        cleanupAvailable();
+    }
+
+    /**
+     * Override this to have {@link #prune()} remove members that should no longer be handed out.
+     *
+     * @param t an available member
+     * @return true if the member should be removed from the pool
+     */
+    protected boolean shouldPrune(final T t) {
+        return false;
+    }
+
+    /**
+     * Override this to prepare a member created by {@link #ensureMinSize(int)} before it becomes available, for
+     * example by connecting it.  Implementations should throw a runtime exception if unable to.
+     *
+     * @param t the new member
+     */
+    protected void prepare(final T t) {
+    }
+
+    /**
+     * Removes and cleans up the available members for which {@link #shouldPrune} returns true.  Members that are
+     * checked out are left alone.
+     *
+     * @return the number of members removed
+     */
+    public int prune() {
+        int pruned = 0;
+        for (Member<T> member : _members.values()) {
+            if (member.available.get() && shouldPrune(member.item) && member.available.compareAndSet(true, false)) {
+                // whatever is left of it on the stack is skipped when popped, as it can't be claimed anymore
+                _members.remove(member.item);
+                _total.decrementAndGet();
+                cleanup(member.item);
+                pruned++;
+            }
+        }
+        return pruned;
+    }
+
+    /**
+     * Creates and prepares new members until the pool holds at least {@code minSize} of them, counting the ones that
+     * are checked out.  The new members are made available without being checked out.
+     *
+     * @param minSize the minimum size, which is capped at the maximum size of the pool
+     * @return the number of members created
+     */
+    public int ensureMinSize(final int minSize) {
+        int created = 0;
+        while (!_closed) {
+            int total = _total.get();
+            if (total >= Math.min(minSize, _size)) {
+                break;
+            }
+            if (!_total.compareAndSet(total, total + 1)) {
+                continue;
+            }
+
+            T t = createMember();
+            Member<T> member = _members.get(t);
+            try {
+                prepare(t);
+            } catch (RuntimeException e) {
+                _members.remove(t);
+                _total.decrementAndGet();
+                cleanup(t);
+                throw e;
+            }
+            member.available.set(true);
+            member.stacked.set(true);
+            push(member);
+            created++;
+        }
+        if (_closed) {
+            cleanupAvailable();
+        }
+        return created;
+    }
+
+    private void cleanupAvailable() {
+        Member<T> member;
+        while ((member = pop()) != null) {
+            if (member.available.compareAndSet(true, false)) {
+                _members.remove(member.item);
+                _total.decrementAndGet();
+                cleanup(member.item);
+            }
+        }
+    }
+
+    /**
+     * @return a snapshot of the objects that are currently checked out
+     */
+    protected List<T> getInUseMembers() {
+        List<T> inUse = new ArrayList<T>();
+        for (Member<T> member : _members.values()) {
+            if (!member.available.get()) {
+                inUse.add(member.item);
+            }
+        }
+        return inUse;
+    }
+
+    @Override
+    public int getTotal() {
+        return _total.get();
+    }
+
+    @Override
+    public int getInUse() {
+        return _inUse.get();
+    }
+
+    @Override
+    public int getAvailable() {
+        return Math.max(0, getTotal() - getInUse());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder();
+        buf.append("pool: ").append(_name)
+           .append(" maxToKeep: ").append(_size)
+           .append(" avail ").append(getAvailable())
+           .append(" out ").append(getInUse());
+        return buf.toString();
+    }
+
+    private void push(final Member<T> member) {
+        Node<T> node = new Node<T>(member);
+        do {
+            node.next = _top.get();
+        } while (!_top.compareAndSet(node.next, node));
+    }
+
+    private Member<T> pop() {
+        while (true) {
+            Node<T> top = _top.get();
+            if (top == null) {
+                return null;
+            }
+            if (_top.compareAndSet(top, top.next)) {
+                top.member.stacked.set(false);
+                return top.member;
+            }
+        }
+    }
+
+    private static final class Member<T> {
+        Member(final T item) {
+            this.item = item;
+        }
+
+        final T item;
+        // false while checked out
+        final AtomicBoolean available = new AtomicBoolean();
+        // true while on the stack, so that each member is on it at most once
+        final AtomicBoolean stacked = new AtomicBoolean();
+    }
+
+    private static final class Node<T> {
+        Node(final Member<T> member) {
+            this.member = member;
+        }
+
+        final Member<T> member;
+        Node<T> next;
+    }
+
+    private final Semaphore _sem;
+    private final ConcurrentMap<T, Member<T>> _members = new ConcurrentHashMap<T, Member<T>>();
+    private final AtomicReference<Node<T>> _top = new AtomicReference<Node<T>>();
+    private final ThreadLocal<Member<T>> _lastReturned = new ThreadLocal<Member<T>>();
+    private final AtomicInteger _total = new AtomicInteger();
+    private final AtomicInteger _inUse = new AtomicInteger();
+    private volatile boolean _closed;
+}
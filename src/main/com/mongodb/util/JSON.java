@@ -24,6 +24,9 @@ import com.mongodb.DBObject;
 
 /**
  *   Helper methods for JSON serialization and de-serialization
+ *
+ *   @see JSONReader for parsing a stream of documents without reading it into a String first
+ *   @see JSONWriter for serializing a stream of documents straight to a Writer
  */
 public class JSON {
 
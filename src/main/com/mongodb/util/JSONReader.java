@@ -0,0 +1,403 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.util;
+
+import org.bson.BSONCallback;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a sequence of JSON documents from a {@link Reader}, such as the output of mongoexport, one document at a time.
+ * <p>
+ * The text is read through a fixed size buffer and each document is handed to a {@link BSONCallback} as it is parsed,
+ * so only the document being read is ever held in memory, and never as a String.  The documents may be separated by
+ * any whitespace.  The syntax accepted is the same as {@link JSON#parse(String)}, except that each document must be an
+ * object or an array.
+ * <p>
+ * Instances of this class are not thread-safe.
+ *
+ * @since 2.12.0
+ */
+public class JSONReader implements Closeable {
+
+    /**
+     * Creates a reader that builds each document with a {@link JSONCallback}, which turns extended JSON such as
+     * <code>{ "$oid" : ... }</code> into the corresponding types.
+     *
+     * @param reader the source of the text
+     */
+    public JSONReader(final Reader reader) {
+        this(reader, new JSONCallback());
+    }
+
+    /**
+     * Creates a reader that hands each document to the given callback.  The callback is reset before each document.
+     *
+     * @param reader   the source of the text
+     * @param callback the callback to call while parsing
+     */
+    public JSONReader(final Reader reader, final BSONCallback callback) {
+        if (reader == null) {
+            throw new IllegalArgumentException("reader can not be null");
+        }
+        if (callback == null) {
+            throw new IllegalArgumentException("callback can not be null");
+        }
+        _reader = reader;
+        _callback = callback;
+    }
+
+    /**
+     * @return true if there is another document to read
+     * @throws IOException if the underlying reader fails
+     */
+    public boolean hasNext() throws IOException {
+        return peekNonWhitespace() != -1;
+    }
+
+    /**
+     * Parses the next document.
+     *
+     * @return the value returned by the callback when the document is done
+     * @throws IOException            if the underlying reader fails
+     * @throws JSONParseException     if the text is not valid JSON
+     * @throws NoSuchElementException if there are no more documents
+     */
+    public Object next() throws IOException {
+        int c = peekNonWhitespace();
+        if (c == -1) {
+            throw new NoSuchElementException();
+        }
+        _callback.reset();
+        if (c == '{') {
+            return parseObject(null);
+        }
+        if (c == '[') {
+            return parseArray(null);
+        }
+        throw error();
+    }
+
+    /**
+     * Closes the underlying reader.
+     *
+     * @throws IOException if the underlying reader fails
+     */
+    public void close() throws IOException {
+        _reader.close();
+    }
+
+    private Object parseObject(final String name) throws IOException {
+        if (name == null) {
+            _callback.objectStart();
+        } else {
+            _callback.objectStart(name);
+        }
+        expect('{');
+        while (peekNonWhitespace() != '}') {
+            String key = parseKey();
+            if (peekNonWhitespace() != ':') {
+                throw error();
+            }
+            _pos++;
+            parseValue(key);
+            if (peekNonWhitespace() != ',') {
+                break;
+            }
+            _pos++;
+        }
+        expect('}');
+        return _callback.objectDone();
+    }
+
+    private Object parseArray(final String name) throws IOException {
+        if (name == null) {
+            _callback.arrayStart();
+        } else {
+            _callback.arrayStart(name);
+        }
+        expect('[');
+        int i = 0;
+        if (peekNonWhitespace() != ']') {
+            while (true) {
+                parseValue(indexName(i++));
+                int c = peekNonWhitespace();
+                if (c == ']') {
+                    break;
+                }
+                if (c != ',') {
+                    throw error();
+                }
+                _pos++;
+            }
+        }
+        expect(']');
+        return _callback.arrayDone();
+    }
+
+    private void parseValue(final String name) throws IOException {
+        switch (peekNonWhitespace()) {
+            case 'n':
+                expectWord("null");
+                _callback.gotNull(name);
+                break;
+            case 'N':
+                expectWord("NaN");
+                _callback.gotDouble(name, Double.NaN);
+                break;
+            case 't':
+                expectWord("true");
+                _callback.gotBoolean(name, true);
+                break;
+            case 'f':
+                expectWord("false");
+                _callback.gotBoolean(name, false);
+                break;
+            case '\'':
+            case '"':
+                _callback.gotString(name, parseQuotedString());
+                break;
+            case '0': case '1': case '2': case '3': case '4': case '5': case '6': case '7': case '8': case '9':
+            case '+': case '-':
+                parseNumber(name);
+                break;
+            case '[':
+                parseArray(name);
+                break;
+            case '{':
+                parseObject(name);
+                break;
+            default:
+                throw error();
+        }
+    }
+
+    private String parseKey() throws IOException {
+        int c = peekNonWhitespace();
+        if (c == '\'' || c == '"') {
+            return parseQuotedString();
+        }
+        // unquoted keys run up to the colon or the first whitespace
+        _chars.setLength(0);
+        while ((c = peek()) != -1 && c != ':' && !Character.isWhitespace(c)) {
+            _chars.append((char) c);
+            _pos++;
+        }
+        return _chars.toString();
+    }
+
+    private String parseQuotedString() throws IOException {
+        final char quote = (char) peek();
+        _pos++;
+        _chars.setLength(0);
+        while (true) {
+            // copy runs of plain characters straight from the buffer
+            int start = _pos;
+            while (_pos < _limit && _buf[_pos] != quote && _buf[_pos] != '\\') {
+                _pos++;
+            }
+            _chars.append(_buf, start, _pos - start);
+
+            int c = peek();
+            if (c == -1) {
+                throw error();
+            }
+            _pos++;
+            if (c == quote) {
+                return _chars.toString();
+            }
+            if (c == '\\') {
+                _chars.append(parseEscape());
+            } else {
+                // the run stopped at the end of the buffer
+                _chars.append((char) c);
+            }
+        }
+    }
+
+    private char parseEscape() throws IOException {
+        int c = peek();
+        if (c == -1) {
+            throw error();
+        }
+        _pos++;
+        switch (c) {
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'u':
+                int codePoint = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = peek() == -1 ? -1 : Character.digit((char) peek(), 16);
+                    if (digit == -1) {
+                        throw error();
+                    }
+                    _pos++;
+                    codePoint = (codePoint << 4) | digit;
+                }
+                return (char) codePoint;
+            default:
+                // covers \" \' \\ and \/, and like JSON.parse keeps the character of any other escape
+                return (char) c;
+        }
+    }
+
+    private void parseNumber(final String name) throws IOException {
+        _chars.setLength(0);
+        boolean isDouble = false;
+        boolean negative = false;
+        int digits = 0;
+        long value = 0;
+
+        int c = peek();
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            _chars.append((char) c);
+            _pos++;
+        }
+        while (true) {
+            c = peek();
+            if (c >= '0' && c <= '9') {
+                if (!isDouble) {
+                    value = value * 10 + (c - '0');
+                    digits++;
+                }
+            } else if (c == '.' || c == 'e' || c == 'E') {
+                isDouble = true;
+            } else if ((c == '-' || c == '+') && isExponent(_chars.charAt(_chars.length() - 1))) {
+                isDouble = true;
+            } else {
+                break;
+            }
+            _chars.append((char) c);
+            _pos++;
+        }
+
+        try {
+            if (isDouble) {
+                _callback.gotDouble(name, Double.parseDouble(_chars.toString()));
+                return;
+            }
+            if (digits == 0) {
+                throw error();
+            }
+            if (digits > 18) {
+                // the digits may not fit in a long, so let Long decide
+                String s = _chars.charAt(0) == '+' ? _chars.substring(1) : _chars.toString();
+                value = Long.parseLong(s);
+            } else if (negative) {
+                value = -value;
+            }
+        } catch (NumberFormatException e) {
+            throw error(e);
+        }
+
+        if (value <= Integer.MAX_VALUE && value >= Integer.MIN_VALUE) {
+            _callback.gotInt(name, (int) value);
+        } else {
+            _callback.gotLong(name, value);
+        }
+    }
+
+    private static boolean isExponent(final char c) {
+        return c == 'e' || c == 'E';
+    }
+
+    private void expect(final char c) throws IOException {
+        if (peekNonWhitespace() != c) {
+            throw error();
+        }
+        _pos++;
+    }
+
+    private void expectWord(final String word) throws IOException {
+        for (int i = 0; i < word.length(); i++) {
+            if (peek() != word.charAt(i)) {
+                throw error();
+            }
+            _pos++;
+        }
+    }
+
+    private int peekNonWhitespace() throws IOException {
+        int c;
+        while ((c = peek()) != -1 && Character.isWhitespace(c)) {
+            _pos++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (_pos == _limit && !fill()) {
+            return -1;
+        }
+        return _buf[_pos];
+    }
+
+    private boolean fill() throws IOException {
+        int n;
+        do {
+            n = _reader.read(_buf, 0, _buf.length);
+        } while (n == 0);
+        _pos = 0;
+        _limit = Math.max(n, 0);
+        return n > 0;
+    }
+
+    private JSONParseException error() {
+        return error(null);
+    }
+
+    // the message shows the text around the error, as far as it is still in the buffer
+    private JSONParseException error(final Throwable cause) {
+        int from = Math.max(0, _pos - ERROR_CONTEXT);
+        int to = Math.min(_limit, _pos + ERROR_CONTEXT);
+        String context = new String(_buf, from, to - from);
+        return cause == null ? new JSONParseException(context, _pos - from) : new JSONParseException(context, _pos - from, cause);
+    }
+
+    private static String indexName(final int i) {
+        return i < INDEX_NAMES.length ? INDEX_NAMES[i] : String.valueOf(i);
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int ERROR_CONTEXT = 40;
+    private static final String[] INDEX_NAMES = new String[1000];
+
+    static {
+        for (int i = 0; i < INDEX_NAMES.length; i++) {
+            INDEX_NAMES[i] = String.valueOf(i);
+        }
+    }
+
+    private final Reader _reader;
+    private final BSONCallback _callback;
+    private final char[] _buf = new char[BUFFER_SIZE];
+    private final StringBuilder _chars = new StringBuilder();
+    private int _pos;
+    private int _limit;
+}
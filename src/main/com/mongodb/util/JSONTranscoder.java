@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.util;
+
+import com.mongodb.DBObject;
+import com.mongodb.LazyDBCallback;
+import com.mongodb.LazyDBObject;
+import org.bson.io.OutputBuffer;
+import org.bson.io.PoolOutputBuffer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.NoSuchElementException;
+
+/**
+ * Transcodes between JSON text and BSON without building a map for each document.
+ * <p>
+ * Reading JSON writes each document straight into an {@link OutputBuffer} through a {@link BSONOutputCallback}.  A
+ * bulk loader can then insert the documents returned by {@link #nextDBObject()}, which are {@link LazyDBObject}s
+ * over the BSON, with a {@link com.mongodb.LazyDBEncoder} so that the bytes are copied into the message as they are:
+ * <pre>
+ * JSONTranscoder transcoder = new JSONTranscoder(reader);
+ * while (transcoder.hasNext()) {
+ *     collection.insert(Arrays.asList(transcoder.nextDBObject()), WriteConcern.ACKNOWLEDGED, new LazyDBEncoder());
+ * }
+ * </pre>
+ * Going the other way, {@link #serialize(byte[], StringBuilder)} serializes BSON to JSON by reading the values
+ * straight out of the bytes.
+ * <p>
+ * Instances of this class are not thread-safe.
+ *
+ * @since 2.12.0
+ */
+public class JSONTranscoder implements Closeable {
+
+    /**
+     * Creates a transcoder that reads a sequence of JSON documents, as {@link JSONReader} does.
+     *
+     * @param reader the source of the text
+     */
+    public JSONTranscoder(final Reader reader) {
+        _callback = new BSONOutputCallback(_buffer);
+        _reader = new JSONReader(reader, _callback);
+    }
+
+    /**
+     * @return true if there is another document to read
+     * @throws IOException if the underlying reader fails
+     */
+    public boolean hasNext() throws IOException {
+        return _reader.hasNext();
+    }
+
+    /**
+     * Writes the next document as BSON at the current position of the given buffer.
+     *
+     * @param out the buffer to write to
+     * @return the size of the document in bytes
+     * @throws IOException            if the underlying reader fails
+     * @throws JSONParseException     if the text is not valid JSON
+     * @throws NoSuchElementException if there are no more documents
+     */
+    public int next(final OutputBuffer out) throws IOException {
+        _callback.set(out);
+        _callback.setEnsureId(false);
+        return (Integer) _reader.next();
+    }
+
+    /**
+     * Reads the next document as a {@link LazyDBObject}, adding an <code>_id</code> if the document doesn't have one
+     * so that it can be inserted as it is.
+     *
+     * @return the next document
+     * @throws IOException            if the underlying reader fails
+     * @throws JSONParseException     if the text is not valid JSON
+     * @throws NoSuchElementException if there are no more documents
+     */
+    public DBObject nextDBObject() throws IOException {
+        _buffer.reset();
+        _callback.set(_buffer);
+        _callback.setEnsureId(true);
+        _reader.next();
+        return new LazyDBObject(_buffer.toByteArray(), new LazyDBCallback(null));
+    }
+
+    /**
+     * Closes the underlying reader.
+     *
+     * @throws IOException if the underlying reader fails
+     */
+    public void close() throws IOException {
+        _reader.close();
+    }
+
+    /**
+     * Serializes a BSON document to JSON in the same form as {@link JSON#serialize(Object)}.
+     *
+     * @param bson the document
+     * @param buf  the buffer to serialize into
+     */
+    public static void serialize(final byte[] bson, final StringBuilder buf) {
+        serialize(bson, JSONSerializers.getLegacy(), buf);
+    }
+
+    /**
+     * Serializes a BSON document to JSON with the given serializer.
+     *
+     * @param bson       the document
+     * @param serializer the serializer, such as {@link JSONSerializers#getStrict()}
+     * @param buf        the buffer to serialize into
+     */
+    public static void serialize(final byte[] bson, final ObjectSerializer serializer, final StringBuilder buf) {
+        serializer.serialize(new LazyDBObject(bson, new LazyDBCallback(null)), buf);
+    }
+
+    private final PoolOutputBuffer _buffer = new PoolOutputBuffer();
+    private final BSONOutputCallback _callback;
+    private final JSONReader _reader;
+}
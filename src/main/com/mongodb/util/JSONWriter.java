@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.util;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes a sequence of documents to a {@link Writer} as JSON, one document per line, in the form read back by
+ * {@link JSONReader}.
+ * <p>
+ * Each document is serialized into a buffer that is reused for the next one and then copied to the writer, so that
+ * neither the whole output nor a String per document is ever built.
+ * <p>
+ * Instances of this class are not thread-safe.
+ *
+ * @since 2.12.0
+ */
+public class JSONWriter implements Closeable, Flushable {
+
+    /**
+     * Creates a writer that serializes with {@link JSONSerializers#getLegacy()}, like {@link JSON#serialize(Object)}.
+     *
+     * @param writer the destination of the text
+     */
+    public JSONWriter(final Writer writer) {
+        this(writer, JSONSerializers.getLegacy());
+    }
+
+    /**
+     * Creates a writer that serializes with the given serializer.
+     *
+     * @param writer     the destination of the text
+     * @param serializer the serializer for each document
+     */
+    public JSONWriter(final Writer writer, final ObjectSerializer serializer) {
+        if (writer == null) {
+            throw new IllegalArgumentException("writer can not be null");
+        }
+        if (serializer == null) {
+            throw new IllegalArgumentException("serializer can not be null");
+        }
+        _writer = writer;
+        _serializer = serializer;
+    }
+
+    /**
+     * Writes a document followed by a newline.
+     *
+     * @param document the document to write
+     * @throws IOException if the underlying writer fails
+     */
+    public void write(final Object document) throws IOException {
+        _buf.setLength(0);
+        _serializer.serialize(document, _buf);
+        _buf.append('\n');
+
+        for (int start = 0; start < _buf.length(); start += _chars.length) {
+            int end = Math.min(_buf.length(), start + _chars.length);
+            _buf.getChars(start, end, _chars, 0);
+            _writer.write(_chars, 0, end - start);
+        }
+
+        // don't hold on to the space taken by an unusually large document
+        if (_buf.capacity() > MAX_RETAINED_CAPACITY) {
+            _buf = new StringBuilder(INITIAL_CAPACITY);
+        }
+    }
+
+    /**
+     * Flushes the underlying writer.
+     *
+     * @throws IOException if the underlying writer fails
+     */
+    public void flush() throws IOException {
+        _writer.flush();
+    }
+
+    /**
+     * Closes the underlying writer.
+     *
+     * @throws IOException if the underlying writer fails
+     */
+    public void close() throws IOException {
+        _writer.close();
+    }
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_RETAINED_CAPACITY = 1024 * 1024;
+
+    private final Writer _writer;
+    private final ObjectSerializer _serializer;
+    private final char[] _chars = new char[8192];
+    private StringBuilder _buf = new StringBuilder(INITIAL_CAPACITY);
+}
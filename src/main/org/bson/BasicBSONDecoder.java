@@ -19,7 +19,9 @@ import static org.bson.BSON.*;
 
 import java.io.*;
 
+import org.bson.io.FieldNameCache;
 import org.bson.io.PoolOutputBuffer;
+import org.bson.io.UTF8Encoding;
 import org.bson.types.ObjectId;
 
 
@@ -461,6 +463,17 @@ public class BasicBSONDecoder implements BSONDecoder {
 
         public String readCStr() throws IOException {
 
+            // when the whole string is already buffered it can be looked up in the name cache without copying it
+            for ( int i = _pos; i < _len; i++ ){
+                if ( _inputBuffer[i] == 0 ){
+                    final int start = _pos;
+                    final int length = i - start;
+                    _pos = i + 1;
+                    _read += length + 1;
+                    return FieldNameCache.shared().get( _inputBuffer , start , length );
+                }
+            }
+
             boolean isAscii = true;
 
             // short circuit 1 byte strings
@@ -515,19 +528,14 @@ public class BasicBSONDecoder implements BSONDecoder {
                     return "";
                 }
 
-                return new String( _inputBuffer , _need(size) , size - 1 , DEFAULT_ENCODING );
+                return UTF8Encoding.decodeOrReplace( _inputBuffer , _need(size) , size - 1 );
             }
 
             final byte [] b = size < _random.length ? _random : new byte[size];
 
             fill( b , size );
 
-            try {
-                return new String( b , 0 , size - 1 , DEFAULT_ENCODING );
-            }
-            catch ( java.io.UnsupportedEncodingException uee ){
-                throw new BSONException( "impossible" , uee );
-            }
+            return UTF8Encoding.decodeOrReplace( b , 0 , size - 1 );
         }
 
         public int numRead() {
@@ -45,12 +45,15 @@ import static org.bson.BSON.regexFlags;
 
 import java.lang.reflect.Array;
 import java.nio.Buffer;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
@@ -227,66 +230,10 @@ public class BasicBSONEncoder implements BSONEncoder {
 
         if ( val == null )
             putNull(name);
-        else if ( val instanceof Date )
-            putDate( name , (Date)val );
-        else if ( val instanceof Number )
-            putNumber(name, (Number)val );
-        else if ( val instanceof Character )
-            putString(name, val.toString() );
-        else if ( val instanceof String )
-            putString(name, val.toString() );
-        else if ( val instanceof ObjectId )
-            putObjectId(name, (ObjectId)val );
-        else if ( val instanceof BSONObject )
-            putObject(name, (BSONObject)val );
-        else if ( val instanceof Boolean )
-            putBoolean(name, (Boolean)val );
-        else if ( val instanceof Pattern )
-            putPattern(name, (Pattern)val );
-        else if ( val instanceof Map )
-            putMap( name , (Map)val );
-        else if ( val instanceof Iterable)
-            putIterable( name , (Iterable)val );
-        else if ( val instanceof byte[] )
-            putBinary( name , (byte[])val );
-        else if ( val instanceof Binary )
-            putBinary( name , (Binary)val );
-        else if ( val instanceof UUID )
-            putUUID( name , (UUID)val );
-        else if ( val.getClass().isArray() )
-        	putArray( name , val );
-
-        else if (val instanceof Symbol) {
-            putSymbol(name, (Symbol) val);
-        }
-        else if (val instanceof BSONTimestamp) {
-            putTimestamp( name , (BSONTimestamp)val );
-        }
-        else if (val instanceof CodeWScope) {
-            putCodeWScope( name , (CodeWScope)val );
-        }
-        else if (val instanceof Code) {
-            putCode( name , (Code)val );
-        }
-        else if (val instanceof DBRefBase) {
-            BSONObject temp = new BasicBSONObject();
-            temp.put("$ref", ((DBRefBase)val).getRef());
-            temp.put("$id", ((DBRefBase)val).getId());
-            putObject( name, temp );
-        }
-        else if ( val instanceof MinKey )
-            putMinKey( name );
-        else if ( val instanceof MaxKey )
-            putMaxKey( name );
-        else if ( putSpecial( name , val ) ){
-            // no-op
-        }
-        else {
-            throw new IllegalArgumentException( "can't serialize " + val.getClass() );
-        }
-        
+        else
+            ValueWriter.forClass( val.getClass() ).write( this , name , val );
     }
-	
+
     private void putArray( String name , Object array ) {
         _put( ARRAY , name );
         final int sizePos = _buf.getPosition();
@@ -539,4 +486,197 @@ public class BasicBSONEncoder implements BSONEncoder {
     @Deprecated
     protected OutputBuffer _buf;
 
+    /**
+     * Writes the values of one kind.  The writer for a class is found once, by checking the class in the order in
+     * which the encoder has always checked values, and then cached, so that encoding a value only takes a lookup.  The
+     * writers call the same overridable methods as before, so that subclasses keep working unchanged.
+     */
+    private enum ValueWriter {
+        DATE {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                e.putDate( name , (Date)val );
+            }
+        },
+        NUMBER {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                e.putNumber( name , (Number)val );
+            }
+        },
+        STRING {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                e.putString( name , val.toString() );
+            }
+        },
+        OBJECT_ID {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                e.putObjectId( name , (ObjectId)val );
+            }
+        },
+        BSON_OBJECT {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                e.putObject( name , (BSONObject)val );
+            }
+        },
+        BOOLEAN {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                e.putBoolean( name , (Boolean)val );
+            }
+        },
+        PATTERN {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                e.putPattern( name , (Pattern)val );
+            }
+        },
+        MAP {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                e.putMap( name , (Map)val );
+            }
+        },
+        ITERABLE {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                e.putIterable( name , (Iterable)val );
+            }
+        },
+        BYTES {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                e.putBinary( name , (byte[])val );
+            }
+        },
+        BINARY {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                e.putBinary( name , (Binary)val );
+            }
+        },
+        UUID_VALUE {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                e.putUUID( name , (UUID)val );
+            }
+        },
+        ARRAY {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                e.putArray( name , val );
+            }
+        },
+        SYMBOL {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                e.putSymbol( name , (Symbol)val );
+            }
+        },
+        TIMESTAMP {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                e.putTimestamp( name , (BSONTimestamp)val );
+            }
+        },
+        CODE_W_SCOPE {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                e.putCodeWScope( name , (CodeWScope)val );
+            }
+        },
+        CODE {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                e.putCode( name , (Code)val );
+            }
+        },
+        DB_REF {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                BSONObject temp = new BasicBSONObject();
+                temp.put( "$ref" , ((DBRefBase)val).getRef() );
+                temp.put( "$id" , ((DBRefBase)val).getId() );
+                e.putObject( name , temp );
+            }
+        },
+        MIN_KEY {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                e.putMinKey( name );
+            }
+        },
+        MAX_KEY {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                e.putMaxKey( name );
+            }
+        },
+        SPECIAL {
+            void write( BasicBSONEncoder e , String name , Object val ){
+                if ( ! e.putSpecial( name , val ) )
+                    throw new IllegalArgumentException( "can't serialize " + val.getClass() );
+            }
+        };
+
+        abstract void write( BasicBSONEncoder e , String name , Object val );
+
+        static ValueWriter forClass( Class<?> c ){
+            ValueWriter writer = _writers.get( c );
+            if ( writer != null )
+                return writer;
+
+            if ( ! isDriverClass( c ) ){
+                writer = _applicationWriters.get( c );
+                if ( writer == null ){
+                    writer = resolve( c );
+                    _applicationWriters.put( c , writer );
+                }
+                return writer;
+            }
+
+            writer = resolve( c );
+            _writers.put( c , writer );
+            return writer;
+        }
+
+        private static boolean isDriverClass( Class<?> c ){
+            ClassLoader loader = c.getClassLoader();
+            return loader == null || loader == ValueWriter.class.getClassLoader();
+        }
+        private static ValueWriter resolve( Class<?> c ){
+            if ( Date.class.isAssignableFrom( c ) )
+                return DATE;
+            if ( Number.class.isAssignableFrom( c ) )
+                return NUMBER;
+            if ( Character.class.isAssignableFrom( c ) || String.class.isAssignableFrom( c ) )
+                return STRING;
+            if ( ObjectId.class.isAssignableFrom( c ) )
+                return OBJECT_ID;
+            if ( BSONObject.class.isAssignableFrom( c ) )
+                return BSON_OBJECT;
+            if ( Boolean.class.isAssignableFrom( c ) )
+                return BOOLEAN;
+            if ( Pattern.class.isAssignableFrom( c ) )
+                return PATTERN;
+            if ( Map.class.isAssignableFrom( c ) )
+                return MAP;
+            if ( Iterable.class.isAssignableFrom( c ) )
+                return ITERABLE;
+            if ( byte[].class == c )
+                return BYTES;
+            if ( Binary.class.isAssignableFrom( c ) )
+                return BINARY;
+            if ( UUID.class.isAssignableFrom( c ) )
+                return UUID_VALUE;
+            if ( c.isArray() )
+                return ARRAY;
+            if ( Symbol.class.isAssignableFrom( c ) )
+                return SYMBOL;
+            if ( BSONTimestamp.class.isAssignableFrom( c ) )
+                return TIMESTAMP;
+            if ( CodeWScope.class.isAssignableFrom( c ) )
+                return CODE_W_SCOPE;
+            if ( Code.class.isAssignableFrom( c ) )
+                return CODE;
+            if ( DBRefBase.class.isAssignableFrom( c ) )
+                return DB_REF;
+            if ( MinKey.class.isAssignableFrom( c ) )
+                return MIN_KEY;
+            if ( MaxKey.class.isAssignableFrom( c ) )
+                return MAX_KEY;
+            return SPECIAL;
+        }
+
+        private static final Map<Class<?>, ValueWriter> _writers = new ConcurrentHashMap<Class<?>, ValueWriter>();
+
+        // an application's classes are only held weakly, so that the driver, when shared between applications, doesn't
+        // keep their class loaders from being collected when they are redeployed
+        private static final Map<Class<?>, ValueWriter> _applicationWriters =
+                Collections.synchronizedMap( new WeakHashMap<Class<?>, ValueWriter>() );
+    }
+
 }
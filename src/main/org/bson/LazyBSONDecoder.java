@@ -66,5 +66,23 @@ public class LazyBSONDecoder implements BSONDecoder {
         return objSize;
     }
 
+    /**
+     * Decodes the document that starts at the given offset without copying it: the object handed to the callback is a
+     * view over {@code b}, so several documents can share one array.  The array must not be modified afterwards.
+     *
+     * @param b the array holding the document
+     * @param offset the offset of the document in the array
+     * @param callback the callback
+     * @return the size of the document in bytes
+     */
+    public int decode(byte[] b, int offset, LazyBSONCallback callback) {
+        int objSize = Bits.readInt(b, offset);
+        if (objSize < 5 || objSize > b.length - offset) {
+            throw new BSONException("bad document size: " + objSize + " at offset " + offset);
+        }
+        callback.setRootObject(callback.createObject(b, offset));
+        return objSize;
+    }
+
     private static int BYTES_IN_INTEGER = 4;
 }
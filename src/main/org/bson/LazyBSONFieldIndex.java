@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.bson;
+
+import org.bson.io.FieldNameCache;
+
+/**
+ * An index from field name to element offset over the bytes of one document, used by {@link LazyBSONObject} so that
+ * looking a field up neither walks the elements in front of it nor decodes their names.  It is an open addressing
+ * table of ints, keyed by the names' bytes, and never changes once built, so it can be shared between threads without
+ * locking.
+ */
+final class LazyBSONFieldIndex {
+
+    private final byte[] bytes;
+    private final int mask;
+    private final int[] hashes;
+    private final int[] offsets; // the offset of each name, or 0 for an empty slot
+
+    /**
+     * @param bytes the document's bytes
+     * @param nameOffsets the offsets of the field names, in document order
+     * @param count how many of {@code nameOffsets} are used
+     */
+    LazyBSONFieldIndex(final byte[] bytes, final int[] nameOffsets, final int count) {
+        int capacity = 4;
+        while (capacity < count * 2) {
+            capacity <<= 1;
+        }
+        this.bytes = bytes;
+        this.mask = capacity - 1;
+        this.hashes = new int[capacity];
+        this.offsets = new int[capacity];
+
+        for (int i = 0; i < count; i++) {
+            int offset = nameOffsets[i];
+            int hash = hash(bytes, offset);
+            int slot = spread(hash) & mask;
+            while (offsets[slot] != 0 && !(hashes[slot] == hash && sameName(offsets[slot], offset))) {
+                slot = (slot + 1) & mask;
+            }
+            // the first of several fields with the same name wins, as it does when scanning
+            if (offsets[slot] == 0) {
+                hashes[slot] = hash;
+                offsets[slot] = offset;
+            }
+        }
+    }
+
+    /**
+     * @param name the field name
+     * @return the offset of the field's name, or -1 if there is no such field
+     */
+    int find(final String name) {
+        int hash = name.hashCode();
+        int slot = spread(hash) & mask;
+        int offset;
+        while ((offset = offsets[slot]) != 0) {
+            if (hashes[slot] == hash && nameEquals(bytes, offset, name)) {
+                return offset;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Compares the C string at {@code offset} with {@code name} without decoding it, unless {@code name} is not ASCII.
+     */
+    static boolean nameEquals(final byte[] bytes, final int offset, final String name) {
+        int length = name.length();
+        for (int i = 0; i < length; i++) {
+            char c = name.charAt(i);
+            if (c >= 0x80) {
+                return name.equals(decode(bytes, offset));
+            }
+            if (c == 0 || bytes[offset + i] != c) {
+                return false;
+            }
+        }
+        return bytes[offset + length] == 0;
+    }
+
+    // the same as the hash code of the decoded name, which is what lookups have to hand
+    private static int hash(final byte[] bytes, final int offset) {
+        int hash = 0;
+        for (int i = offset; bytes[i] != 0; i++) {
+            if (bytes[i] < 0) {
+                return decode(bytes, offset).hashCode();
+            }
+            hash = 31 * hash + bytes[i];
+        }
+        return hash;
+    }
+
+    private boolean sameName(final int first, final int second) {
+        for (int i = 0; ; i++) {
+            if (bytes[first + i] != bytes[second + i]) {
+                return false;
+            }
+            if (bytes[first + i] == 0) {
+                return true;
+            }
+        }
+    }
+
+    private static String decode(final byte[] bytes, final int offset) {
+        int end = offset;
+        while (bytes[end] != 0) {
+            end++;
+        }
+        return FieldNameCache.shared().get(bytes, offset, end - offset);
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
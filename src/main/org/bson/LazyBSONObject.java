@@ -360,25 +360,61 @@ public class LazyBSONObject implements BSONObject {
     }
     
     /**
-     * returns the ElementRecord for the given key, or null if not found
+     * returns the ElementRecord for the given key, or null if not found.  The first lookup scans the document, which
+     * is cheapest when only one field is wanted, and later ones go through an index of all the fields built on the
+     * second.
      * @param key the field/key to find
-     * @return ElementRecord for key, or null
+     * @return ElementRecord for key, or null if not found or if key is null
      */
     ElementRecord getElement(String key){
+        if ( key == null )
+            return null;
+
+        LazyBSONFieldIndex index = _index;
+        if ( index == null ){
+            if ( _lookups++ == 0 )
+                return scanForElement( key );
+            index = buildIndex();
+            _index = index;
+        }
+
+        int offset = index.find( key );
+        return offset < 0 ? null : new ElementRecord( key, offset );
+    }
+
+    private ElementRecord scanForElement( String key ){
+        byte[] bytes = _input.array();
         int offset = _doc_start_offset + FIRST_ELMT_OFFSET;
- 
+
         while ( !isElementEmpty( offset ) ){
             int fieldSize = sizeCString( offset + 1 );
             int elementSize = getElementBSONSize( offset );
-            String name = _input.getCString( ++offset);
+            if ( LazyBSONFieldIndex.nameEquals( bytes , ++offset , key ) )
+                return new ElementRecord( key, offset );
+            offset += ( fieldSize + elementSize );
+        }
+
+        return null;
+    }
 
-            if (name.equals(key)) {
-                return new ElementRecord( name, offset );
+    private LazyBSONFieldIndex buildIndex(){
+        int[] names = new int[16];
+        int count = 0;
+        int offset = _doc_start_offset + FIRST_ELMT_OFFSET;
+
+        while ( !isElementEmpty( offset ) ){
+            int fieldSize = sizeCString( offset + 1 );
+            int elementSize = getElementBSONSize( offset );
+            if ( count == names.length ){
+                int[] grown = new int[count * 2];
+                System.arraycopy( names , 0 , grown , 0 , count );
+                names = grown;
             }
-            offset += ( fieldSize + elementSize);
+            names[count++] = ++offset;
+            offset += ( fieldSize + elementSize );
         }
 
-        return null;
+        return new LazyBSONFieldIndex( _input.array() , names , count );
     }
 
 
@@ -416,7 +452,7 @@ public class LazyBSONObject implements BSONObject {
     }
 
     public boolean containsField( String s ){
-        return keySet().contains( s );
+        return getElement( s ) != null;
     }
 
     /**
@@ -683,12 +719,26 @@ public class LazyBSONObject implements BSONObject {
 
         LazyBSONObject that = (LazyBSONObject) o;
 
-        return Arrays.equals(this._input.array(), that._input.array());
+        // only the bytes of the document itself count, as the array may be shared with other documents
+        int size = getBSONSize();
+        if (size != that.getBSONSize()) return false;
+
+        byte[] bytes = _input.array();
+        byte[] thatBytes = that._input.array();
+        for (int i = 0; i < size; i++) {
+            if (bytes[_doc_start_offset + i] != thatBytes[that._doc_start_offset + i]) return false;
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(_input.array());
+        byte[] bytes = _input.array();
+        int result = 1;
+        for (int i = _doc_start_offset, end = _doc_start_offset + getBSONSize(); i < end; i++) {
+            result = 31 * result + bytes[i];
+        }
+        return result;
     }
 
     /**
@@ -726,5 +776,10 @@ public class LazyBSONObject implements BSONObject {
      */
     @Deprecated
     protected final LazyBSONCallback _callback;
+
+    // built on the second field lookup; immutable, so a race only means it's built more than once
+    private volatile LazyBSONFieldIndex _index;
+    private int _lookups;
+
     private static final Logger log = Logger.getLogger( "org.bson.LazyBSONObject" );
 }
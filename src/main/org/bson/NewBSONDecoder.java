@@ -17,6 +17,8 @@
 package org.bson;
 
 import org.bson.io.Bits;
+import org.bson.io.FieldNameCache;
+import org.bson.io.UTF8Encoding;
 import org.bson.types.ObjectId;
 import static org.bson.BSON.*;
 
@@ -24,7 +26,6 @@ import static org.bson.BSON.*;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.DataInputStream;
-import java.io.UnsupportedEncodingException;
 
 /**
  * A new implementation of the bson decoder.
@@ -90,11 +91,7 @@ public class NewBSONDecoder implements BSONDecoder {
 
         while (_data[_pos++] != 0) length++;
 
-        try {
-            return new String(_data, offset, length, DEFAULT_ENCODING);
-        } catch (final UnsupportedEncodingException uee) {
-            return new String(_data, offset, length);
-        }
+        return FieldNameCache.shared().get(_data, offset, length);
     }
 
     private final String readUtf8Str() {
@@ -103,14 +100,9 @@ public class NewBSONDecoder implements BSONDecoder {
 
         if (length <= 0 || length > MAX_STRING) throw new BSONException("String invalid - corruption");
 
-        try {
-            final String str = new String(_data, _pos, (length - 1), DEFAULT_ENCODING);
-            _pos += length;
-            return str;
-
-        } catch (final UnsupportedEncodingException uee) {
-            throw new BSONException("What is in the db", uee);
-        }
+        final String str = UTF8Encoding.decodeOrReplace(_data, _pos, (length - 1));
+        _pos += length;
+        return str;
     }
 
     private final Object _readBasicObject() {
@@ -296,7 +288,6 @@ public class NewBSONDecoder implements BSONDecoder {
     }
 
     private static final int MAX_STRING = ( 32 * 1024 * 1024 );
-    private static final String DEFAULT_ENCODING = "UTF-8";
 
     private byte [] _data;
     private int _length;
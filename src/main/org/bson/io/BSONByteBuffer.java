@@ -116,16 +116,12 @@ public class BSONByteBuffer {
             ++end;
         }
         int len = end - offset;
-        return new String(array(), offset, len);
+        return FieldNameCache.shared().get(array(), offset, len);
     }
 
     public String getUTF8String(int valueOffset) {
         int size = getInt(valueOffset) - 1;
-        try {
-            return new String(array(), valueOffset + 4, size, "UTF-8");
-        } catch (UnsupportedEncodingException e) {
-            throw new BSONException( "Cannot decode string as UTF-8." );
-        }
+        return UTF8Encoding.decodeOrReplace(array(), valueOffset + 4, size);
     }
 
     public Buffer position( int i ){
@@ -41,6 +41,38 @@ public class BasicOutputBuffer extends OutputBuffer {
         _size = Math.max( _cur , _size );
     }
 
+    @Override
+    public void writeInt( int x ){
+        _ensure( 4 );
+        _buffer[_cur++] = (byte) x;
+        _buffer[_cur++] = (byte) ( x >> 8 );
+        _buffer[_cur++] = (byte) ( x >> 16 );
+        _buffer[_cur++] = (byte) ( x >> 24 );
+        _size = Math.max( _cur , _size );
+    }
+
+    /**
+     * @deprecated This method is NOT a part of public API and will be dropped in 3.x versions.
+     */
+    @Override
+    @Deprecated
+    public void writeIntBE( int x ){
+        _ensure( 4 );
+        _buffer[_cur++] = (byte) ( x >> 24 );
+        _buffer[_cur++] = (byte) ( x >> 16 );
+        _buffer[_cur++] = (byte) ( x >> 8 );
+        _buffer[_cur++] = (byte) x;
+        _size = Math.max( _cur , _size );
+    }
+
+    @Override
+    public void writeLong( long x ){
+        _ensure( 8 );
+        for ( int i = 0; i < 8; i++ )
+            _buffer[_cur++] = (byte) ( x >> ( 8 * i ) );
+        _size = Math.max( _cur , _size );
+    }
+
     @Override
     public int getPosition(){
         return _cur;
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bson.io;
+
+/**
+ * A bounded cache of the strings decoded from BSON C strings, which are almost always field names, keyed by their raw
+ * UTF-8 bytes.  Decoding the same names over and over then returns the same String instances instead of allocating
+ * new ones.
+ * <p>
+ * The cache is a fixed size table where each slot holds a single immutable entry, so that a lookup never takes a
+ * lock and a new name simply replaces whatever was in its slot.  As entries are immutable, a thread that sees a
+ * stale slot at worst decodes the name again.
+ *
+ * @deprecated This class is NOT a part of public API and will be dropped in 3.x versions.
+ */
+@Deprecated
+public class FieldNameCache {
+
+    /**
+     * Names longer than this many bytes are never cached.
+     */
+    public static final int MAX_NAME_LENGTH = 64;
+
+    private static final FieldNameCache SHARED = new FieldNameCache(4096);
+
+    /**
+     * @return the cache shared by all the decoders
+     */
+    public static FieldNameCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param size the number of entries, which is rounded up to a power of two
+     */
+    public FieldNameCache(final int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        int capacity = 1;
+        while (capacity < size) {
+            capacity <<= 1;
+        }
+        _entries = new Entry[capacity];
+    }
+
+    /**
+     * Returns the string encoded in the given bytes as UTF-8, from the cache if possible.
+     *
+     * @param data the array containing the name
+     * @param offset the offset of the first byte of the name, not counting the size prefix if any
+     * @param length the number of bytes in the name, not counting the terminating null
+     * @return the decoded name
+     */
+    public String get(final byte[] data, final int offset, final int length) {
+        if (length > MAX_NAME_LENGTH) {
+            return UTF8Encoding.decodeOrReplace(data, offset, length);
+        }
+
+        int hash = hash(data, offset, length);
+        int index = hash & (_entries.length - 1);
+
+        Entry entry = _entries[index];
+        if (entry != null && entry.matches(hash, data, offset, length)) {
+            return entry.name;
+        }
+
+        String name = UTF8Encoding.decodeOrReplace(data, offset, length);
+        byte[] bytes = new byte[length];
+        System.arraycopy(data, offset, bytes, 0, length);
+        _entries[index] = new Entry(hash, bytes, name);
+        return name;
+    }
+
+    private static int hash(final byte[] data, final int offset, final int length) {
+        int hash = length;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = 31 * hash + data[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Entry {
+        Entry(final int hash, final byte[] bytes, final String name) {
+            this.hash = hash;
+            this.bytes = bytes;
+            this.name = name;
+        }
+
+        boolean matches(final int otherHash, final byte[] data, final int offset, final int length) {
+            if (hash != otherHash || bytes.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (bytes[i] != data[offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        final int hash;
+        final byte[] bytes;
+        final String name;
+    }
+
+    // racy on purpose: entries are immutable, so a slot is either seen whole or not at all
+    private final Entry[] _entries;
+}
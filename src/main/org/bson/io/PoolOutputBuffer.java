@@ -23,6 +23,7 @@ import org.bson.io.*;
 import org.bson.util.*;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 /**
@@ -79,6 +80,39 @@ public class PoolOutputBuffer extends OutputBuffer {
         return _end.pos();
     }
 
+    /**
+     * Cuts the buffer down to the given size, and returns the bytes that were cut off.
+     *
+     * @param newSize the new size of the buffer
+     * @return the bytes that were removed from the end of the buffer
+     * @deprecated This method is NOT a part of public API and will be dropped in 3.x versions.
+     */
+    @Deprecated
+    public byte[] truncate( int newSize ){
+        final int size = size();
+        if ( newSize < 0 || newSize > size )
+            throw new IllegalArgumentException( "can't truncate a buffer of size " + size + " to " + newSize );
+
+        final byte[] tail = new byte[size - newSize];
+        final Position p = new Position();
+        p.reset( newSize );
+        int copied = 0;
+        while ( copied < tail.length ){
+            final int amt = Math.min( BUF_SIZE - p.y , tail.length - copied );
+            System.arraycopy( _get( p.x ) , p.y , tail , copied , amt );
+            copied += amt;
+            p.x++;
+            p.y = 0;
+        }
+
+        _end.reset( newSize );
+        _cur.reset( _end );
+        while ( _fromPool.size() > _end.x + 1 )
+            _extra.done( _fromPool.remove( _fromPool.size() - 1 ) );
+
+        return tail;
+    }
+
     public void write(byte[] b){
         write( b , 0 , b.length );
     }
@@ -101,6 +135,66 @@ public class PoolOutputBuffer extends OutputBuffer {
         _afterWrite();
     }
 
+    @Override
+    public void writeInt( int x ){
+        final int at = _claim( 4 );
+        if ( at < 0 ){
+            super.writeInt( x );
+            return;
+        }
+        final byte[] bs = _cur();
+        bs[at] = (byte) x;
+        bs[at + 1] = (byte) ( x >> 8 );
+        bs[at + 2] = (byte) ( x >> 16 );
+        bs[at + 3] = (byte) ( x >> 24 );
+    }
+
+    /**
+     * @deprecated This method is NOT a part of public API and will be dropped in 3.x versions.
+     */
+    @Override
+    @Deprecated
+    public void writeIntBE( int x ){
+        final int at = _claim( 4 );
+        if ( at < 0 ){
+            super.writeIntBE( x );
+            return;
+        }
+        final byte[] bs = _cur();
+        bs[at] = (byte) ( x >> 24 );
+        bs[at + 1] = (byte) ( x >> 16 );
+        bs[at + 2] = (byte) ( x >> 8 );
+        bs[at + 3] = (byte) x;
+    }
+
+    @Override
+    public void writeLong( long x ){
+        final int at = _claim( 8 );
+        if ( at < 0 ){
+            super.writeLong( x );
+            return;
+        }
+        final byte[] bs = _cur();
+        for ( int i = 0; i < 8; i++ )
+            bs[at + i] = (byte) ( x >> ( 8 * i ) );
+    }
+
+    /**
+     * Moves past the next n bytes if they fit in the current buffer without filling it, so that the caller can write
+     * them straight into the array instead of a byte at a time.
+     *
+     * @return the offset in the current buffer of the first byte, or -1 if the bytes have to go through write(int)
+     */
+    int _claim( int n ){
+        if ( _cur.y + n >= BUF_SIZE )
+            return -1;
+        final int at = _cur.y;
+        _cur.y += n;
+        if ( _cur.pos() > _end.pos() )
+            _end.reset( _cur );
+        return at;
+    }
+
     void _afterWrite(){
 
         if ( _cur.pos() < _end.pos() ){
@@ -149,6 +243,26 @@ public class PoolOutputBuffer extends OutputBuffer {
         return total;
     }
 
+    /**
+     * Adds the contents of this buffer to {@code segments} as one {@code ByteBuffer} per underlying array, without
+     * copying, so that they can be written along with other buffers in a single gathering write.  The
+     * {@code ByteBuffer}s share the arrays, so they are only valid until this buffer is written to or reset.
+     *
+     * @param segments the list to add to
+     * @return the number of bytes added
+     */
+    public int segments( final List<ByteBuffer> segments ){
+        int total = 0;
+        for ( int i=-1; i<_fromPool.size(); i++ ){
+            final int amt = _end.len( i );
+            if ( amt == 0 )
+                continue;
+            segments.add( ByteBuffer.wrap( _get( i ) , 0 , amt ) );
+            total += amt;
+        }
+        return total;
+    }
+
     static class Position {
         Position(){
             reset();
@@ -230,7 +344,7 @@ public class PoolOutputBuffer extends OutputBuffer {
 
         if ( encoding.equals( DEFAULT_ENCODING_1 ) || encoding.equals( DEFAULT_ENCODING_2) ){
             try {
-                return _encoding.decode( _mine , 0 , size() );
+                return UTF8Encoding.decode( _mine , 0 , size() );
             }
             catch ( IOException ioe ){
                 // we failed, fall back
@@ -243,7 +357,6 @@ public class PoolOutputBuffer extends OutputBuffer {
     final byte[] _mine = new byte[BUF_SIZE];
     final char[] _chars = new char[BUF_SIZE];
     final List<byte[]> _fromPool = new ArrayList<byte[]>();
-    final UTF8Encoding _encoding = new UTF8Encoding();
 
     private static final String DEFAULT_ENCODING_1 = "UTF-8";
     private static final String DEFAULT_ENCODING_2 = "UTF8";
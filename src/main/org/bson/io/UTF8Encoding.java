@@ -48,17 +48,48 @@ POSSIBILITY OF SUCH DAMAGE.
 //package org.postgresql.core;
 package org.bson.io;
 
+import org.bson.BSONException;
+
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
 import java.text.MessageFormat;
 
-class UTF8Encoding {
+/**
+ * A fast UTF-8 decoder.  It is safe to use from any number of threads at once: each thread decodes into a buffer of
+ * its own, and strings made only of ASCII characters are built straight from the bytes.
+ *
+ * @deprecated This class is NOT a part of public API and will be dropped in 3.x versions.
+ */
+@Deprecated
+public class UTF8Encoding {
 
     private static final int MIN_2_BYTES = 0x80;
     private static final int MIN_3_BYTES = 0x800;
     private static final int MIN_4_BYTES = 0x10000;
     private static final int MAX_CODE_POINT = 0x10ffff;
 
-    private char[] decoderArray = new char[1024];
+    // strings longer than this are decoded into a new array rather than into the one kept by each thread
+    private static final int MAX_CACHED_CHARS = 64 * 1024;
+
+
+    private static final ThreadLocal<char[]> decoderArray = new ThreadLocal<char[]>() {
+        @Override
+        protected char[] initialValue() {
+            return new char[1024];
+        }
+    };
+
+    private static char[] decoderArray(int length) {
+        if (length > MAX_CACHED_CHARS)
+            return new char[length];
+
+        char[] cdata = decoderArray.get();
+        if (cdata.length < length) {
+            cdata = new char[Math.max(length, Math.min(cdata.length * 2, MAX_CACHED_CHARS))];
+            decoderArray.set(cdata);
+        }
+        return cdata;
+    }
     
     // helper for decode
     private final static void checkByte(int ch, int pos, int len) throws IOException {
@@ -113,14 +144,21 @@ class UTF8Encoding {
      * @return a decoded string
      * @throws IOException if something goes wrong
      */
-    public synchronized String decode(byte[] data, int offset, int length) throws IOException {
-        char[] cdata = decoderArray;
-        if (cdata.length < length)
-            cdata = decoderArray = new char[length];
+    @SuppressWarnings("deprecation")
+    public static String decode(byte[] data, int offset, int length) throws IOException {
+        int end = length + offset;
 
+        // most strings are plain ASCII, which needs neither decoding nor an intermediate char array
         int in = offset;
+        while (in < end && data[in] >= 0)
+            in++;
+        if (in == end)
+            return new String(data, 0, offset, length);
+
+        char[] cdata = decoderArray(length);
         int out = 0;
-        int end = length + offset;
+        for (int i = offset; i < in; i++)
+            cdata[out++] = (char) data[i];
 
         try
         {
@@ -199,4 +237,27 @@ class UTF8Encoding {
 
         return new String(cdata, 0, out);
     }
+
+    /**
+     * Like {@link #decode(byte[], int, int)}, but replaces malformed input the same way {@code new String(data,
+     * offset, length, "UTF-8")} does, instead of failing.
+     *
+     * @param data the array containing UTF8-encoded data
+     * @param offset the offset of the first byte in <code>data</code> to decode from
+     * @param length the number of bytes to decode
+     * @return a decoded string
+     */
+    public static String decodeOrReplace(byte[] data, int offset, int length) {
+        try {
+            return decode(data, offset, length);
+        }
+        catch (IOException e) {
+            try {
+                return new String(data, offset, length, "UTF-8");
+            }
+            catch (UnsupportedEncodingException uee) {
+                throw new BSONException("Cannot decode string as UTF-8.");
+            }
+        }
+    }
 }
@@ -19,7 +19,6 @@
 package org.bson.types;
 
 import java.net.*;
-import java.nio.*;
 import java.util.*;
 import java.util.concurrent.atomic.*;
 import java.util.logging.*;
@@ -127,7 +126,7 @@ public class ObjectId implements Comparable<ObjectId> , java.io.Serializable {
     }
 
     public ObjectId( Date time ){
-        this(time, _genmachine, _nextInc.getAndIncrement());
+        this(time, _genmachine, _nextInc());
     }
 
     public ObjectId( Date time , int inc ){
@@ -180,14 +179,9 @@ public class ObjectId implements Comparable<ObjectId> , java.io.Serializable {
         if ( babble )
             s = babbleToMongod( s );
 
-        byte b[] = new byte[12];
-        for ( int i=0; i<b.length; i++ ){
-            b[i] = (byte)Integer.parseInt( s.substring( i*2 , i*2 + 2) , 16 );
-        }
-        ByteBuffer bb = ByteBuffer.wrap( b );
-        _time = bb.getInt();
-        _machine = bb.getInt();
-        _inc = bb.getInt();
+        _time = _parseHexInt( s , 0 );
+        _machine = _parseHexInt( s , 8 );
+        _inc = _parseHexInt( s , 16 );
         _new = false;
     }
 
@@ -198,10 +192,9 @@ public class ObjectId implements Comparable<ObjectId> , java.io.Serializable {
     public ObjectId( byte[] b ){
         if ( b.length != 12 )
             throw new IllegalArgumentException( "need 12 bytes" );
-        ByteBuffer bb = ByteBuffer.wrap( b );
-        _time = bb.getInt();
-        _machine = bb.getInt();
-        _inc = bb.getInt();
+        _time = _readIntBE( b , 0 );
+        _machine = _readIntBE( b , 4 );
+        _inc = _readIntBE( b , 8 );
         _new = false;
     }
 
@@ -235,7 +228,7 @@ public class ObjectId implements Comparable<ObjectId> , java.io.Serializable {
     public ObjectId(){
         _time = (int) (System.currentTimeMillis() / 1000);
         _machine = _genmachine;
-        _inc = _nextInc.getAndIncrement();
+        _inc = _nextInc();
         _new = true;
     }
 
@@ -275,13 +268,11 @@ public class ObjectId implements Comparable<ObjectId> , java.io.Serializable {
      * @return a string representation of the ObjectId in hexadecimal format
      */
     public String toHexString() {
-        final StringBuilder buf = new StringBuilder(24);
-
-        for (final byte b : toByteArray()) {
-            buf.append(String.format("%02x", b & 0xff));
-        }
-
-        return buf.toString();
+        final char[] chars = new char[24];
+        _putHex(chars, 0, _time);
+        _putHex(chars, 8, _machine);
+        _putHex(chars, 16, _inc);
+        return new String(chars);
     }
 
     /**
@@ -291,29 +282,44 @@ public class ObjectId implements Comparable<ObjectId> , java.io.Serializable {
      */
     @Deprecated
     public String toStringMongod(){
-        byte b[] = toByteArray();
+        return toHexString();
+    }
 
-        StringBuilder buf = new StringBuilder(24);
+    public byte[] toByteArray(){
+        byte b[] = new byte[12];
+        _writeIntBE( b , 0 , _time );
+        _writeIntBE( b , 4 , _machine );
+        _writeIntBE( b , 8 , _inc );
+        return b;
+    }
 
-        for ( int i=0; i<b.length; i++ ){
-            int x = b[i] & 0xFF;
-            String s = Integer.toHexString( x );
-            if ( s.length() == 1 )
-                buf.append( "0" );
-            buf.append( s );
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
+    private static void _putHex( char[] chars , int offset , int x ){
+        for ( int i = 7; i >= 0; i-- ){
+            chars[offset + i] = HEX_CHARS[x & 0xF];
+            x >>>= 4;
         }
+    }
 
-        return buf.toString();
+    // s must have been checked with isValid
+    private static int _parseHexInt( String s , int offset ){
+        int x = 0;
+        for ( int i = offset; i < offset + 8; i++ )
+            x = ( x << 4 ) | Character.digit( s.charAt( i ) , 16 );
+        return x;
     }
 
-    public byte[] toByteArray(){
-        byte b[] = new byte[12];
-        ByteBuffer bb = ByteBuffer.wrap( b );
-        // by default BB is big endian like we need
-        bb.putInt( _time );
-        bb.putInt( _machine );
-        bb.putInt( _inc );
-        return b;
+    private static int _readIntBE( byte[] b , int offset ){
+        return ( ( b[offset] & 0xFF ) << 24 ) | ( ( b[offset + 1] & 0xFF ) << 16 ) |
+               ( ( b[offset + 2] & 0xFF ) << 8 ) | ( b[offset + 3] & 0xFF );
+    }
+
+    private static void _writeIntBE( byte[] b , int offset , int x ){
+        b[offset] = (byte) ( x >> 24 );
+        b[offset + 1] = (byte) ( x >> 16 );
+        b[offset + 2] = (byte) ( x >> 8 );
+        b[offset + 3] = (byte) x;
     }
 
     static String _pos( String s , int p ){
@@ -496,7 +502,8 @@ public class ObjectId implements Comparable<ObjectId> , java.io.Serializable {
     }
 
     /**
-     * Gets the current value of the auto-incrementing counter.
+     * Gets the current value of the auto-incrementing counter.  As threads reserve counter values in blocks, this is
+     * the first value not yet handed out to any thread, not necessarily the counter of the next id created.
      */
     public static int getCurrentCounter() {
         return _nextInc.get();
@@ -533,6 +540,29 @@ public class ObjectId implements Comparable<ObjectId> , java.io.Serializable {
 
     private static AtomicInteger _nextInc = new AtomicInteger( (new java.util.Random()).nextInt() );
 
+    // Each thread takes the counter values for its ids from a block reserved at once, so that threads creating ids
+    // don't all contend on _nextInc.  The ids a thread creates still have increasing counters, but ids created by
+    // different threads within the same second are no longer ordered by creation.
+    static final int INC_BLOCK_SIZE = 128;
+
+    private static final ThreadLocal<int[]> _incBlock = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            // the next counter value, and how many are left in the block
+            return new int[2];
+        }
+    };
+
+    private static int _nextInc(){
+        int[] block = _incBlock.get();
+        if ( block[1] == 0 ){
+            block[0] = _nextInc.getAndAdd( INC_BLOCK_SIZE );
+            block[1] = INC_BLOCK_SIZE;
+        }
+        block[1]--;
+        return block[0]++;
+    }
+
     private static final int _genmachine;
     static {
 
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+import com.mongodb.util.TestCase;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class BulkWriteOperationTest extends TestCase {
+
+    private final DB _db;
+    private DBCollection collection;
+
+    public BulkWriteOperationTest() {
+        cleanupDB = "com_mongodb_unittest_BulkWriteOperationTest";
+        _db = cleanupMongo.getDB(cleanupDB);
+    }
+
+    @BeforeMethod
+    public void setUp() {
+        collection = _db.getCollection("bulk");
+        collection.drop();
+    }
+
+    @Test
+    public void testOrderedMixedWrites() {
+        BulkWriteOperation operation = collection.initializeOrderedBulkOperation();
+        operation.insert(new BasicDBObject("_id", 1));
+        operation.insert(new BasicDBObject("_id", 2));
+        operation.insert(new BasicDBObject("_id", 3));
+        operation.find(new BasicDBObject("_id", 1)).updateOne(new BasicDBObject("$set", new BasicDBObject("x", 1)));
+        operation.find(new BasicDBObject("_id", new BasicDBObject("$gt", 1))).update(new BasicDBObject("$set", new BasicDBObject("x", 2)));
+        operation.find(new BasicDBObject("_id", 4)).upsert().replaceOne(new BasicDBObject("x", 4));
+        operation.find(new BasicDBObject("_id", 3)).removeOne();
+
+        BulkWriteResult result = operation.execute();
+
+        assertEquals(3, result.getInsertedCount());
+        assertEquals(3, result.getUpdatedCount());
+        assertEquals(1, result.getRemovedCount());
+        assertEquals(1, result.getUpserts().size());
+        assertEquals(5, result.getUpserts().get(0).getIndex());
+        assertEquals(4, result.getUpserts().get(0).getId());
+        assertEquals(Arrays.asList(new BasicDBObject("_id", 1).append("x", 1), new BasicDBObject("_id", 2).append("x", 2),
+                                   new BasicDBObject("_id", 4).append("x", 4)),
+                     collection.find().sort(new BasicDBObject("_id", 1)).toArray());
+    }
+
+    @Test
+    public void testOrderedStopsAtFirstError() {
+        BulkWriteOperation operation = collection.initializeOrderedBulkOperation();
+        operation.insert(new BasicDBObject("_id", 1));
+        operation.find(new BasicDBObject("_id", 1)).updateOne(new BasicDBObject("$set", new BasicDBObject("x", 1)));
+        operation.insert(new BasicDBObject("_id", 1));
+        operation.insert(new BasicDBObject("_id", 2));
+        operation.find(new BasicDBObject("_id", 1)).remove();
+
+        try {
+            operation.execute();
+            fail("should have thrown");
+        } catch (BulkWriteException e) {
+            assertEquals(1, e.getWriteErrors().size());
+            assertEquals(2, e.getWriteErrors().get(0).getIndex());
+            assertEquals(11000, e.getWriteErrors().get(0).getCode());
+            assertEquals(1, e.getWriteResult().getInsertedCount());
+            assertEquals(1, e.getWriteResult().getUpdatedCount());
+        }
+        assertEquals(1, collection.count());
+    }
+
+    @Test
+    public void testUnorderedCarriesOnPastErrors() {
+        // the batches may run in any order, so each kind of write gets documents of its own
+        int documents = DBApiLayer.BULK_BATCH_SIZE * 3;
+        List<DBObject> existing = new ArrayList<DBObject>();
+        for (int i = documents; i < documents * 3; i++) {
+            existing.add(new BasicDBObject("_id", i));
+        }
+        collection.insert(existing);
+
+        BulkWriteOperation operation = collection.initializeUnorderedBulkOperation();
+        for (int i = 0; i < documents; i++) {
+            operation.insert(new BasicDBObject("_id", i));
+        }
+        for (int i = documents; i < documents * 2; i++) {
+            operation.find(new BasicDBObject("_id", i)).updateOne(new BasicDBObject("$set", new BasicDBObject("x", i)));
+        }
+        // changing _id fails for every one of these, whether or not the update above has been applied yet
+        for (int i = 0; i < 10; i++) {
+            operation.find(new BasicDBObject("_id", documents + i)).updateOne(new BasicDBObject("$set", new BasicDBObject("_id", -i - 1)));
+        }
+        for (int i = documents * 2; i < documents * 3; i++) {
+            operation.find(new BasicDBObject("_id", i)).removeOne();
+        }
+
+        try {
+            operation.execute();
+            fail("should have thrown");
+        } catch (BulkWriteException e) {
+            assertEquals(10, e.getWriteErrors().size());
+            for (int i = 0; i < 10; i++) {
+                assertEquals(documents * 2 + i, e.getWriteErrors().get(i).getIndex());
+            }
+            assertEquals(documents, e.getWriteResult().getInsertedCount());
+            assertEquals(documents, e.getWriteResult().getUpdatedCount());
+            assertEquals(documents, e.getWriteResult().getRemovedCount());
+        }
+        assertEquals(documents * 2, collection.count());
+        assertEquals(documents, collection.count(new BasicDBObject("x", new BasicDBObject("$exists", true))));
+    }
+
+    @Test
+    public void testUnorderedInsertErrorsAreAttributedToTheirDocuments() {
+        collection.insert(new BasicDBObject("_id", 3));
+        collection.insert(new BasicDBObject("_id", 7));
+        BulkWriteOperation operation = collection.initializeUnorderedBulkOperation();
+        for (int i = 0; i < 10; i++) {
+            operation.insert(new BasicDBObject("_id", i));
+        }
+
+        try {
+            operation.execute();
+            fail("should have thrown");
+        } catch (BulkWriteException e) {
+            assertEquals(2, e.getWriteErrors().size());
+            assertEquals(3, e.getWriteErrors().get(0).getIndex());
+            assertEquals(7, e.getWriteErrors().get(1).getIndex());
+            assertEquals(11000, e.getWriteErrors().get(0).getCode());
+            assertEquals(8, e.getWriteResult().getInsertedCount());
+        }
+        assertEquals(10, collection.count());
+    }
+
+    @Test
+    public void testUnacknowledgedResultIsUnknown() {
+        BulkWriteOperation operation = collection.initializeUnorderedBulkOperation();
+        operation.insert(new BasicDBObject("_id", 1));
+        BulkWriteResult result = operation.execute(WriteConcern.UNACKNOWLEDGED);
+
+        assertFalse(result.isAcknowledged());
+        try {
+            result.getInsertedCount();
+            fail("should have thrown");
+        } catch (UnsupportedOperationException e) {
+            // all good
+        }
+    }
+
+    @Test
+    public void testIdsAreAddedToInsertedDocuments() {
+        BulkWriteOperation operation = collection.initializeOrderedBulkOperation();
+        DBObject document = new BasicDBObject("x", 1);
+        operation.insert(document);
+        operation.execute();
+
+        assertNotNull(document.get("_id"));
+        assertEquals(document, collection.findOne());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUpdateNeedsOperators() {
+        collection.initializeOrderedBulkOperation().find(new BasicDBObject()).update(new BasicDBObject("x", 1));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testReplacementCanNotHaveOperators() {
+        collection.initializeOrderedBulkOperation().find(new BasicDBObject()).replaceOne(new BasicDBObject("$set", 1));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testEmptyOperationCanNotBeExecuted() {
+        collection.initializeOrderedBulkOperation().execute();
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testOperationCanOnlyBeExecutedOnce() {
+        BulkWriteOperation operation = collection.initializeOrderedBulkOperation();
+        operation.insert(new BasicDBObject());
+        operation.execute();
+        operation.insert(new BasicDBObject());
+    }
+}
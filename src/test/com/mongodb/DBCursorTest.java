@@ -341,6 +341,29 @@ public class DBCursorTest extends TestCase {
         assertEquals( 50 , c.find().batchSize( 5 ).limit(50).itcount() );
     }
 
+    @Test
+    public void testPrefetch(){
+        DBCollection c = _db.getCollection( "prefetch1" );
+        c.drop();
+
+        for ( int i=0; i<100; i++ )
+            c.save( new BasicDBObject( "x" , i ) );
+
+        DBCursor cursor = c.find().sort( new BasicDBObject( "x" , 1 ) ).batchSize( 10 ).prefetch( 2 );
+        for ( int i=0; i<100; i++ )
+            assertEquals( i , cursor.next().get( "x" ) );
+        assertFalse( cursor.hasNext() );
+        assertEquals( 10 , cursor.getSizes().size() );
+
+        assertEquals( 45 , c.find().batchSize( 10 ).limit( 45 ).prefetch( 3 ).itcount() );
+
+        // closing a cursor with batches in flight
+        cursor = c.find().batchSize( 5 ).prefetch( 1 );
+        cursor.next();
+        cursor.close();
+        assertEquals( 0 , cursor.getCursorId() );
+    }
+
     @Test
     public void testLargeBatch(){
         DBCollection c = _db.getCollection( "largeBatch1" );
@@ -43,8 +43,9 @@ public class DBPortPoolTest extends com.mongodb.util.TestCase {
         DBPort[] ports = new DBPort[10];
         for (int x = 0; x < options.connectionsPerHost; x++) {
             ports[x] = pool.get();
+        }
+        for (int x = 0; x < options.connectionsPerHost; x++) {
             pool.done( ports[x] );
-            ports[x]._lastThread = 0;
         }
 
         int numTasks = 40;
@@ -125,6 +126,98 @@ public class DBPortPoolTest extends com.mongodb.util.TestCase {
         }
     }
 
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testPipelinedPortsAreShared() throws UnknownHostException {
+        MongoOptions options = new MongoOptions();
+        options.connectionsPerHost = 2;
+        options.pipelineDepth = 2;
+        options.maxWaitTime = 0;
+        final DBPortPool pool = new DBPortPool( new ServerAddress( "localhost" ), options );
+
+        DBPort first = pool.get();
+        DBPort second = pool.get();
+        assertTrue( first != second );
+
+        DBPort third = pool.get();
+        DBPort fourth = pool.get();
+        assertEquals( 2, first._inFlight.get() );
+        assertEquals( 2, second._inFlight.get() );
+        assertEquals( 2, pool.getTotal() );
+
+        try {
+            pool.get();
+            fail( "should have timed out" );
+        } catch ( DBPortPool.ConnectionWaitTimeOut e ) {
+            // all good
+        }
+
+        pool.done( fourth );
+        pool.done( third );
+        pool.done( second );
+        pool.done( first );
+        assertEquals( 0, first._inFlight.get() );
+        assertEquals( 0, second._inFlight.get() );
+        assertTrue( pool.get() != null );
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testIdleAndOldPortsAreRetired() throws UnknownHostException {
+        MongoOptions options = new MongoOptions();
+        options.connectionsPerHost = 3;
+        options.maxConnectionIdleTime = 1000;
+        options.maxConnectionLifeTime = 60000;
+        final DBPortPool pool = new DBPortPool( new ServerAddress( "localhost" ), options );
+
+        long now = System.currentTimeMillis();
+        DBPort idle = pool.get();
+        DBPort old = pool.get();
+        DBPort busy = pool.get();
+        idle._openedAt = now;
+        old._openedAt = now - 120000;
+        busy._openedAt = now;
+
+        pool.done( idle );
+        pool.done( old );
+        assertEquals( 0, old._openedAt );
+        idle._lastUsedAt = now - 5000;
+
+        pool.maintain();
+        assertEquals( 1, pool.getTotal() );
+        assertEquals( 1, pool.getInUse() );
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testIdleAndOldSharedPortsAreRetired() throws UnknownHostException {
+        MongoOptions options = new MongoOptions();
+        options.connectionsPerHost = 2;
+        options.pipelineDepth = 2;
+        options.maxConnectionIdleTime = 1000;
+        options.maxConnectionLifeTime = 60000;
+        final DBPortPool pool = new DBPortPool( new ServerAddress( "localhost" ), options );
+
+        long now = System.currentTimeMillis();
+        DBPort old = pool.get();
+        DBPort idle = pool.get();
+        assertTrue( old != idle );
+        old._openedAt = now - 120000;
+        idle._openedAt = now;
+
+        pool.done( old );
+        assertEquals( 0, old._openedAt );
+        assertEquals( 1, pool.getInUse() );
+
+        pool.done( idle );
+        pool.maintain();
+        assertEquals( 1, pool.getInUse() );
+
+        idle._lastUsedAt = now - 5000;
+        pool.maintain();
+        assertEquals( 0, pool.getTotal() );
+    }
+
     public static void main( String args[] ){
         (new DBPortPoolTest()).runConsole();
     }
@@ -18,12 +18,25 @@
 package com.mongodb;
 
 import com.mongodb.util.TestCase;
+import org.bson.io.Bits;
+import org.bson.io.PoolOutputBuffer;
+import org.bson.types.ObjectId;
 import org.testng.annotations.Test;
 
+import javax.net.SocketFactory;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class DBPortTest extends TestCase {
     @Test
@@ -89,4 +102,161 @@ public class DBPortTest extends TestCase {
 
     }
 
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testWriteAndGetLastErrorAreSentInOneWrite() throws Exception {
+        FakeServer server = new FakeServer(1);
+        CountingSocketFactory socketFactory = new CountingSocketFactory();
+        Mongo m = new MongoClient();
+        try {
+            DBCollection collection = m.getDB("DBPortTest").getCollection("coalesce");
+            OutMessage insert = OutMessage.insert(collection, DefaultDBEncoder.FACTORY.create(), WriteConcern.ACKNOWLEDGED);
+            for (int i = 0; i < 1000; i++) {
+                insert.putObject(new BasicDBObject("_id", new ObjectId()).append("i", i));
+            }
+            assertTrue(insert.size() > PoolOutputBuffer.BUF_SIZE && insert.size() < DBPort.WRITE_BUFFER_SIZE);
+
+            DBPort port = server.connect(socketFactory);
+            try {
+                CommandResult result = port.sayAndGetLastError(collection.getDB(), insert, WriteConcern.ACKNOWLEDGED);
+                assertTrue(result.ok());
+                assertEquals(1, socketFactory.writes.get());
+                assertEquals(OutMessage.OpCode.OP_INSERT.getValue(), server.opCodes[0]);
+                assertEquals(OutMessage.OpCode.OP_QUERY.getValue(), server.opCodes[1]);
+            } finally {
+                insert.doneWithMessage();
+                port.close();
+            }
+        } finally {
+            m.close();
+            server.close();
+        }
+    }
+
+    @Test
+    public void testManyWritesAndGetLastErrorsAreSentInOneWrite() throws Exception {
+        checkManyWritesAndGetLastErrorsAreSentInOneWrite(1);
+    }
+
+    @Test
+    public void testManyWritesAndGetLastErrorsArePipelined() throws Exception {
+        // the server only replies once it has read every pair, so this fails if the replies are waited for one by one
+        checkManyWritesAndGetLastErrorsAreSentInOneWrite(2);
+    }
+
+    @SuppressWarnings("deprecation")
+    private void checkManyWritesAndGetLastErrorsAreSentInOneWrite(final int pipelineDepth) throws Exception {
+        FakeServer server = new FakeServer(20);
+        CountingSocketFactory socketFactory = new CountingSocketFactory();
+        Mongo m = new MongoClient();
+        List<OutMessage> updates = new ArrayList<OutMessage>();
+        try {
+            DBCollection collection = m.getDB("DBPortTest").getCollection("coalesce");
+            for (int i = 0; i < 20; i++) {
+                updates.add(OutMessage.update(collection, DefaultDBEncoder.FACTORY.create(), false, false,
+                                              new BasicDBObject("_id", i), new BasicDBObject("$inc", new BasicDBObject("x", 1))));
+            }
+
+            DBPort port = server.connect(socketFactory, pipelineDepth);
+            try {
+                List<CommandResult> results = port.sayAndGetLastErrors(collection.getDB(), updates, WriteConcern.ACKNOWLEDGED);
+                assertEquals(1, socketFactory.writes.get());
+                assertEquals(20, results.size());
+                for (int i = 0; i < 20; i++) {
+                    assertEquals(i, results.get(i).getInt("n"));
+                    assertEquals(OutMessage.OpCode.OP_UPDATE.getValue(), server.opCodes[i * 2]);
+                    assertEquals(OutMessage.OpCode.OP_QUERY.getValue(), server.opCodes[i * 2 + 1]);
+                }
+            } finally {
+                port.close();
+            }
+        } finally {
+            for (OutMessage update : updates) {
+                update.doneWithMessage();
+            }
+            m.close();
+            server.close();
+        }
+    }
+
+    /**
+     * Accepts one connection, reads the given number of write and getLastError pairs, and then answers each
+     * getLastError with n set to the number of the pair.
+     */
+    private static class FakeServer extends Thread {
+        private final ServerSocket serverSocket;
+        private final int pairs;
+        private final int[] opCodes;
+
+        FakeServer(final int pairs) throws IOException {
+            this.serverSocket = new ServerSocket(0, 1, InetAddress.getByName("127.0.0.1"));
+            this.pairs = pairs;
+            this.opCodes = new int[pairs * 2];
+            start();
+        }
+
+        DBPort connect(final SocketFactory socketFactory) throws UnknownHostException {
+            return connect(socketFactory, 1);
+        }
+
+        @SuppressWarnings("deprecation")
+        DBPort connect(final SocketFactory socketFactory, final int pipelineDepth) throws UnknownHostException {
+            MongoOptions options = new MongoOptions();
+            options.socketTimeout = 5000;
+            options.socketFactory = socketFactory;
+            options.pipelineDepth = pipelineDepth;
+            return new DBPort(new ServerAddress("127.0.0.1", serverSocket.getLocalPort()), null, options);
+        }
+
+        public void run() {
+            try {
+                Socket socket = serverSocket.accept();
+                InputStream in = socket.getInputStream();
+                byte[] header = new byte[16];
+                int[] gleIds = new int[pairs];
+                for (int i = 0; i < pairs * 2; i++) {
+                    Bits.readFully(in, header);
+                    Bits.readFully(in, new byte[Bits.readInt(header, 0) - 16]);
+                    opCodes[i] = Bits.readInt(header, 12);
+                    gleIds[i / 2] = Bits.readInt(header, 4);
+                }
+                for (int i = 0; i < pairs; i++) {
+                    socket.getOutputStream().write(Replies.reply(gleIds[i], new BasicDBObject("ok", 1).append("err", null).append("n", i)));
+                }
+                socket.close();
+            } catch (IOException e) {
+                // the test fails for want of a reply
+            }
+        }
+
+        void close() throws Exception {
+            serverSocket.close();
+            join();
+        }
+    }
+
+    /**
+     * Creates sockets that count the writes to their output streams.
+     */
+    private static class CountingSocketFactory extends SocketFactory {
+        private final AtomicInteger writes = new AtomicInteger();
+
+        public Socket createSocket() {
+            return new Socket() {
+                public OutputStream getOutputStream() throws IOException {
+                    return new FilterOutputStream(super.getOutputStream()) {
+                        public void write(byte[] b, int off, int len) throws IOException {
+                            writes.incrementAndGet();
+                            out.write(b, off, len);
+                        }
+                    };
+                }
+            };
+        }
+
+        public Socket createSocket(String host, int port) { throw new UnsupportedOperationException(); }
+        public Socket createSocket(String host, int port, InetAddress localHost, int localPort) { throw new UnsupportedOperationException(); }
+        public Socket createSocket(InetAddress host, int port) { throw new UnsupportedOperationException(); }
+        public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) { throw new UnsupportedOperationException(); }
+    }
 }
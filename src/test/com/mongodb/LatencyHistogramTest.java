@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(histogram.getPercentile(0.5), -1);
+
+        for (int i = 0; i < 90; i++) {
+            histogram.record(100, TimeUnit.MICROSECONDS);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(10, TimeUnit.MILLISECONDS);
+        }
+
+        assertEquals(histogram.getCount(), 100);
+        assertEquals(histogram.getPercentile(0.5), 128);
+        assertEquals(histogram.getPercentile(0.9), 128);
+        assertEquals(histogram.getPercentile(0.95), 16384);
+        assertEquals(histogram.getPercentile(1), 16384);
+    }
+
+    @Test
+    public void testExtremes() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(0, TimeUnit.NANOSECONDS);
+        assertEquals(histogram.getPercentile(1), 1);
+        histogram.record(1, TimeUnit.DAYS);
+        assertEquals(histogram.getPercentile(1), 1L << (LatencyHistogram.NUM_BUCKETS - 1));
+    }
+
+    @Test
+    public void testSubBucketsBoundTheRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram(0, 4);
+        histogram.record(70, TimeUnit.MILLISECONDS);
+        long seventy = histogram.getPercentile(1);
+
+        histogram = new LatencyHistogram(0, 4);
+        histogram.record(130, TimeUnit.MILLISECONDS);
+        long hundredThirty = histogram.getPercentile(1);
+
+        assertTrue(seventy > 70000 && seventy <= 70000 + 70000 / 16);
+        assertTrue(hundredThirty > 130000 && hundredThirty <= 130000 + 130000 / 16);
+
+        for (long micros = 1; micros < 1L << 30; micros = micros * 3 / 2 + 1) {
+            histogram = new LatencyHistogram(0, 4);
+            histogram.record(micros, TimeUnit.MICROSECONDS);
+            long upperLimit = histogram.getPercentile(1);
+            assertTrue(upperLimit > micros && upperLimit <= micros + Math.max(1, micros / 16), micros + " -> " + upperLimit);
+        }
+    }
+
+    @Test
+    public void testSubBucketExtremes() {
+        LatencyHistogram histogram = new LatencyHistogram(0, 4);
+        histogram.record(0, TimeUnit.NANOSECONDS);
+        assertEquals(histogram.getPercentile(1), 1);
+        histogram.record(15, TimeUnit.MICROSECONDS);
+        assertEquals(histogram.getPercentile(1), 16);
+        histogram.record(1, TimeUnit.DAYS);
+        assertEquals(histogram.getPercentile(1), 1L << (LatencyHistogram.NUM_BUCKETS - 1));
+    }
+
+    @Test
+    public void testWindowFollowsRecentLatencies() {
+        LatencyHistogram histogram = new LatencyHistogram(100);
+        for (int i = 0; i < 1000; i++) {
+            histogram.record(10, TimeUnit.MILLISECONDS);
+        }
+        for (int i = 0; i < 300; i++) {
+            histogram.record(100, TimeUnit.MICROSECONDS);
+        }
+        assertTrue(histogram.getCount() < 100);
+        assertEquals(histogram.getPercentile(0.9), 128);
+    }
+}
@@ -40,6 +40,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
 @SuppressWarnings( { "unchecked" , "deprecation" } )
@@ -225,6 +226,29 @@ public class LazyDBObjectTest extends TestCase {
         assertEquals(lazyOne.hashCode(), lazyTwo.hashCode());
     }
 
+    @Test
+    public void testViewsOverSharedBuffer() throws IOException {
+        e.putObject(createSimpleTestDoc());
+        e.putObject(new BasicDBObject("x", 1));
+        bios.write(new byte[3]);
+        buf.pipe(bios);
+        byte[] bytes = bios.toByteArray();
+
+        LazyDBObject first = (LazyDBObject) lazyDBDecoder.decode(bytes, 3, (DBCollection) null);
+        LazyDBObject second = (LazyDBObject) lazyDBDecoder.decode(bytes, 3 + first.getBSONSize(), (DBCollection) null);
+        assertEquals(1, first.get("first"));
+        assertEquals(1, second.get("x"));
+        assertEquals(bytes.length, 3 + first.getBSONSize() + second.getBSONSize());
+
+        // only the bytes of each document count towards equality, not the rest of the shared buffer
+        bios.reset();
+        second.pipe(bios);
+        LazyDBObject copy = (LazyDBObject) lazyDBDecoder.decode(bios.toByteArray(), (DBCollection) null);
+        assertEquals(second, copy);
+        assertEquals(second.hashCode(), copy.hashCode());
+        assertFalse(first.equals(second));
+    }
+
     @Test 
     public void testPipe() throws IOException {
         DBObject obj = createSimpleTestDoc();
@@ -243,6 +267,85 @@ public class LazyDBObjectTest extends TestCase {
         assertEquals(lazyDBObj, lazyDBObjectFromPipe);
     }
 
+    @Test
+    public void testFieldLookups() throws IOException {
+        DBObject obj = new BasicDBObject();
+        for (int i = 0; i < 500; i++) {
+            obj.put("field" + i, i);
+        }
+        obj.put("caf\u00e9", "non-ascii");
+        obj.put("nested", new BasicDBObject("a", 1).append("b", 2));
+        e.putObject(obj);
+        buf.pipe(bios);
+
+        LazyDBObject lazyDBObj = (LazyDBObject) lazyDBDecoder.decode(bios.toByteArray(), (DBCollection) null);
+        // the first lookup scans, the rest use the index
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 499; i >= 0; i--) {
+                assertEquals(i, lazyDBObj.get("field" + i));
+            }
+            assertEquals("non-ascii", lazyDBObj.get("caf\u00e9"));
+            assertEquals(2, ((DBObject) lazyDBObj.get("nested")).get("b"));
+            assertNull(lazyDBObj.get("field500"));
+            assertNull(lazyDBObj.get("field4\u0000"));
+            assertNull(lazyDBObj.get("caf"));
+            assertNull(lazyDBObj.get("caf\u00e9s"));
+            assertTrue(lazyDBObj.containsField("field0"));
+            assertFalse(lazyDBObj.containsField("field"));
+        }
+    }
+
+    @Test
+    public void testFirstOfDuplicateFieldsIsFound() throws IOException {
+        byte[] bytes = {19, 0, 0, 0, 0x10, 'a', 0, 1, 0, 0, 0, 0x10, 'a', 0, 2, 0, 0, 0, 0};
+        LazyDBObject lazyDBObj = (LazyDBObject) lazyDBDecoder.decode(bytes, (DBCollection) null);
+        assertEquals(1, lazyDBObj.get("a"));
+        assertEquals(1, lazyDBObj.get("a"));
+        assertEquals(1, lazyDBObj.get("a"));
+    }
+
+    @Test
+    public void testNullFieldName() throws IOException {
+        byte[] bytes = {12, 0, 0, 0, 0x10, 'a', 0, 1, 0, 0, 0, 0};
+        LazyDBObject lazyDBObj = (LazyDBObject) lazyDBDecoder.decode(bytes, (DBCollection) null);
+        assertNull(lazyDBObj.get(null));
+        assertFalse(lazyDBObj.containsField(null));
+        assertEquals(1, lazyDBObj.get("a"));
+        assertEquals(1, lazyDBObj.get("a"));
+        assertNull(lazyDBObj.get(null));
+        assertFalse(lazyDBObj.containsField(null));
+    }
+
+    @Test
+    public void testConcurrentFieldLookups() throws Exception {
+        DBObject obj = new BasicDBObject();
+        for (int i = 0; i < 100; i++) {
+            obj.put("field" + i, i);
+        }
+        e.putObject(obj);
+        buf.pipe(bios);
+
+        final LazyDBObject lazyDBObj = (LazyDBObject) lazyDBDecoder.decode(bios.toByteArray(), (DBCollection) null);
+        final AtomicInteger failures = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < 100; i++) {
+                        if (!Integer.valueOf(i).equals(lazyDBObj.get("field" + i))) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, failures.get());
+    }
+
     @Test
     public void testLazyDBEncoder() throws IOException {
         // this is all set up just to get a lazy db object that can be encoded
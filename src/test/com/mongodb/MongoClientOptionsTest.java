@@ -42,6 +42,10 @@ public class MongoClientOptionsTest {
         Assert.assertEquals(true, options.isCursorFinalizerEnabled());
         Assert.assertEquals(false, options.isAutoConnectRetry());
         Assert.assertEquals(false, options.isAlwaysUseMBeans());
+        Assert.assertEquals(1, options.getPipelineDepth());
+        Assert.assertEquals(0, options.getMinConnectionsPerHost());
+        Assert.assertEquals(0, options.getMaxConnectionIdleTime());
+        Assert.assertEquals(0, options.getMaxConnectionLifeTime());
     }
 
     @Test
@@ -101,6 +105,30 @@ public class MongoClientOptionsTest {
         } catch (IllegalArgumentException e) {
             // all good
         }
+        try {
+            builder.pipelineDepth(0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // all good
+        }
+        try {
+            builder.minConnectionsPerHost(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // all good
+        }
+        try {
+            builder.maxConnectionIdleTime(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // all good
+        }
+        try {
+            builder.maxConnectionLifeTime(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // all good
+        }
 
     }
 
@@ -119,6 +147,10 @@ public class MongoClientOptionsTest {
         builder.socketKeepAlive(true);
         builder.cursorFinalizerEnabled(true);
         builder.alwaysUseMBeans(true);
+        builder.pipelineDepth(8);
+        builder.minConnectionsPerHost(30);
+        builder.maxConnectionIdleTime(1000);
+        builder.maxConnectionLifeTime(2000);
 
         SocketFactory socketFactory = SSLSocketFactory.getDefault();
         builder.socketFactory(socketFactory);
@@ -150,6 +182,10 @@ public class MongoClientOptionsTest {
         Assert.assertEquals(true, options.isSocketKeepAlive());
         Assert.assertEquals(true, options.isCursorFinalizerEnabled());
         Assert.assertEquals(true, options.isAlwaysUseMBeans());
+        Assert.assertEquals(8, options.getPipelineDepth());
+        Assert.assertEquals(30, options.getMinConnectionsPerHost());
+        Assert.assertEquals(1000, options.getMaxConnectionIdleTime());
+        Assert.assertEquals(2000, options.getMaxConnectionLifeTime());
 
         Assert.assertEquals(socketFactory, options.getSocketFactory());
         Assert.assertEquals(encoderFactory, options.getDbEncoderFactory());
@@ -187,16 +187,19 @@ public class MongoClientURITest extends TestCase {
     public void testOptions() {
         MongoClientURI uAmp = new MongoClientURI("mongodb://localhost/?" +
                 "maxPoolSize=10&waitQueueMultiple=5&waitQueueTimeoutMS=150&" +
+                "minPoolSize=2&maxIdleTimeMS=60000&maxLifeTimeMS=300000&" +
                 "connectTimeoutMS=2500&socketTimeoutMS=5500&autoConnectRetry=true&" +
                 "slaveOk=true&safe=false&w=1&wtimeout=2500&fsync=true");
         assertOnOptions(uAmp.getOptions());
         MongoClientURI uSemi = new MongoClientURI("mongodb://localhost/?" +
                 "maxPoolSize=10;waitQueueMultiple=5;waitQueueTimeoutMS=150;" +
+                "minPoolSize=2;maxIdleTimeMS=60000;maxLifeTimeMS=300000;" +
                 "connectTimeoutMS=2500;socketTimeoutMS=5500;autoConnectRetry=true;" +
                 "slaveOk=true;safe=false;w=1;wtimeout=2500;fsync=true");
         assertOnOptions(uSemi.getOptions());
         MongoClientURI uMixed = new MongoClientURI("mongodb://localhost/test?" +
                 "maxPoolSize=10&waitQueueMultiple=5;waitQueueTimeoutMS=150;" +
+                "minPoolSize=2&maxIdleTimeMS=60000;maxLifeTimeMS=300000;" +
                 "connectTimeoutMS=2500;socketTimeoutMS=5500&autoConnectRetry=true;" +
                 "slaveOk=true;safe=false&w=1;wtimeout=2500;fsync=true");
         assertOnOptions(uMixed.getOptions());
@@ -216,6 +219,9 @@ public class MongoClientURITest extends TestCase {
         MongoClientOptions options = uri.getOptions();
 
         assertEquals(options.getConnectionsPerHost(), 100);
+        assertEquals(options.getMinConnectionsPerHost(), 0);
+        assertEquals(options.getMaxConnectionIdleTime(), 0);
+        assertEquals(options.getMaxConnectionLifeTime(), 0);
         assertEquals(options.getThreadsAllowedToBlockForConnectionMultiplier(), 5);
         assertEquals(options.getMaxWaitTime(), 120000);
         assertEquals(options.getConnectTimeout(), 10000);
@@ -253,6 +259,9 @@ public class MongoClientURITest extends TestCase {
         assertEquals(10, options.getConnectionsPerHost(), 10);
         assertEquals(5, options.getThreadsAllowedToBlockForConnectionMultiplier());
         assertEquals(150, options.getMaxWaitTime());
+        assertEquals(2, options.getMinConnectionsPerHost());
+        assertEquals(60000, options.getMaxConnectionIdleTime());
+        assertEquals(300000, options.getMaxConnectionLifeTime());
         assertEquals(5500, options.getSocketTimeout());
         assertTrue(options.isAutoConnectRetry());
         assertEquals(new WriteConcern(1, 2500, true), options.getWriteConcern());
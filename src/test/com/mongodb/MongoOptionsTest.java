@@ -52,6 +52,10 @@ public class MongoOptionsTest extends TestCase {
         options.readPreference = ReadPreference.secondary();
         options.cursorFinalizerEnabled = true;
         options.alwaysUseMBeans = true;
+        options.pipelineDepth = 4;
+        options.minConnectionsPerHost = 5;
+        options.maxConnectionIdleTime = 6;
+        options.maxConnectionLifeTime = 7;
 
         final MongoOptions copy = options.copy();
         assertEquals(options.connectionsPerHost, copy.connectionsPerHost);
@@ -74,6 +78,10 @@ public class MongoOptionsTest extends TestCase {
         assertEquals(options.description, copy.description);
         assertEquals(options.readPreference, copy.readPreference);
         assertEquals(options.alwaysUseMBeans, copy.alwaysUseMBeans);
+        assertEquals(options.pipelineDepth, copy.pipelineDepth);
+        assertEquals(options.minConnectionsPerHost, copy.minConnectionsPerHost);
+        assertEquals(options.maxConnectionIdleTime, copy.maxConnectionIdleTime);
+        assertEquals(options.maxConnectionLifeTime, copy.maxConnectionLifeTime);
     }
 
     @Test
@@ -102,6 +110,10 @@ public class MongoOptionsTest extends TestCase {
         options.setReadPreference(ReadPreference.secondary());
         options.setCursorFinalizerEnabled(true);
         options.setAlwaysUseMBeans(true);
+        options.setPipelineDepth(4);
+        options.setMinConnectionsPerHost(5);
+        options.setMaxConnectionIdleTime(6);
+        options.setMaxConnectionLifeTime(7);
 
         assertEquals(options.getConnectionsPerHost(), 100);
         assertEquals(options.getThreadsAllowedToBlockForConnectionMultiplier(), 101);
@@ -123,6 +135,10 @@ public class MongoOptionsTest extends TestCase {
         assertEquals(options.getReadPreference(), ReadPreference.secondary());
         assertEquals(options.isCursorFinalizerEnabled(), true);
         assertEquals(options.isAlwaysUseMBeans(), true);
+        assertEquals(options.getPipelineDepth(), 4);
+        assertEquals(options.getMinConnectionsPerHost(), 5);
+        assertEquals(options.getMaxConnectionIdleTime(), 6);
+        assertEquals(options.getMaxConnectionLifeTime(), 7);
     }
 
     @Test
@@ -22,9 +22,17 @@ import com.mongodb.util.TestCase;
 import org.bson.types.ObjectId;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class ObjectIdTest extends TestCase {
     
@@ -146,6 +154,45 @@ public class ObjectIdTest extends TestCase {
         }
     }
 
+    @Test
+    public void testIdsFromManyThreadsAreUnique() throws Exception {
+        final int threads = 8;
+        final int perThread = 10000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<ObjectId>>> futures = new ArrayList<Future<List<ObjectId>>>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(new Callable<List<ObjectId>>() {
+                    public List<ObjectId> call() {
+                        List<ObjectId> ids = new ArrayList<ObjectId>(perThread);
+                        for (int j = 0; j < perThread; j++) {
+                            ids.add(new ObjectId());
+                        }
+                        return ids;
+                    }
+                }));
+            }
+            Set<ObjectId> all = new HashSet<ObjectId>();
+            for (Future<List<ObjectId>> future : futures) {
+                all.addAll(future.get());
+            }
+            assertEquals(threads * perThread, all.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testHexString() {
+        ObjectId id = new ObjectId("0123456789ABCDEFfedcba98");
+        assertEquals("0123456789abcdeffedcba98", id.toHexString());
+        assertEquals(id.toHexString(), id.toStringMongod());
+        assertEquals(0x01234567, id.getTimeSecond());
+        assertEquals(0x89abcdef, id.getMachine());
+        assertEquals(0xfedcba98, id.getInc());
+        assertEquals(id, new ObjectId(id.toByteArray()));
+    }
+
     @Test
     public void testCreateFromLegacyFormat() {
         ObjectId id = new ObjectId();
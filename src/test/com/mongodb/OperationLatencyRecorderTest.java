@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+import org.testng.annotations.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class OperationLatencyRecorderTest {
+
+    @Test
+    public void testRecordsLatenciesByOperationType() {
+        OperationLatencyRecorder recorder = new OperationLatencyRecorder();
+        assertEquals(recorder.getMedianLatency(), -1);
+        assertEquals(recorder.getCount("OP_QUERY"), 0);
+
+        for (int i = 0; i < 90; i++) {
+            recorder.operationSucceeded(event("OP_QUERY", 100));
+        }
+        for (int i = 0; i < 10; i++) {
+            recorder.operationSucceeded(event("OP_INSERT", 10000));
+        }
+        recorder.operationFailed(event("OP_INSERT", 5), new MongoException("failed"));
+
+        assertEquals(recorder.getCount(), 100);
+        assertEquals(recorder.getFailureCount(), 1);
+        assertEquals(recorder.getMedianLatency(), 104);
+        assertEquals(recorder.getLatency95thPercentile(), 10240);
+        assertEquals(recorder.getCount("OP_QUERY"), 90);
+        assertEquals(recorder.getFailureCount("OP_QUERY"), 0);
+        assertEquals(recorder.getLatencyPercentile("OP_QUERY", 1), 104);
+        assertEquals(recorder.getCount("OP_INSERT"), 10);
+        assertEquals(recorder.getFailureCount("OP_INSERT"), 1);
+        assertEquals(recorder.getLatencyPercentile("OP_INSERT", 0.5), 10240);
+        assertEquals(recorder.getLatencyPercentile("OP_GETMORE", 0.5), -1);
+
+        List<String> types = Arrays.asList(recorder.getOperationTypes());
+        assertEquals(types.size(), 2);
+        assertTrue(types.containsAll(Arrays.asList("OP_QUERY", "OP_INSERT")));
+    }
+
+    @Test
+    public void testRegister() throws Exception {
+        OperationLatencyRecorder recorder = new OperationLatencyRecorder();
+        recorder.operationSucceeded(event("OP_QUERY", 100));
+        ObjectName name = new ObjectName("com.mongodb:type=OperationLatency,name=OperationLatencyRecorderTest");
+
+        recorder.register("OperationLatencyRecorderTest");
+        try {
+            assertEquals(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Count"), 1L);
+            assertEquals(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "MedianLatency"), 104L);
+        } finally {
+            recorder.unregister();
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+
+    @Test
+    public void testListenersAreToldAboutOperations() throws UnknownHostException {
+        Mongo mongo = new MongoClient();
+        OperationListeners listeners = new OperationListeners();
+        OutMessage m = OutMessage.query(mongo.getDB("test").getCollection("people"), 0, 0, 0, new BasicDBObject(), null);
+        ServerAddress address = new ServerAddress();
+        try {
+            assertNull(listeners.started(m, address));
+
+            final List<String> calls = new ArrayList<String>();
+            listeners.add(new OperationListener() {
+                public void operationStarted(final OperationEvent event) {
+                    calls.add("started " + event.getNamespace() + " " + event.getOperationType());
+                    throw new RuntimeException("listener failures are ignored");
+                }
+
+                public void operationSucceeded(final OperationEvent event) {
+                    calls.add("succeeded " + event.getBytesReceived());
+                }
+
+                public void operationFailed(final OperationEvent event, final Throwable cause) {
+                    calls.add("failed " + cause.getMessage());
+                }
+            });
+
+            OperationEvent event = listeners.started(m, address);
+            assertEquals(event.getRequestId(), m.getId());
+            assertEquals(event.getBytesSent(), m.size());
+            assertEquals(event.getServerAddress(), address);
+            listeners.succeeded(event, 36);
+            listeners.failed(event, new MongoException("boom"));
+            assertEquals(calls, Arrays.asList("started test.people OP_QUERY", "succeeded 36", "failed boom"));
+        } finally {
+            m.doneWithMessage();
+            mongo.close();
+        }
+    }
+
+    @Test
+    public void testWritesAreReportedFromTheirGetLastError() throws UnknownHostException {
+        OperationListeners listeners = new OperationListeners();
+        OperationLatencyRecorder recorder = new OperationLatencyRecorder();
+        listeners.add(recorder);
+
+        CommandResult ok = new CommandResult(new ServerAddress());
+        ok.put("ok", 1.0);
+        ok.put("err", null);
+        CommandResult duplicate = new CommandResult(new ServerAddress());
+        duplicate.put("ok", 1.0);
+        duplicate.put("err", "E11000 duplicate key error");
+        duplicate.put("code", 11000);
+
+        listeners.finished(event("OP_UPDATE", 100), ok);
+        listeners.finished(event("OP_UPDATE", 100), duplicate);
+        listeners.finished(null, duplicate);
+
+        assertEquals(recorder.getCount("OP_UPDATE"), 1);
+        assertEquals(recorder.getFailureCount("OP_UPDATE"), 1);
+    }
+
+    private static OperationEvent event(final String operationType, final long micros) {
+        return new OperationEvent("test.people", operationType, null, 1, 100, 0,
+                                  TimeUnit.MICROSECONDS.toNanos(micros), 0);
+    }
+}
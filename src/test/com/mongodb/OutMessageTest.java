@@ -82,4 +82,53 @@ public class OutMessageTest {
         }
 
     }
+
+    @Test
+    public void testLastObjectMovesToAnotherMessageUnchanged() throws IOException {
+        DBCollection collection = m.getDB("OutMessageTest").getCollection("removeLastObject");
+
+        OutMessage first = OutMessage.insert(collection, DefaultDBEncoder.FACTORY.create(), WriteConcern.SAFE);
+        first.putObject(new BasicDBObject("_id", 1));
+        int start = first.size();
+        first.putObject(new BasicDBObject("_id", 2).append("s", new String(new char[20000]).replace('\0', 'x')));
+        byte[] encoded = first.removeLastObject(start);
+        Assert.assertEquals(first.size(), start);
+        Assert.assertEquals(first.getNumDocuments(), 1);
+
+        OutMessage second = OutMessage.insert(collection, DefaultDBEncoder.FACTORY.create(), WriteConcern.SAFE);
+        second.putEncodedObject(encoded);
+        Assert.assertEquals(second.getNumDocuments(), 1);
+
+        DBObject decoded = new DefaultDBDecoder().decode(encoded, collection);
+        Assert.assertEquals(decoded.get("_id"), 2);
+
+        first.doneWithMessage();
+        second.doneWithMessage();
+    }
+
+    @Test
+    public void testKeysAreCheckedWhileEncoding() {
+        DBCollection collection = m.getDB("OutMessageTest").getCollection("checkKeys");
+        OutMessage om = OutMessage.insert(collection, DefaultDBEncoder.FACTORY.create(), WriteConcern.SAFE);
+        try {
+            // database references are written with $ keys of their own
+            om.putObject(new BasicDBObject("ref", new DBRef(null, "other", 1)), true);
+            om.putObject(new BasicDBObject("x", new BasicDBObject("a.b", 1)), false);
+
+            try {
+                om.putObject(new BasicDBObject("x", new BasicDBObject("a.b", 1)), true);
+                Assert.fail();
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+            try {
+                om.putObject(new BasicDBObject("x", new BasicDBList()).append("$y", 1), true);
+                Assert.fail();
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        } finally {
+            om.doneWithMessage();
+        }
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+import com.mongodb.util.TestCase;
+import org.bson.types.BSONTimestamp;
+import org.bson.types.Binary;
+import org.bson.types.Code;
+import org.bson.types.CodeWScope;
+import org.bson.types.MaxKey;
+import org.bson.types.MinKey;
+import org.bson.types.ObjectId;
+import org.bson.types.Symbol;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+public class PartialDBDecoderFactoryTest extends TestCase {
+
+    private final DefaultDBEncoder encoder = new DefaultDBEncoder();
+
+    @Test
+    public void testDecodesOnlyTheGivenFields() {
+        DBObject decoded = decode(createDocument(), "name", "address.city", "missing");
+
+        assertEquals(new BasicDBObject("_id", 1).append("name", "Ada")
+                             .append("address", new BasicDBObject("city", "London")),
+                     decoded);
+    }
+
+    @Test
+    public void testWholeFieldWinsOverItsSubfields() {
+        DBObject document = createDocument();
+
+        assertEquals(new BasicDBObject("_id", 1).append("address", document.get("address")),
+                     decode(document, "address.city", "address"));
+        assertEquals(new BasicDBObject("_id", 1).append("address", document.get("address")),
+                     decode(document, "address", "address.city"));
+    }
+
+    @Test
+    public void testPathsApplyToEachDocumentInAnArray() {
+        DBObject decoded = decode(createDocument(), "orders.total");
+
+        BasicDBList orders = new BasicDBList();
+        orders.add(new BasicDBObject("total", 10));
+        orders.add(new BasicDBObject());
+        orders.add(new BasicDBObject("total", 30));
+        assertEquals(new BasicDBObject("_id", 1).append("orders", orders), decoded);
+    }
+
+    @Test
+    public void testSkipsEveryType() {
+        DBObject document = new BasicDBObject("_id", new ObjectId())
+                                .append("null", null)
+                                .append("boolean", true)
+                                .append("int", 1)
+                                .append("long", 2L)
+                                .append("double", 3.0)
+                                .append("date", new Date())
+                                .append("timestamp", new BSONTimestamp(1, 2))
+                                .append("string", "s")
+                                .append("symbol", new Symbol("sym"))
+                                .append("code", new Code("x = 1"))
+                                .append("codeWScope", new CodeWScope("x = y", new BasicDBObject("y", 1)))
+                                .append("regex", Pattern.compile("^a.*b$", Pattern.CASE_INSENSITIVE))
+                                .append("binary", new Binary((byte) 0x80, new byte[]{1, 2, 3}))
+                                .append("bytes", new byte[]{4, 5})
+                                .append("uuid", UUID.randomUUID())
+                                .append("minKey", new MinKey())
+                                .append("maxKey", new MaxKey())
+                                .append("array", Arrays.asList(1, "two", 3.0))
+                                .append("object", new BasicDBObject("a", "b"))
+                                .append("last", "here");
+
+        assertEquals(new BasicDBObject("_id", document.get("_id")).append("last", "here"), decode(document, "last"));
+    }
+
+    @Test
+    public void testReadsExactlyOneDocumentFromAStream() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(encoder.encode(createDocument()));
+        bytes.write(encoder.encode(new BasicDBObject("_id", 2).append("name", "Grace").append("age", 85)));
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes.toByteArray());
+
+        DBDecoder decoder = new PartialDBDecoderFactory("name").create();
+        assertEquals(new BasicDBObject("_id", 1).append("name", "Ada"), decoder.decode(in, (DBCollection) null));
+        assertEquals(new BasicDBObject("_id", 2).append("name", "Grace"), decoder.decode(in, (DBCollection) null));
+        assertEquals(0, in.available());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testEmptyFieldIsRejected() {
+        new PartialDBDecoderFactory("name", "");
+    }
+
+    private DBObject decode(final DBObject document, final String... fields) {
+        return new PartialDBDecoderFactory(fields).create().decode(encoder.encode(document), (DBCollection) null);
+    }
+
+    private DBObject createDocument() {
+        return new BasicDBObject("_id", 1)
+                   .append("name", "Ada")
+                   .append("age", 36)
+                   .append("address", new BasicDBObject("street", "St James's Square").append("city", "London"))
+                   .append("orders", Arrays.asList(new BasicDBObject("total", 10).append("items", 2),
+                                                   "not a document",
+                                                   new BasicDBObject("items", 1),
+                                                   new BasicDBObject("total", 30)));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class PrefetcherTest {
+
+    private static final long CURSOR_ID = 42;
+
+    private Mongo mongo;
+    private DBApiLayer db;
+    private ServerAddress host;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        mongo = new MongoClient();
+        db = (DBApiLayer) mongo.getDB("com_mongodb_unittest_PrefetcherTest");
+        host = new ServerAddress();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    public void testStopReleasesAFullBuffer() throws Exception {
+        final DBApiLayer.Prefetcher prefetcher = prefetcher(new Object());
+        assertTrue(prefetcher.buffer(batch()));
+
+        Thread thread = new Thread() {
+            public void run() {
+                try {
+                    prefetcher.buffer(batch());
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+        thread.start();
+        prefetcher.stop();
+        thread.join(DBApiLayer.Prefetcher.BUFFER_WAIT_MS * 3);
+
+        assertFalse(thread.isAlive());
+        assertTrue(db._deadCursorIds.isEmpty());
+    }
+
+    @Test
+    public void testBufferingGivesUpWhenTheCursorIsAbandoned() throws Exception {
+        Object owner = new Object();
+        DBApiLayer.Prefetcher prefetcher = prefetcher(owner);
+        assertTrue(prefetcher.buffer(batch()));
+
+        owner = null;
+        for (int i = 0; i < 500 && prefetcher._owner.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(prefetcher._owner.get(), "the prefetcher keeps its cursor reachable");
+
+        assertFalse(prefetcher.buffer(batch()));
+        assertTrue(prefetcher._stopped);
+        assertTrue(prefetcher._batches.isEmpty());
+        DBApiLayer.DeadCursor deadCursor = db._deadCursorIds.poll();
+        assertEquals(deadCursor.id, CURSOR_ID);
+        assertEquals(deadCursor.host, host);
+    }
+
+    private DBApiLayer.Prefetcher prefetcher(final Object owner) {
+        return new DBApiLayer.Prefetcher(owner, db, db.getCollection("test"), host, DefaultDBDecoder.FACTORY.create(),
+                                         CURSOR_ID, 0, 0, 0, 0, 1);
+    }
+
+    private Response batch() throws IOException {
+        // an empty batch of a cursor that has more to return
+        byte[] reply = Replies.reply(0, CURSOR_ID, Collections.<DBObject>emptyList());
+        return new Response(host, null, new ByteArrayInputStream(reply), DefaultDBDecoder.FACTORY.create());
+    }
+}
@@ -27,8 +27,8 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public class ReadPreferenceGetNodeTest extends TestCase {
     private static final String setName = "test";
@@ -84,10 +84,10 @@ public class ReadPreferenceGetNodeTest extends TestCase {
         nodeList.add(_secondary3);
         nodeList.add(_recovering1);
 
-        _set = new ReplicaSetStatus.ReplicaSet(nodeList, new Random(), (int) acceptableLatencyMS);
-        _setNoSecondary = new ReplicaSetStatus.ReplicaSet(Arrays.asList(_primary, _recovering1), new Random(), (int) acceptableLatencyMS);
-        _setNoPrimary = new ReplicaSetStatus.ReplicaSet(Arrays.asList(_secondary1, _secondary2, _secondary3, _recovering1), new Random(), (int) acceptableLatencyMS);
-        _emptySet = new ReplicaSetStatus.ReplicaSet(new ArrayList<ReplicaSetStatus.ReplicaSetNode>(), new Random(), (int) acceptableLatencyMS);
+        _set = new ReplicaSetStatus.ReplicaSet(nodeList, (int) acceptableLatencyMS);
+        _setNoSecondary = new ReplicaSetStatus.ReplicaSet(Arrays.asList(_primary, _recovering1), (int) acceptableLatencyMS);
+        _setNoPrimary = new ReplicaSetStatus.ReplicaSet(Arrays.asList(_secondary1, _secondary2, _secondary3, _recovering1), (int) acceptableLatencyMS);
+        _emptySet = new ReplicaSetStatus.ReplicaSet(new ArrayList<ReplicaSetStatus.ReplicaSetNode>(), (int) acceptableLatencyMS);
     }
 
     @BeforeMethod
@@ -284,4 +284,84 @@ public class ReadPreferenceGetNodeTest extends TestCase {
         expectedNodeSet.addAll(Arrays.asList(_secondary1, _secondary2));
         assertEquals(expectedNodeSet, nodeSet);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testLeastLoadedChoosesAmongTheSameMembers() {
+        ReadPreference[] readPreferences = {ReadPreference.secondaryPreferred(), ReadPreference.nearest(),
+                                            ReadPreference.secondary(new BasicDBObject("dc", "ny")),
+                                            ReadPreference.primaryPreferred()};
+        for (ReadPreference readPreference : readPreferences) {
+            Set<ReplicaSetStatus.ReplicaSetNode> expected = new HashSet<ReplicaSetStatus.ReplicaSetNode>();
+            Set<ReplicaSetStatus.ReplicaSetNode> actual = new HashSet<ReplicaSetStatus.ReplicaSetNode>();
+            ReadPreference leastLoaded = ReadPreference.leastLoaded(readPreference);
+            for (int i = 0; i < 1000; i++) {
+                expected.add(readPreference.getNode(_set));
+                actual.add(leastLoaded.getNode(_set));
+            }
+            assertEquals(expected, actual);
+            assertEquals(readPreference.toDBObject(), leastLoaded.toDBObject());
+            assertEquals(readPreference.isSlaveOk(), leastLoaded.isSlaveOk());
+        }
+
+        assertSame(ReadPreference.primary(), ReadPreference.leastLoaded(ReadPreference.primary()));
+        assertEquals(ReadPreference.leastLoaded(ReadPreference.nearest()), ReadPreference.leastLoaded(ReadPreference.nearest()));
+        assertNull(ReadPreference.leastLoaded(ReadPreference.secondary()).getNode(_setNoSecondary));
+    }
+
+    @Test
+    public void testLeastLoadedAvoidsMembersWithMoreInFlight() {
+        ServerLoad serverLoad = new ServerLoad();
+        ReplicaSetStatus.ReplicaSet set = new ReplicaSetStatus.ReplicaSet(Arrays.asList(_primary, _secondary1, _secondary2),
+                                                                          (int) acceptableLatencyMS, serverLoad);
+        ReadPreference readPreference = ReadPreference.leastLoaded(ReadPreference.secondary());
+
+        serverLoad.get(_secondary1.getServerAddress()).started();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(_secondary2, readPreference.getNode(set));
+        }
+
+        long start = serverLoad.get(_secondary2.getServerAddress()).started();
+        serverLoad.get(_secondary2.getServerAddress()).started();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(_secondary1, readPreference.getNode(set));
+        }
+
+        // the failure leaves one in flight on each, but costs the second a penalty latency
+        serverLoad.get(_secondary2.getServerAddress()).finished(start, false);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(_secondary1, readPreference.getNode(set));
+        }
+    }
+
+    @Test
+    public void testLeastLoadedAvoidsFailingMembers() {
+        ServerLoad serverLoad = new ServerLoad();
+        ReplicaSetStatus.ReplicaSet set = new ReplicaSetStatus.ReplicaSet(Arrays.asList(_primary, _secondary1, _secondary2),
+                                                                          (int) acceptableLatencyMS, serverLoad);
+        for (int i = 0; i < 10; i++) {
+            ServerLoad.Stats stats = serverLoad.get(_secondary1.getServerAddress());
+            stats.finished(stats.started(), false);
+        }
+
+        ReadPreference readPreference = ReadPreference.leastLoaded(ReadPreference.secondary());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(_secondary2, readPreference.getNode(set));
+        }
+    }
+
+    @Test
+    public void testLeastLoadedAvoidsSlowMembers() {
+        ServerLoad serverLoad = new ServerLoad();
+        ReplicaSetStatus.ReplicaSet set = new ReplicaSetStatus.ReplicaSet(Arrays.asList(_primary, _secondary1, _secondary2),
+                                                                          (int) acceptableLatencyMS, serverLoad);
+        for (int i = 0; i < 100; i++) {
+            serverLoad.get(_secondary1.getServerAddress()).getLatencies().record(80, TimeUnit.MILLISECONDS);
+            serverLoad.get(_secondary2.getServerAddress()).getLatencies().record(5, TimeUnit.MILLISECONDS);
+        }
+
+        ReadPreference readPreference = ReadPreference.leastLoaded(ReadPreference.secondary());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(_secondary2, readPreference.getNode(set));
+        }
+    }
+}
@@ -78,9 +78,6 @@ public class ReplicaSetStatusDomainModelTest extends TestCase {
         List<ReplicaSetStatus.UpdatableReplicaSetNode> updatableNodes = new ArrayList<ReplicaSetStatus.UpdatableReplicaSetNode>();
         List<ReplicaSetStatus.ReplicaSetNode> nodes = new ArrayList<ReplicaSetStatus.ReplicaSetNode>();
 
-        final Random random = new Random();
-
-
         LinkedHashMap<String, String> emptyTagMap = new LinkedHashMap<String, String>();
         LinkedHashMap<String, String> aTag = new LinkedHashMap<String, String>();
         aTag.put("foo", "1");
@@ -102,8 +99,7 @@ public class ReplicaSetStatusDomainModelTest extends TestCase {
         addNodeToLists("127.0.0.8", true, 10, updatableNodes, nodes, twoTags);
         addNodeToLists("127.0.0.9", true, 10, updatableNodes, nodes, twoTags);
 
-        ReplicaSetStatus.ReplicaSet replicaSet = new ReplicaSetStatus.ReplicaSet(nodes, random, 15);
-        assertEquals(random, replicaSet.random);
+        ReplicaSetStatus.ReplicaSet replicaSet = new ReplicaSetStatus.ReplicaSet(nodes, 15);
         assertEquals(nodes, replicaSet.all);
         assertEquals(nodes.get(0), replicaSet.master);
         assertTrue(replicaSet.hasMaster());
@@ -134,6 +130,12 @@ public class ReplicaSetStatusDomainModelTest extends TestCase {
         assertEquals("127.0.0.8", goodSecondariesByTag.get(0).getServerAddress().getHost());
         assertEquals("127.0.0.9", goodSecondariesByTag.get(1).getServerAddress().getHost());
 
+        // the good secondaries for a list of tags are computed once per snapshot, even if the list is a different one
+        assertSame(goodSecondariesByTag, replicaSet.getGoodSecondariesByTags(new ArrayList<ReplicaSetStatus.Tag>(twoTagsList)));
+        twoTagsList.clear();
+        assertEquals(2, replicaSet.getGoodSecondariesByTags(Arrays.asList(new ReplicaSetStatus.Tag("foo", "1"),
+                                                                          new ReplicaSetStatus.Tag("bar", "2"))).size());
+
         // test randomness of getting a secondary
         counters.clear();
         counters.put("127.0.0.6", new AtomicInteger(0));
@@ -168,7 +170,7 @@ public class ReplicaSetStatusDomainModelTest extends TestCase {
         nodeList.add(secondary1);
         nodeList.add(secondary2);
         
-        ReplicaSetStatus.ReplicaSet set  = new ReplicaSetStatus.ReplicaSet(nodeList, (new Random()), (int)acceptableLatencyMS);
+        ReplicaSetStatus.ReplicaSet set  = new ReplicaSetStatus.ReplicaSet(nodeList, (int)acceptableLatencyMS);
         set.getMaster();
     }
     
@@ -188,7 +190,7 @@ public class ReplicaSetStatusDomainModelTest extends TestCase {
         nodeList.add(secondary1);
         nodeList.add(secondary2);
         
-        ReplicaSetStatus.ReplicaSet set  = new ReplicaSetStatus.ReplicaSet(nodeList, (new Random()), (int)acceptableLatencyMS);
+        ReplicaSetStatus.ReplicaSet set  = new ReplicaSetStatus.ReplicaSet(nodeList, (int)acceptableLatencyMS);
         set.getMaster();
     }
     
@@ -207,7 +209,7 @@ public class ReplicaSetStatusDomainModelTest extends TestCase {
         nodeList.add(secondary1);
         nodeList.add(secondary2);
         
-        ReplicaSetStatus.ReplicaSet set  = new ReplicaSetStatus.ReplicaSet(nodeList, (new Random()), (int)acceptableLatencyMS);
+        ReplicaSetStatus.ReplicaSet set  = new ReplicaSetStatus.ReplicaSet(nodeList, (int)acceptableLatencyMS);
         assertEquals(primary, set.getMaster());
         assertNotNull(set.getASecondary());
     }
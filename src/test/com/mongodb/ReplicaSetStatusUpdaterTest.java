@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+import com.mongodb.ReplicaSetStatus.ReplicaSet;
+import com.mongodb.ReplicaSetStatus.ReplicaSetNode;
+import org.bson.io.Bits;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Checks replica set members that are fakes: one that accepts connections but never replies, and a primary.
+ */
+public class ReplicaSetStatusUpdaterTest {
+
+    private static final int MEMBER_TIMEOUT_MS = 2000;
+
+    private int savedMemberTimeoutMS;
+    private ServerSocket stalled;
+    private FakePrimary primary;
+    private Mongo mongo;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        savedMemberTimeoutMS = ConnectionStatus.updaterMemberTimeoutMS;
+        ConnectionStatus.updaterMemberTimeoutMS = MEMBER_TIMEOUT_MS;
+
+        // the connection is accepted by the backlog, but nobody ever reads from it
+        stalled = new ServerSocket(0, 1, InetAddress.getByName("127.0.0.1"));
+        primary = new FakePrimary();
+        mongo = new MongoClient(primary.address());
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        ConnectionStatus.updaterMemberTimeoutMS = savedMemberTimeoutMS;
+        mongo.close();
+        stalled.close();
+        primary.close();
+    }
+
+    @Test
+    public void testPrimaryIsPublishedWithoutWaitingForAStalledSeed() throws Exception {
+        ServerAddress stalledAddress = new ServerAddress("127.0.0.1", stalled.getLocalPort());
+        primary.hosts = new String[] {stalledAddress.toString(), primary.address().toString()};
+
+        ReplicaSetStatus status = new ReplicaSetStatus(mongo, Arrays.asList(stalledAddress, primary.address()));
+        long start = System.nanoTime();
+        status.start();
+        try {
+            ReplicaSet first = status._replicaSetHolder.get();
+            long publishedAfterMS = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(first.hasMaster());
+            assertTrue(publishedAfterMS < MEMBER_TIMEOUT_MS, "primary published after " + publishedAfterMS + "ms");
+            assertEquals(first.getMaster().getServerAddress(), primary.address());
+
+            // the end of the pass, once the stalled member has timed out, is published again
+            ReplicaSet replicaSet = first;
+            while (replicaSet == first) {
+                assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(MEMBER_TIMEOUT_MS * 5));
+                Thread.sleep(10);
+                replicaSet = status._replicaSetHolder.get();
+            }
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= MEMBER_TIMEOUT_MS);
+            assertTrue(replicaSet.hasMaster());
+            assertEquals(replicaSet.getAll().size(), 2);
+            for (ReplicaSetNode node : replicaSet.getAll()) {
+                assertEquals(node.isOk(), !node.getServerAddress().equals(stalledAddress), node.getServerAddress().toString());
+            }
+        } finally {
+            status.close();
+        }
+    }
+
+    /**
+     * Answers every request on every connection with an isMaster reply saying it is the primary.
+     */
+    private static class FakePrimary extends Thread {
+        private final ServerSocket serverSocket;
+        volatile String[] hosts = new String[0];
+
+        FakePrimary() throws IOException {
+            serverSocket = new ServerSocket(0, 10, InetAddress.getByName("127.0.0.1"));
+            setDaemon(true);
+            start();
+        }
+
+        ServerAddress address() throws IOException {
+            return new ServerAddress("127.0.0.1", serverSocket.getLocalPort());
+        }
+
+        public void run() {
+            try {
+                while (true) {
+                    Socket socket = serverSocket.accept();
+                    try {
+                        InputStream in = socket.getInputStream();
+                        byte[] header = new byte[16];
+                        while (true) {
+                            Bits.readFully(in, header);
+                            Bits.readFully(in, new byte[Bits.readInt(header, 0) - 16]);
+                            DBObject isMaster = new BasicDBObject("ismaster", true).append("secondary", false)
+                                                .append("setName", "rs").append("hosts", Arrays.asList(hosts))
+                                                .append("maxBsonObjectSize", 16 * 1024 * 1024).append("ok", 1);
+                            socket.getOutputStream().write(Replies.reply(Bits.readInt(header, 4), isMaster));
+                        }
+                    } catch (IOException e) {
+                        socket.close();
+                    }
+                }
+            } catch (IOException e) {
+                // closed
+            }
+        }
+
+        void close() throws Exception {
+            serverSocket.close();
+            join(5000);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb;
+
+import org.bson.io.BasicOutputBuffer;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds OP_REPLY messages for tests that stand in for a server.
+ */
+final class Replies {
+
+    private Replies() {
+    }
+
+    // an OP_REPLY to the given request holding the one document
+    static byte[] reply(final int responseTo, final DBObject document) {
+        return reply(responseTo, 0, Arrays.asList(document));
+    }
+
+    // an OP_REPLY to the given request from the given cursor, holding the given documents
+    static byte[] reply(final int responseTo, final long cursorId, final List<DBObject> documents) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        buffer.writeInt(0);            // length, set below
+        buffer.writeInt(1);            // request id
+        buffer.writeInt(responseTo);   // response to
+        buffer.writeInt(1);            // OP_REPLY
+        buffer.writeInt(0);            // flags
+        buffer.writeLong(cursorId);    // cursor id
+        buffer.writeInt(0);            // starting from
+        buffer.writeInt(documents.size());
+        DefaultDBEncoder encoder = new DefaultDBEncoder();
+        for (DBObject document : documents) {
+            encoder.writeObject(buffer, document);
+        }
+        buffer.writeInt(0, buffer.size());
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class ResponseTest {
+
+    private final List<DBObject> documents = Arrays.<DBObject>asList(new BasicDBObject("_id", 1), new BasicDBObject("_id", 2));
+
+    @Test
+    public void testLazyDocumentsAreDecoded() throws IOException {
+        Response response = new Response(new ServerAddress(), null, new ByteArrayInputStream(Replies.reply(0, 0, documents)),
+                                         LazyDBDecoder.FACTORY.create());
+        assertEquals(response.size(), 2);
+        assertTrue(response.get(0) instanceof LazyDBObject);
+        assertEquals(response.get(0).get("_id"), 1);
+        assertEquals(response.get(1).get("_id"), 2);
+    }
+
+    @Test
+    public void testLazyDecoderSubclassesDecodeEachDocument() throws IOException {
+        final int[] decoded = new int[1];
+        LazyDBDecoder decoder = new LazyDBDecoder() {
+            @Override
+            public DBObject decode(final InputStream in, final DBCollection collection) throws IOException {
+                decoded[0]++;
+                return super.decode(in, collection);
+            }
+        };
+
+        Response response = new Response(new ServerAddress(), null, new ByteArrayInputStream(Replies.reply(0, 0, documents)), decoder);
+        assertEquals(decoded[0], 2);
+        assertEquals(response.get(1).get("_id"), 2);
+    }
+}
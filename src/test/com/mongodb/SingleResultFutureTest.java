@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class SingleResultFutureTest {
+
+    @Test
+    public void testCompletesOnlyOnce() throws Exception {
+        SingleResultFuture<String> future = new SingleResultFuture<String>();
+        assertFalse(future.isDone());
+
+        assertTrue(future.complete("first"));
+        assertFalse(future.complete("second"));
+        assertFalse(future.fail(new IOException()));
+
+        assertTrue(future.isDone());
+        assertEquals(future.get(), "first");
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        SingleResultFuture<String> future = new SingleResultFuture<String>();
+        IOException cause = new IOException("boom");
+        assertTrue(future.fail(cause));
+        try {
+            future.get();
+            fail("should have thrown");
+        } catch (ExecutionException e) {
+            assertSame(e.getCause(), cause);
+        }
+    }
+
+    @Test(expectedExceptions = TimeoutException.class)
+    public void testTimeout() throws Exception {
+        new SingleResultFuture<String>().get(1, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testCallbacksAreToldTheOutcome() {
+        SingleResultFuture<String> future = new SingleResultFuture<String>();
+        final List<Object> outcomes = new ArrayList<Object>();
+        SingleResultFuture.Callback<String> callback = new SingleResultFuture.Callback<String>() {
+            public void onResult(final String result, final Throwable error) {
+                outcomes.add(error != null ? error : result);
+            }
+        };
+
+        future.register(callback);
+        assertTrue(outcomes.isEmpty());
+
+        future.complete("done");
+        assertEquals(outcomes, Arrays.<Object>asList("done"));
+
+        // registering once the future is complete calls back straight away
+        future.register(callback);
+        assertEquals(outcomes, Arrays.<Object>asList("done", "done"));
+    }
+
+    @Test
+    public void testCallbacksAreToldTheFailure() {
+        SingleResultFuture<String> future = new SingleResultFuture<String>();
+        final List<Throwable> errors = new ArrayList<Throwable>();
+        future.register(new SingleResultFuture.Callback<String>() {
+            public void onResult(final String result, final Throwable error) {
+                errors.add(error);
+            }
+        });
+
+        IOException cause = new IOException("boom");
+        future.fail(cause);
+        assertEquals(errors, Arrays.<Throwable>asList(cause));
+    }
+
+    @Test
+    public void testCancelIsNotSupported() {
+        SingleResultFuture<String> future = new SingleResultFuture<String>();
+        assertFalse(future.cancel(true));
+        assertFalse(future.isCancelled());
+        assertFalse(future.isDone());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb.gridfs;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCursor;
+import com.mongodb.DBObject;
+import com.mongodb.Mongo;
+import com.mongodb.MongoClient;
+import com.mongodb.MongoException;
+import com.mongodb.ReadPreference;
+import com.mongodb.ServerAddress;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.fail;
+
+/**
+ * Reads chunks through cursors that stand in for the server's, so needs no server.
+ */
+public class GridFSDBFileTest {
+
+    private static final int NUM_CHUNKS = 5;
+
+    private Mongo mongo;
+    private ServerAddress address;
+    private GridFS gridFS;
+    private GridFSDBFile file;
+
+    @BeforeMethod
+    public void setUp() throws UnknownHostException {
+        mongo = new MongoClient();
+        address = new ServerAddress();
+        gridFS = new GridFS(mongo.getDB("GridFSDBFileTest"));
+        file = new GridFSDBFile();
+        file.put("_id", 1);
+        file.put("chunkSize", 1);
+        file.put("length", NUM_CHUNKS);
+        file.setGridFS(gridFS);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    public void testReadingResumesFromTheNextChunkWhenTheCursorIsKilled() {
+        final List<Integer> opened = new ArrayList<Integer>();
+        GridFSDBFile.ChunkIterator chunks = file.new ChunkIterator(0) {
+            @Override
+            DBCursor openCursor(final int first) {
+                opened.add(first);
+                // the first cursor dies after two chunks, as when the server times it out
+                return new ChunkCursor(first, opened.size() == 1 ? 2 : Integer.MAX_VALUE);
+            }
+        };
+
+        for (int i = 0; i < NUM_CHUNKS; i++) {
+            assertEquals(chunks.next()[0], (byte) i);
+        }
+        assertFalse(chunks.hasNext());
+        assertEquals(opened.toString(), "[0, 2]");
+    }
+
+    @Test
+    public void testReadingFailsWhenTheNewCursorIsKilledToo() {
+        GridFSDBFile.ChunkIterator chunks = file.new ChunkIterator(0) {
+            @Override
+            DBCursor openCursor(final int first) {
+                return new ChunkCursor(first, 0);
+            }
+        };
+
+        try {
+            chunks.next();
+            fail();
+        } catch (MongoException.CursorNotFound e) {
+            // expected
+        }
+    }
+
+    // returns one chunk per document, holding the chunk number, until the cursor is killed
+    private class ChunkCursor extends DBCursor {
+        private int next;
+        private int untilKilled;
+
+        ChunkCursor(final int first, final int untilKilled) {
+            super(gridFS.getDB().getCollection("fs.chunks"), null, null, ReadPreference.primary());
+            this.next = first;
+            this.untilKilled = untilKilled;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (untilKilled == 0) {
+                throw new MongoException.CursorNotFound(42, address);
+            }
+            return next < NUM_CHUNKS;
+        }
+
+        @Override
+        public DBObject next() {
+            hasNext();
+            untilKilled--;
+            return new BasicDBObject("files_id", 1).append("n", next).append("data", new byte[] {(byte) next++});
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -27,6 +27,9 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
@@ -244,6 +247,163 @@ public class GridFSTest extends TestCase {
         assertEquals(-1, inputStream.read());
     }
 
+    @Test(groups = {"basic"})
+    public void testWriteToChannelWithPrefetch() throws Exception {
+        int chunkSize = 10;
+        int fileSize = (int)(9.5 * chunkSize);
+
+        byte[] fileBytes = new byte[fileSize];
+        for (int idx = 0; idx < fileSize; ++idx)
+            fileBytes[idx] = (byte)(idx % 251);
+
+        GridFSInputFile inputFile = _fs.createFile(fileBytes);
+        inputFile.setFilename("write_to_channel.bin");
+        inputFile.save(chunkSize);
+
+        GridFSDBFile savedFile = _fs.findOne(new BasicDBObject("_id", inputFile.getId()));
+        savedFile.setPrefetchChunks(3);
+        assertEquals(3, savedFile.getPrefetchChunks());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(fileSize, savedFile.writeTo(Channels.newChannel(out)));
+        assertTrue(Arrays.equals(fileBytes, out.toByteArray()));
+
+        InputStream in = savedFile.getInputStream();
+        for (int idx = 0; idx < fileSize; ++idx)
+            assertEquals((byte)(idx % 251), (byte)in.read());
+        assertEquals(-1, in.read());
+        in.close();
+    }
+
+    @Test(groups = {"basic"})
+    public void testReadWithPrefetchOfOneChunk() throws Exception {
+        int chunkSize = 10;
+        int fileSize = (int)(4.5 * chunkSize);
+
+        byte[] fileBytes = new byte[fileSize];
+        for (int idx = 0; idx < fileSize; ++idx)
+            fileBytes[idx] = (byte)(idx % 251);
+
+        GridFSInputFile inputFile = _fs.createFile(fileBytes);
+        inputFile.setFilename("prefetch_one.bin");
+        inputFile.save(chunkSize);
+
+        GridFSDBFile savedFile = _fs.findOne(new BasicDBObject("_id", inputFile.getId()));
+        savedFile.setPrefetchChunks(1);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(fileSize, savedFile.writeTo(out));
+        assertTrue(Arrays.equals(fileBytes, out.toByteArray()));
+    }
+
+    @Test(groups = {"basic"})
+    public void testBatchedChunkWrites() throws Exception {
+        int chunkSize = 10;
+        int fileSize = (int)(9.5 * chunkSize);
+
+        byte[] fileBytes = new byte[fileSize];
+        for (int idx = 0; idx < fileSize; ++idx)
+            fileBytes[idx] = (byte)(idx % 251);
+
+        GridFSInputFile inputFile = _fs.createFile(fileBytes);
+        inputFile.setFilename("batched_chunks.bin");
+        inputFile.setChunksPerBatch(4);
+        inputFile.setMaxUnacknowledgedChunks(4);
+        assertEquals(4, inputFile.getChunksPerBatch());
+        assertEquals(4, inputFile.getMaxUnacknowledgedChunks());
+        inputFile.save(chunkSize);
+
+        GridFSInputFile unbatchedFile = _fs.createFile(fileBytes);
+        unbatchedFile.save(chunkSize);
+        assertEquals(unbatchedFile.getMD5(), inputFile.getMD5());
+
+        GridFSDBFile savedFile = _fs.findOne(new BasicDBObject("_id", inputFile.getId()));
+        assertEquals(10, savedFile.numChunks());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        savedFile.writeTo(out);
+        assertTrue(Arrays.equals(fileBytes, out.toByteArray()));
+
+        GridFSInputFile streamedFile = _fs.createFile("batched_stream.bin");
+        streamedFile.setChunkSize(chunkSize);
+        streamedFile.setChunksPerBatch(3);
+        OutputStream os = streamedFile.getOutputStream();
+        os.write(fileBytes);
+        os.close();
+        out = new ByteArrayOutputStream();
+        _fs.findOne(new BasicDBObject("_id", streamedFile.getId())).writeTo(out);
+        assertTrue(Arrays.equals(fileBytes, out.toByteArray()));
+    }
+
+    @Test(groups = {"basic"})
+    public void testChannelRandomAccess() throws Exception {
+        int chunkSize = 10;
+        int fileSize = (int)(9.5 * chunkSize);
+
+        byte[] fileBytes = new byte[fileSize];
+        for (int idx = 0; idx < fileSize; ++idx)
+            fileBytes[idx] = (byte)(idx % 251);
+
+        GridFSInputFile inputFile = _fs.createFile(fileBytes);
+        inputFile.setFilename("channel.bin");
+        inputFile.save(chunkSize);
+
+        _fs.setChunkCacheSize(1000);
+        try {
+            GridFSChannel channel = _fs.findOne(new BasicDBObject("_id", inputFile.getId())).getChannel();
+            assertEquals(fileSize, channel.size());
+
+            ByteBuffer buffer = ByteBuffer.allocate(25);
+            assertEquals(25, channel.position(37).read(buffer));
+            assertEquals(62, channel.position());
+            assertTrue(Arrays.equals(Arrays.copyOfRange(fileBytes, 37, 62), buffer.array()));
+
+            buffer.clear();
+            assertEquals(5, channel.position(90).read(buffer));
+            buffer.clear();
+            assertEquals(-1, channel.read(buffer));
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            channel.position(0);
+            buffer = ByteBuffer.allocate(7);
+            while (channel.read(buffer) > 0) {
+                out.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+            assertTrue(Arrays.equals(fileBytes, out.toByteArray()));
+            channel.close();
+            assertFalse(channel.isOpen());
+
+            // every chunk is cached now, so another channel reads them without the chunks collection
+            _fs.getChunksCollection().remove(new BasicDBObject("files_id", inputFile.getId()));
+            channel = _fs.findOne(new BasicDBObject("_id", inputFile.getId())).getChannel();
+            buffer = ByteBuffer.allocate(fileSize);
+            assertEquals(fileSize, channel.read(buffer));
+            assertTrue(Arrays.equals(fileBytes, buffer.array()));
+            channel.close();
+        }
+        finally {
+            _fs.setChunkCacheSize(0);
+        }
+    }
+
+    @Test(groups = {"basic"})
+    public void testChunkCacheEvictsLeastRecentlyUsed() {
+        ChunkCache cache = new ChunkCache(30);
+        cache.put("file", "md5", 0, new byte[10]);
+        cache.put("file", "md5", 1, new byte[10]);
+        cache.put("file", "md5", 2, new byte[10]);
+        assertNotNull(cache.get("file", "md5", 0));
+
+        cache.put("file", "md5", 3, new byte[10]);
+        assertEquals(30, cache.size());
+        assertNotNull(cache.get("file", "md5", 0));
+        assertNull(cache.get("file", "md5", 1));
+        assertNull(cache.get("file", "other md5", 0));
+
+        cache.put("file", "md5", 4, new byte[31]);
+        assertNull(cache.get("file", "md5", 4));
+    }
+
     @Test(groups = {"basic"})
     public void testCustomFileID() throws IOException {
         int chunkSize = 10;
@@ -0,0 +1,259 @@
+/**
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.util;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConcurrentPoolTest extends TestCase {
+
+    class MyPool extends ConcurrentPool<Integer> {
+
+        MyPool(final int size) {
+            super("blah", size);
+        }
+
+        @Override
+        protected Integer createNew() {
+            if (_throwError) {
+                throw new OutOfMemoryError();
+            }
+            if (_returnNull) {
+                return null;
+            }
+            return _num.getAndIncrement();
+        }
+
+        @Override
+        public void cleanup(final Integer t) {
+            _cleanedUp.add(t);
+        }
+
+        @Override
+        protected boolean shouldPrune(final Integer t) {
+            return _toPrune.contains(t);
+        }
+
+        @Override
+        protected void prepare(final Integer t) {
+            _prepared.add(t);
+        }
+
+        final AtomicInteger _num = new AtomicInteger();
+        final Set<Integer> _cleanedUp = Collections.synchronizedSet(new HashSet<Integer>());
+        final Set<Integer> _toPrune = Collections.synchronizedSet(new HashSet<Integer>());
+        final Set<Integer> _prepared = Collections.synchronizedSet(new HashSet<Integer>());
+        boolean _throwError;
+        boolean _returnNull;
+    }
+
+    @org.testng.annotations.Test
+    public void testBasic() throws InterruptedException {
+        MyPool p = new MyPool(10);
+
+        int a = p.get();
+        assertEquals(0, a);
+
+        int b = p.get();
+        assertEquals(1, b);
+
+        p.done(a);
+        a = p.get();
+        assertEquals(0, a);
+
+        assertEquals(2, p.getTotal());
+        assertEquals(2, p.getInUse());
+        assertEquals(0, p.getAvailable());
+    }
+
+    @org.testng.annotations.Test
+    public void testThreadGetsBackWhatItReturnedLast() throws InterruptedException {
+        MyPool p = new MyPool(10);
+        Integer a = p.get();
+        Integer b = p.get();
+        Integer c = p.get();
+
+        p.done(c);
+        p.done(a);
+        p.done(b);
+
+        assertEquals(b, p.get());
+        assertEquals(a, p.get());
+        assertEquals(c, p.get());
+    }
+
+    @org.testng.annotations.Test
+    public void testMax() throws InterruptedException {
+        MyPool p = new MyPool(2);
+        Integer a = p.get();
+        p.get();
+
+        assertNull(p.get(0));
+        assertNull(p.get(1));
+
+        p.done(a);
+        assertEquals(a, p.get(0));
+        assertEquals(2, p.getTotal());
+    }
+
+    @org.testng.annotations.Test(expectedExceptions = RuntimeException.class)
+    public void testDoneWithoutGet() throws InterruptedException {
+        MyPool p = new MyPool(2);
+        Integer a = p.get();
+        p.done(a);
+        p.done(a);
+    }
+
+    @org.testng.annotations.Test
+    public void testThrowErrorFromCreate() throws InterruptedException {
+        MyPool p = new MyPool(1);
+        p._throwError = true;
+
+        try {
+            p.get();
+            fail("Should have thrown");
+        } catch (OutOfMemoryError e) {
+            // expected
+        }
+
+        p._throwError = false;
+
+        // now make sure there is still a permit left
+        assertEquals(Integer.valueOf(0), p.get(0));
+        assertEquals(1, p.getTotal());
+    }
+
+    @org.testng.annotations.Test
+    public void testReturnNullFromCreate() throws InterruptedException {
+        MyPool p = new MyPool(1);
+        p._returnNull = true;
+
+        try {
+            p.get();
+            fail("Should have thrown");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        p._returnNull = false;
+
+        assertEquals(Integer.valueOf(0), p.get(0));
+    }
+
+    @org.testng.annotations.Test
+    public void testClose() throws InterruptedException {
+        MyPool p = new MyPool(3);
+        Integer a = p.get();
+        Integer b = p.get();
+        p.done(a);
+
+        p.close();
+        assertTrue(p._cleanedUp.contains(a));
+        assertFalse(p._cleanedUp.contains(b));
+
+        p.done(b);
+        assertTrue(p._cleanedUp.contains(b));
+        assertEquals(0, p.getTotal());
+    }
+
+    @org.testng.annotations.Test
+    public void testPruneOnlyRemovesAvailableMembers() throws InterruptedException {
+        MyPool p = new MyPool(3);
+        Integer a = p.get();
+        Integer b = p.get();
+        p.done(a);
+        p._toPrune.add(a);
+        p._toPrune.add(b);
+
+        assertEquals(1, p.prune());
+        assertTrue(p._cleanedUp.contains(a));
+        assertFalse(p._cleanedUp.contains(b));
+        assertEquals(1, p.getTotal());
+
+        // a is gone for good, so the next get creates a new member
+        assertEquals(Integer.valueOf(2), p.get());
+    }
+
+    @org.testng.annotations.Test
+    public void testEnsureMinSize() throws InterruptedException {
+        MyPool p = new MyPool(3);
+        Integer a = p.get();
+
+        assertEquals(1, p.ensureMinSize(2));
+        assertEquals(2, p.getTotal());
+        assertEquals(1, p.getAvailable());
+        assertTrue(p._prepared.contains(1));
+        assertFalse(p._prepared.contains(a));
+
+        // capped at the maximum size
+        assertEquals(1, p.ensureMinSize(10));
+        assertEquals(3, p.getTotal());
+
+        assertEquals(Integer.valueOf(2), p.get(0));
+        assertEquals(Integer.valueOf(1), p.get(0));
+        assertNull(p.get(0));
+    }
+
+    @org.testng.annotations.Test
+    public void testConcurrentUseNeverExceedsMax() throws InterruptedException {
+        final int size = 5;
+        final MyPool p = new MyPool(size);
+        final AtomicInteger checkedOut = new AtomicInteger();
+        final AtomicInteger errors = new AtomicInteger();
+        final Set<Integer> inUse = Collections.synchronizedSet(new HashSet<Integer>());
+
+        int numThreads = 20;
+        final CountDownLatch done = new CountDownLatch(numThreads);
+        ExecutorService es = Executors.newFixedThreadPool(numThreads);
+        for (int x = 0; x < numThreads; x++) {
+            es.submit(new Runnable() {
+                public void run() {
+                    try {
+                        for (int i = 0; i < 1000; i++) {
+                            Integer t = p.get();
+                            if (checkedOut.incrementAndGet() > size || !inUse.add(t)) {
+                                errors.incrementAndGet();
+                            }
+                            inUse.remove(t);
+                            checkedOut.decrementAndGet();
+                            p.done(t);
+                        }
+                    } catch (InterruptedException e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            });
+        }
+
+        done.await();
+        es.shutdown();
+        es.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(0, errors.get());
+        assertEquals(0, p.getInUse());
+        assertTrue(p.getTotal() <= size);
+        assertEquals(p.getTotal(), p.getAvailable());
+    }
+}
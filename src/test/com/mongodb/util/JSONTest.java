@@ -22,14 +22,23 @@ import com.mongodb.BasicDBObject;
 import com.mongodb.BasicDBObjectBuilder;
 import com.mongodb.DBObject;
 import com.mongodb.DBRef;
+import com.mongodb.DefaultDBEncoder;
+import com.mongodb.LazyDBObject;
 import org.bson.BSON;
+import org.bson.BSONObject;
 import org.bson.BasicBSONObject;
+import org.bson.io.BasicOutputBuffer;
 import org.bson.types.BSONTimestamp;
 import org.bson.types.Code;
 import org.bson.types.CodeWScope;
 import org.bson.types.ObjectId;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.text.ParseException;
+import java.util.Arrays;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.GregorianCalendar;
@@ -378,6 +387,163 @@ public class JSONTest extends com.mongodb.util.TestCase {
         assert (a.equals(b));
     }
 
+    @org.testng.annotations.Test(groups = {"basic"})
+    public void testReaderMatchesParse() throws IOException {
+        String[] docs = {
+                "{ 'x' : 5 , \"y\" : -123123123123 , z : +1.5e3 , 'n' : null , 't' : true , 'f' : false }",
+                "{ \"s\" : \"esc \\\" \\\\ \\n \\t \\u00e9 \\/ end\" , 'q' : 'say \"hi\"' }",
+                "{ 'a' : [ 1 , [ 2 , 3 ] , { 'b' : [ ] } , NaN ] , 'e' : { } }",
+                "[ 1 , 'two' , { 'three' : 3 } ]",
+                "{ '_id' : { '$oid' : '4d83ab3ea39562db9c1ae2ae' } , 'd' : { '$date' : 1300474885000 } , 'last' : 1 , }"
+        };
+        StringBuilder text = new StringBuilder();
+        for (String doc : docs) {
+            text.append(doc).append("\n\n");
+        }
+
+        // read a few characters at a time to cross the buffer boundary everywhere
+        JSONReader reader = new JSONReader(new TrickleReader(text.toString(), 3));
+        for (String doc : docs) {
+            assertTrue(reader.hasNext());
+            assertEquals(reader.next(), JSON.parse(doc));
+        }
+        assertFalse(reader.hasNext());
+
+        assertEquals(new JSONReader(new StringReader("{ 'q' : 'it\\'s' }")).next(), new BasicDBObject("q", "it's"));
+    }
+
+    @org.testng.annotations.Test(groups = {"basic"})
+    public void testReaderWithLargeDocuments() throws IOException {
+        StringBuilder big = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            big.append((char) ('a' + i % 26));
+        }
+        StringWriter out = new StringWriter();
+        JSONWriter writer = new JSONWriter(out);
+        for (int i = 0; i < 3; i++) {
+            writer.write(new BasicDBObject("i", i).append("s", big.toString()));
+        }
+        writer.close();
+
+        JSONReader reader = new JSONReader(new StringReader(out.toString()));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(reader.next(), new BasicDBObject("i", i).append("s", big.toString()));
+        }
+        assertFalse(reader.hasNext());
+    }
+
+    @org.testng.annotations.Test(groups = {"basic"})
+    public void testWriterRoundTrip() throws IOException {
+        DBObject doc = BasicDBObjectBuilder.start()
+                .add("_id", new ObjectId("4d83ab3ea39562db9c1ae2ae"))
+                .add("date", new Date(1300474885000L))
+                .add("ts", new BSONTimestamp(1300474885, 10))
+                .add("code", new Code("x = 1"))
+                .add("uuid", UUID.fromString("60f65152-6d4a-4f11-9c9b-590b575da7b5"))
+                .add("list", java.util.Arrays.asList(1, "two", 3.0))
+                .get();
+        StringWriter out = new StringWriter();
+        JSONWriter writer = new JSONWriter(out);
+        writer.write(doc);
+        writer.write(new BasicDBObject("second", true));
+        writer.flush();
+        assertEquals(out.toString(), JSON.serialize(doc) + "\n" + JSON.serialize(new BasicDBObject("second", true)) + "\n");
+
+        JSONReader reader = new JSONReader(new StringReader(out.toString()));
+        assertEquals(reader.next(), doc);
+        assertEquals(reader.next(), new BasicDBObject("second", true));
+        assertFalse(reader.hasNext());
+    }
+
+    @org.testng.annotations.Test(groups = {"basic"})
+    public void testReaderErrors() throws IOException {
+        String[] bad = {"{ 'x' : 1 ", "{ 'x' : tru }", "{ 'x' 1 }", "[ 1 2 ]", "[ 1 , ]", "{ 'x' : - }", "5", "{ 'x' : 'open"};
+        for (String text : bad) {
+            try {
+                new JSONReader(new StringReader(text)).next();
+                fail("parsed " + text);
+            } catch (JSONParseException e) {
+                // expected
+            }
+        }
+    }
+
+    @org.testng.annotations.Test(groups = {"basic"})
+    public void testTranscoderMatchesEncoder() throws IOException {
+        String[] docs = {
+                "{ '_id' : 1 , 'x' : 5 , 'l' : 123123123123 , 'd' : 1.5 , 's' : 'str' , 'b' : true , 'n' : null }",
+                "{ 'nested' : { 'a' : [ 1 , { 'b' : [ ] } , [ 'c' ] ] , 'e' : { } } , '$where' : 'this.x > 1' }",
+                "{ '_id' : { '$oid' : '4d83ab3ea39562db9c1ae2ae' } , 'date' : { '$date' : 1300474885000 } ,"
+                + " 're' : { '$regex' : '.*' , '$options' : 'i' } , 'ts' : { '$timestamp' : { 't' : 1300474885 , 'i' : 10 } } ,"
+                + " 'code' : { '$code' : 'x = 1' } , 'scope' : { '$code' : 'x = y' , '$scope' : { 'y' : [ 1 ] } } ,"
+                + " 'ref' : { '$ref' : 'test.test' , '$id' : { '$oid' : '4d83ab59a39562db9c1ae2af' } } ,"
+                + " 'bin' : { '$binary' : 'AQID' , '$type' : 0 } , 'min' : { '$minKey' : 1 } , 'max' : { '$maxKey' : 1 } ,"
+                + " 'uuid' : { '$uuid' : '60f65152-6d4a-4f11-9c9b-590b575da7b5' } , 'op' : { '$inc' : { 'x' : 1 } } }"
+        };
+        StringBuilder text = new StringBuilder();
+        for (String doc : docs) {
+            text.append(doc).append('\n');
+        }
+
+        JSONTranscoder transcoder = new JSONTranscoder(new TrickleReader(text.toString(), 5));
+        for (String doc : docs) {
+            BasicOutputBuffer out = new BasicOutputBuffer();
+            int size = transcoder.next(out);
+            byte[] expected = new DefaultDBEncoder().encode((BSONObject) JSON.parse(doc));
+            assertEquals(size, expected.length);
+            assertTrue(Arrays.equals(out.toByteArray(), expected), doc);
+        }
+        assertFalse(transcoder.hasNext());
+    }
+
+    @org.testng.annotations.Test(groups = {"basic"})
+    public void testTranscoderAddsIdsAndSerializes() throws IOException {
+        JSONTranscoder transcoder = new JSONTranscoder(new StringReader("{ 'x' : 1 } { '_id' : 2 , 'y' : { 'z' : [ 1 , 2 ] } }"));
+
+        DBObject first = transcoder.nextDBObject();
+        assertTrue(first instanceof LazyDBObject);
+        assertEquals(first.get("x"), 1);
+        assertTrue(first.get("_id") instanceof ObjectId);
+
+        DBObject second = transcoder.nextDBObject();
+        assertEquals(second.get("_id"), 2);
+        assertEquals(second.keySet().size(), 2);
+        assertFalse(transcoder.hasNext());
+
+        DBObject doc = new BasicDBObject("_id", new ObjectId("4d83ab3ea39562db9c1ae2ae")).append("y", new BasicDBObject("z", 1))
+                .append("list", Arrays.asList(1, 2)).append("date", new Date(1300474885000L));
+        StringBuilder buf = new StringBuilder();
+        JSONTranscoder.serialize(new DefaultDBEncoder().encode(doc), buf);
+        assertEquals(buf.toString(), JSON.serialize(doc));
+    }
+
+    // returns at most a few characters from each read
+    private static class TrickleReader extends Reader {
+        private final String text;
+        private final int max;
+        private int pos;
+
+        TrickleReader(final String text, final int max) {
+            this.text = text;
+            this.max = max;
+        }
+
+        @Override
+        public int read(final char[] chars, final int off, final int len) {
+            if (pos == text.length()) {
+                return -1;
+            }
+            int n = Math.min(Math.min(len, max), text.length() - pos);
+            text.getChars(pos, pos + n, chars, off);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
     public static void main( String args[] ){
         (new JSONTest()).runConsole();
     }
@@ -18,9 +18,20 @@
 package org.bson;
 
 import org.bson.io.BasicOutputBuffer;
+import org.bson.types.Symbol;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
 public class BasicBSONEncoderTest extends Assert {
 
     @Test(expectedExceptions = BSONException.class)
@@ -29,4 +40,79 @@ public class BasicBSONEncoderTest extends Assert {
         encoder.set(new BasicOutputBuffer());
         encoder.writeCString("hell\u0000world");
     }
+
+    @Test
+    public void testValuesOfEveryKindRoundTrip() {
+        TreeMap<String, Object> map = new TreeMap<String, Object>();
+        map.put("a", 1);
+        BSONObject doc = new BasicBSONObject("int", 1)
+                         .append("long", 2L)
+                         .append("double", 1.5)
+                         .append("string", "s")
+                         .append("char", 'c')
+                         .append("date", new Date(42))
+                         .append("symbol", new Symbol("sym"))
+                         .append("map", map)
+                         .append("set", new HashSet<Integer>(Arrays.asList(7)))
+                         .append("array", new int[]{1, 2})
+                         .append("bool", true);
+
+        // the second time around every writer comes from the cache
+        for (int i = 0; i < 2; i++) {
+            BSONObject decoded = BSON.decode(new BasicBSONEncoder().encode(doc));
+            assertEquals(decoded.get("int"), 1);
+            assertEquals(decoded.get("long"), 2L);
+            assertEquals(decoded.get("double"), 1.5);
+            assertEquals(decoded.get("string"), "s");
+            assertEquals(decoded.get("char"), "c");
+            assertEquals(decoded.get("date"), new Date(42));
+            assertEquals(decoded.get("symbol"), "sym");
+            assertEquals(decoded.get("map"), new BasicBSONObject("a", 1));
+            assertEquals(decoded.get("set"), Arrays.asList(7));
+            assertEquals(decoded.get("array"), Arrays.asList(1, 2));
+            assertEquals(decoded.get("bool"), true);
+        }
+    }
+
+    @Test
+    public void testUnknownTypesGoThroughPutSpecial() {
+        final List<Object> special = new ArrayList<Object>();
+        BasicBSONEncoder encoder = new BasicBSONEncoder() {
+            @Override
+            protected boolean putSpecial(final String name, final Object o) {
+                special.add(o);
+                putString(name, "special");
+                return true;
+            }
+        };
+        Object value = new Object();
+        BSONObject decoded = BSON.decode(encoder.encode(new BasicBSONObject("x", value)));
+        assertEquals(decoded.get("x"), "special");
+        assertEquals(special, Arrays.asList(value));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testClassesOfOtherLoadersAreWrittenLikeTheirSupertypes() throws Exception {
+        URL classes = ApplicationMap.class.getProtectionDomain().getCodeSource().getLocation();
+        ClassLoader loader = new URLClassLoader(new URL[]{classes}, null);
+        Class<?> applicationClass = loader.loadClass(ApplicationMap.class.getName());
+        assertNotSame(applicationClass, ApplicationMap.class);
+
+        Map<String, Object> map = (Map<String, Object>) applicationClass.newInstance();
+        map.put("a", 1);
+        for (int i = 0; i < 2; i++) {
+            BSONObject decoded = BSON.decode(new BasicBSONEncoder().encode(new BasicBSONObject("map", map)));
+            assertEquals(decoded.get("map"), new BasicBSONObject("a", 1));
+        }
+    }
+
+    public static class ApplicationMap extends TreeMap<String, Object> {
+        private static final long serialVersionUID = 1L;
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUnknownTypesAreRejected() {
+        new BasicBSONEncoder().encode(new BasicBSONObject("x", new Object()));
+    }
 }
@@ -70,6 +70,55 @@ public class PoolOutputBufferTest extends Assert {
         assertEquals( a.asString() , b.toString() );
     }
     
+    @Test
+    public void testTruncate(){
+        PoolOutputBuffer a = new PoolOutputBuffer();
+        StringBuilder b = new StringBuilder();
+        for ( String x : _data ){
+            a.write( x.getBytes() );
+            b.append( x );
+        }
+
+        int cut = PoolOutputBuffer.BUF_SIZE - 3;
+        byte[] tail = a.truncate( cut );
+        assertEquals( new String( tail ) , b.substring( cut ) );
+        assertEquals( a.size() , cut );
+        assertEquals( a.asString() , b.substring( 0 , cut ) );
+
+        a.write( "eliot".getBytes() );
+        assertEquals( a.asString() , b.substring( 0 , cut ) + "eliot" );
+
+        assertEquals( new String( a.truncate( PoolOutputBuffer.BUF_SIZE ) ) , "ot" );
+        assertEquals( a.truncate( 0 ).length , PoolOutputBuffer.BUF_SIZE );
+        assertEquals( a.size() , 0 );
+    }
+
+    @Test
+    public void testNumbersAcrossBuffers(){
+        PoolOutputBuffer a = new PoolOutputBuffer();
+        BasicOutputBuffer b = new BasicOutputBuffer();
+        for ( int i = 0; i < PoolOutputBuffer.BUF_SIZE; i++ ){
+            a.writeInt( i * 7919 );
+            a.writeIntBE( i );
+            a.writeLong( i * 104729L << 20 );
+            a.write( i );
+            b.writeInt( i * 7919 );
+            b.writeIntBE( i );
+            b.writeLong( i * 104729L << 20 );
+            b.write( i );
+        }
+        assertEquals( a.size() , 17 * PoolOutputBuffer.BUF_SIZE );
+        assertEquals( a.toByteArray() , b.toByteArray() );
+
+        // overwriting in the middle must not move the end
+        a.writeInt( PoolOutputBuffer.BUF_SIZE - 2 , 0x01020304 );
+        b.writeInt( PoolOutputBuffer.BUF_SIZE - 2 , 0x01020304 );
+        a.writeInt( 100 , -1 );
+        b.writeInt( 100 , -1 );
+        assertEquals( a.size() , 17 * PoolOutputBuffer.BUF_SIZE );
+        assertEquals( a.toByteArray() , b.toByteArray() );
+    }
+
     List<String> _data = new ArrayList<String>();
     
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bson.io;
+
+import org.bson.BSONObject;
+import org.bson.BasicBSONDecoder;
+import org.bson.BasicBSONEncoder;
+import org.bson.BasicBSONObject;
+import org.bson.LazyBSONDecoder;
+import org.bson.NewBSONDecoder;
+import org.testng.annotations.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Iterator;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+@SuppressWarnings("deprecation")
+public class FieldNameCacheTest {
+
+    @Test
+    public void testReturnsSameInstance() throws UnsupportedEncodingException {
+        FieldNameCache cache = new FieldNameCache(16);
+        byte[] bytes = "..name..name".getBytes("UTF-8");
+
+        String first = cache.get(bytes, 2, 4);
+        assertEquals(first, "name");
+        assertSame(cache.get(bytes, 8, 4), first);
+        assertEquals(cache.get(bytes, 0, 0), "");
+    }
+
+    @Test
+    public void testNonAsciiNames() throws UnsupportedEncodingException {
+        FieldNameCache cache = new FieldNameCache(16);
+        byte[] bytes = "caf\u00e9".getBytes("UTF-8");
+        assertEquals(cache.get(bytes, 0, bytes.length), "caf\u00e9");
+        assertSame(cache.get(bytes, 0, bytes.length), cache.get(bytes, 0, bytes.length));
+    }
+
+    @Test
+    public void testCollidingNamesReplaceEachOther() throws UnsupportedEncodingException {
+        FieldNameCache cache = new FieldNameCache(1);
+        byte[] a = "a".getBytes("UTF-8");
+        byte[] b = "b".getBytes("UTF-8");
+
+        String first = cache.get(a, 0, 1);
+        assertEquals(cache.get(b, 0, 1), "b");
+        assertNotSame(cache.get(a, 0, 1), first);
+        assertEquals(cache.get(a, 0, 1), "a");
+    }
+
+    @Test
+    public void testLongNamesAreNotCached() throws UnsupportedEncodingException {
+        FieldNameCache cache = new FieldNameCache(16);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i <= FieldNameCache.MAX_NAME_LENGTH; i++) {
+            builder.append('x');
+        }
+        byte[] bytes = builder.toString().getBytes("UTF-8");
+        assertEquals(cache.get(bytes, 0, bytes.length), builder.toString());
+        assertNotSame(cache.get(bytes, 0, bytes.length), cache.get(bytes, 0, bytes.length));
+    }
+
+    @Test
+    public void testDecodersShareFieldNames() {
+        byte[] bytes = new BasicBSONEncoder().encode(new BasicBSONObject("someFieldName", 1).append("other", 2));
+
+        String basic = firstKey(new BasicBSONDecoder().readObject(bytes));
+        assertSame(firstKey(new BasicBSONDecoder().readObject(bytes)), basic);
+        assertSame(firstKey(new NewBSONDecoder().readObject(bytes)), basic);
+        assertSame(firstKey(new LazyBSONDecoder().readObject(bytes)), basic);
+    }
+
+    private String firstKey(final BSONObject object) {
+        Iterator<String> keys = object.keySet().iterator();
+        return keys.next();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008 - 2013 10gen, Inc. <http://10gen.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bson.io;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.testng.Assert.assertEquals;
+
+@SuppressWarnings("deprecation")
+public class UTF8EncodingTest {
+
+    @Test
+    public void testAscii() throws IOException {
+        byte[] bytes = "xxhello worldxx".getBytes("UTF-8");
+        assertEquals(UTF8Encoding.decode(bytes, 2, 11), "hello world");
+        assertEquals(UTF8Encoding.decode(bytes, 2, 0), "");
+    }
+
+    @Test
+    public void testMultiByte() throws IOException {
+        String s = "ascii first, then \u00e9\u4e2d\ud834\udd1e and ascii again";
+        byte[] bytes = s.getBytes("UTF-8");
+        assertEquals(UTF8Encoding.decode(bytes, 0, bytes.length), s);
+    }
+
+    @Test
+    public void testLongerThanThreadBuffer() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            builder.append(i % 2 == 0 ? 'a' : '\u00e9');
+        }
+        String s = builder.toString();
+        byte[] bytes = s.getBytes("UTF-8");
+        assertEquals(UTF8Encoding.decode(bytes, 0, bytes.length), s);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testMalformed() throws IOException {
+        UTF8Encoding.decode(new byte[]{'a', (byte) 0xc3}, 0, 2);
+    }
+
+    @Test
+    public void testDecodeOrReplace() throws IOException {
+        byte[] bytes = {'a', (byte) 0xc3, 'b'};
+        assertEquals(UTF8Encoding.decodeOrReplace(bytes, 0, 3), new String(bytes, "UTF-8"));
+    }
+
+    @Test
+    public void testConcurrentDecoding() throws Exception {
+        final String[] strings = {"plain ascii", "caf\u00e9 cr\u00e8me", "\u4e2d\u6587\u5b57\u7b26"};
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (int i = 0; i < 8; i++) {
+                final String s = strings[i % strings.length];
+                results.add(executor.submit(new Callable<Boolean>() {
+                    public Boolean call() throws Exception {
+                        byte[] bytes = s.getBytes("UTF-8");
+                        for (int j = 0; j < 10000; j++) {
+                            if (!s.equals(UTF8Encoding.decode(bytes, 0, bytes.length))) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertEquals(result.get(), Boolean.TRUE);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}